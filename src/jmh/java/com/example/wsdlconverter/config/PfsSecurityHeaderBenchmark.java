@@ -0,0 +1,132 @@
+package com.example.wsdlconverter.config;
+
+import org.apache.cxf.binding.soap.Soap11;
+import org.apache.cxf.binding.soap.SoapHeader;
+import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.headers.Header;
+import org.apache.cxf.helpers.DOMUtils;
+import org.apache.cxf.staxutils.StaxUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PFS安全头基准：为一条消息添加安全头并写入SOAP Header
+ *
+ * dom为改动前的做法（每条消息构建DOM安全头，写出时把DOM复制到输出流），
+ * template为PfsWsSecurityInterceptor当前的做法（共享预先序列化的安全头，写出时直接写入输出流）。
+ * 消息对象和输出缓冲区在各次调用间复用，结果为单条消息的耗时和分配量（gc.alloc.rate.norm）。
+ *
+ * 运行方式（默认附带gc分析器）：
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="PfsSecurityHeaderBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PfsSecurityHeaderBenchmark {
+
+    private static final String SOAP_NS = "http://schemas.xmlsoap.org/soap/envelope/";
+    private static final String WSSE_NS = "http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-secext-1.0.xsd";
+    private static final String WSU_NS = "http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-utility-1.0.xsd";
+    private static final String PFS_NS = "http://pfs.com";
+    private static final String XMLNS_URI = "http://www.w3.org/2000/xmlns/";
+    private static final QName SECURITY_QNAME = new QName(WSSE_NS, "Security", "wsse");
+
+    private PfsCompatibleSecurityConfig.PfsWsSecurityInterceptor interceptor;
+    private SoapMessage message;
+    private ByteArrayOutputStream out;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        interceptor = new PfsCompatibleSecurityConfig()
+                .createPfsInterceptor("benchmark-user", "benchmark-password", "DEFAULT", false, false);
+        message = new SoapMessage(Soap11.getInstance());
+        out = new ByteArrayOutputStream(4096);
+    }
+
+    @Benchmark
+    public int dom() throws XMLStreamException {
+        List<Header> headers = message.getHeaders();
+        Element security = buildDomHeader(DOMUtils.createDocument());
+        headers.removeIf(h -> SECURITY_QNAME.equals(h.getName()));
+        headers.add(new SoapHeader(SECURITY_QNAME, security));
+
+        XMLStreamWriter writer = startHeader();
+        for (Header header : headers) {
+            StaxUtils.copy((Element) header.getObject(), writer);
+        }
+        return endHeader(writer);
+    }
+
+    @Benchmark
+    public int template() throws XMLStreamException {
+        interceptor.handleMessage(message);
+
+        XMLStreamWriter writer = startHeader();
+        for (Header header : message.getHeaders()) {
+            header.getDataBinding().createWriter(XMLStreamWriter.class).write(header.getObject(), writer);
+        }
+        return endHeader(writer);
+    }
+
+    private XMLStreamWriter startHeader() throws XMLStreamException {
+        out.reset();
+        XMLStreamWriter writer = StaxUtils.createXMLStreamWriter(out);
+        writer.writeStartElement("soap", "Header", SOAP_NS);
+        writer.writeNamespace("soap", SOAP_NS);
+        return writer;
+    }
+
+    private int endHeader(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeEndElement();
+        writer.flush();
+        writer.close();
+        return out.size();
+    }
+
+    /**
+     * 改动前PfsWsSecurityInterceptor为每条消息构建的DOM安全头
+     */
+    private static Element buildDomHeader(Document doc) {
+        Element security = doc.createElementNS(WSSE_NS, "wsse:Security");
+        security.setAttributeNS(XMLNS_URI, "xmlns:wsse", WSSE_NS);
+        security.setAttributeNS(XMLNS_URI, "xmlns:wsu", WSU_NS);
+        security.setAttributeNS(XMLNS_URI, "xmlns:pfs", PFS_NS);
+        security.setAttribute("mustUnderstand", "1");
+        appendText(doc, security, "pfs:PfsClientID", "DEFAULT");
+        appendText(doc, security, "pfs:PfsUserName", "benchmark-user");
+        appendText(doc, security, "pfs:PfsUserPassword", "benchmark-password");
+        appendText(doc, security, "pfs:PfsUserNewPassword", "");
+        appendText(doc, security, "pfs:PfsKeyData", "");
+        appendText(doc, security, "pfs:PfsWindowsAuthentication", String.valueOf(false).toLowerCase());
+        appendText(doc, security, "pfs:PfsChangePassword", String.valueOf(false).toLowerCase());
+        appendText(doc, security, "pfs:PfsToken", "");
+        return security;
+    }
+
+    private static void appendText(Document doc, Element parent, String name, String text) {
+        Element element = doc.createElementNS(PFS_NS, name);
+        element.setTextContent(text);
+        parent.appendChild(element);
+    }
+}
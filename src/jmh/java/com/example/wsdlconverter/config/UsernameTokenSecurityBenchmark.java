@@ -0,0 +1,91 @@
+package com.example.wsdlconverter.config;
+
+import com.example.wsdl.generated.ServiceSoap;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 标准WS-Security两种处理方式的信封吞吐量基准（wsdl.security.processing=dom/streaming）
+ *
+ * 客户端通过本机桩服务调用Echo，请求体大小由messageBytes控制，桩服务丢弃请求并返回固定的小响应，
+ * 因此两种方式的差异主要来自出站安全处理：dom需要把整个信封转换为SAAJ/DOM，streaming在写出时插入安全头。
+ * 结果为每秒发送的信封数和单个信封的分配量（gc.alloc.rate.norm）。
+ *
+ * 运行方式（默认附带gc分析器）：
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="UsernameTokenSecurityBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UsernameTokenSecurityBenchmark {
+
+    private static final byte[] RESPONSE = ("<soap:Envelope xmlns:soap='http://schemas.xmlsoap.org/soap/envelope/'>"
+            + "<soap:Body><EchoResponse xmlns='http://tempuri.org/'><EchoResult>ok</EchoResult></EchoResponse>"
+            + "</soap:Body></soap:Envelope>").getBytes(StandardCharsets.UTF_8);
+
+    @Param({"dom", "streaming"})
+    private String processing;
+
+    @Param({"1024", "262144"})
+    private int messageBytes;
+
+    private HttpServer server;
+    private ServiceSoap client;
+    private String message;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/service", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            exchange.getResponseHeaders().add("Content-Type", "text/xml; charset=utf-8");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(RESPONSE);
+            }
+        });
+        server.start();
+
+        JaxWsProxyFactoryBean factory = new JaxWsProxyFactoryBean();
+        factory.setServiceClass(ServiceSoap.class);
+        factory.setAddress("http://127.0.0.1:" + server.getAddress().getPort() + "/service");
+        factory.getOutInterceptors().add(
+                UsernameTokenSecurity.createOutInterceptor("benchmark-user", "benchmark-password", processing));
+        client = (ServiceSoap) factory.create();
+        message = "x".repeat(messageBytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public String echo() {
+        return client.echo(message);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.wsdlconverter.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.wsdl.Definition;
+import javax.wsdl.factory.WSDLFactory;
+import javax.xml.namespace.QName;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 适配器调用热路径基准：参数绑定和结果包装
+ *
+ * 操作的参数定义由WSDL生成（与Dispatch引擎使用的调用计划相同），参数值按XSD类型生成示例值：
+ * bindQueryParameters对应GET调用（字符串参数按类型转换），bindJsonBody对应POST调用（流式解析请求体），
+ * processSingleResult/processMultipleResults对应调用结果的包装。
+ * 默认使用示例WSDL中的Echo操作，替换为实际服务的WSDL后可以用 -p 选择其他操作。
+ *
+ * 运行方式（默认附带gc分析器，结果中的gc.alloc.rate.norm为每次操作分配的字节数）：
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="AdapterHotPathBenchmark -p operation=Echo"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AdapterHotPathBenchmark {
+
+    private static final String XSD_NAMESPACE = "http://www.w3.org/2001/XMLSchema";
+
+    @Param({"src/main/resources/wsdl/service.wsdl"})
+    private String wsdl;
+
+    @Param({"Echo"})
+    private String operation;
+
+    private PayloadDispatchEngine engine;
+    private InvocationPlan plan;
+    private Map<String, Object> queryParameters;
+    private byte[] jsonBody;
+    private ObjectMapper argumentMapper;
+    private Object[] singleResult;
+    private Object[] multipleResults;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        File file = new File(wsdl);
+        Definition definition = WSDLFactory.newInstance().newWSDLReader().readWSDL(file.toURI().toString());
+        ObjectMapper objectMapper = new ObjectMapper();
+        engine = PayloadDispatchEngine.create(file.getPath(), definition, objectMapper);
+
+        WsdlServiceAdapter.OperationInfo operationInfo = engine.getOperationInfos().stream()
+                .filter(info -> info.getOperationName().equalsIgnoreCase(operation))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("WSDL中没有操作 " + operation + "，可用操作: "
+                        + engine.getOperationInfos().stream()
+                        .map(WsdlServiceAdapter.OperationInfo::getOperationName)
+                        .collect(Collectors.joining(", "))));
+        plan = engine.getInvocationPlans().find(operationInfo.getOperationName());
+
+        // 按参数的XSD类型生成示例请求：GET参数都是字符串，JSON请求体使用对应的JSON类型
+        queryParameters = new LinkedHashMap<>();
+        ObjectNode body = objectMapper.createObjectNode();
+        for (WsdlServiceAdapter.ParameterInfo parameter : operationInfo.getInputParameters()) {
+            Object sample = sampleValue(parameter.getName(), parameter.getType());
+            if (sample != null) {
+                queryParameters.put(parameter.getName(), String.valueOf(sample));
+                body.putPOJO(parameter.getName(), sample);
+            } else {
+                body.putObject(parameter.getName());
+            }
+        }
+        jsonBody = objectMapper.writeValueAsBytes(body);
+
+        argumentMapper = objectMapper.copy();
+        argumentMapper.setConfig(argumentMapper.getDeserializationConfig().with(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES));
+
+        singleResult = new Object[]{"result"};
+        multipleResults = new Object[]{"result", 42, Boolean.TRUE};
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.getClient().destroy();
+    }
+
+    @Benchmark
+    public Object[] bindQueryParameters() {
+        return plan.bind(queryParameters);
+    }
+
+    @Benchmark
+    public Object[] bindJsonBody() throws IOException {
+        try (JsonParser parser = argumentMapper.createParser(jsonBody)) {
+            parser.nextToken();
+            return plan.bind(parser);
+        }
+    }
+
+    @Benchmark
+    public Object processSingleResult() {
+        return WsdlServiceAdapter.processMethodResult(singleResult);
+    }
+
+    @Benchmark
+    public Object processMultipleResults() {
+        return WsdlServiceAdapter.processMethodResult(multipleResults);
+    }
+
+    /**
+     * 按XSD内置类型生成示例值，复杂类型返回null
+     */
+    private static Object sampleValue(String name, QName type) {
+        if (type == null || !XSD_NAMESPACE.equals(type.getNamespaceURI())) {
+            return null;
+        }
+        switch (type.getLocalPart()) {
+            case "int":
+            case "integer":
+            case "long":
+            case "short":
+            case "byte":
+            case "unsignedInt":
+            case "unsignedShort":
+            case "unsignedLong":
+                return 42;
+            case "decimal":
+            case "double":
+            case "float":
+                return 1234.5;
+            case "boolean":
+                return true;
+            case "dateTime":
+                return "2024-01-01T08:00:00";
+            case "date":
+                return "2024-01-01";
+            default:
+                return "sample-" + name;
+        }
+    }
+}
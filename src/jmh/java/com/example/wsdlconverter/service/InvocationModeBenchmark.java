@@ -0,0 +1,143 @@
+package com.example.wsdlconverter.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 平台线程与虚拟线程调用模式的对比基准
+ *
+ * 模拟一批并发的同步WSDL调用：每个调用通过HttpURLConnection（CXF同步HTTP传输使用的实现，
+ * 也是SYNC和VIRTUAL模式下的传输）向本地桩服务发送SOAP请求并阻塞读取响应，
+ * 桩服务在固定延迟后返回响应。平台线程池大小默认取Tomcat的最大线程数200，结果为每秒完成的调用数。
+ *
+ * 运行方式（virtual需要Java 21+）：
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="InvocationModeBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class InvocationModeBenchmark {
+
+    private static final int CONCURRENT_CALLS = 1000;
+
+    private static final byte[] REQUEST = ("<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+            + "<soap:Body><Ping/></soap:Body></soap:Envelope>").getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] RESPONSE = ("<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+            + "<soap:Body><PingResponse><return>ok</return></PingResponse></soap:Body></soap:Envelope>")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"platform", "virtual"})
+    private String threadMode;
+
+    @Param({"50"})
+    private long backendLatencyMillis;
+
+    @Param({"200"})
+    private int platformThreads;
+
+    private HttpServer backend;
+    private ScheduledExecutorService backendDelay;
+    private ExecutorService executor;
+    private URL endpoint;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // 桩服务按延迟调度响应，不为每个等待中的请求占用线程
+        backendDelay = Executors.newScheduledThreadPool(4);
+        backend = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), CONCURRENT_CALLS);
+        backend.createContext("/", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                in.readAllBytes();
+            }
+            backendDelay.schedule(() -> respond(exchange), backendLatencyMillis, TimeUnit.MILLISECONDS);
+        });
+        backend.setExecutor(Executors.newFixedThreadPool(4));
+        backend.start();
+        endpoint = new URL("http://127.0.0.1:" + backend.getAddress().getPort() + "/soap");
+
+        if ("virtual".equals(threadMode)) {
+            executor = VirtualThreads.newVirtualThreadPerTaskExecutor()
+                    .orElseThrow(() -> new IllegalStateException("当前JVM不支持虚拟线程（需要Java 21+）"));
+        } else {
+            executor = Executors.newFixedThreadPool(platformThreads);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        backend.stop(0);
+        ((ExecutorService) backend.getExecutor()).shutdownNow();
+        backendDelay.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_CALLS)
+    public void concurrentBlockingCalls() {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[CONCURRENT_CALLS];
+        for (int i = 0; i < CONCURRENT_CALLS; i++) {
+            calls[i] = CompletableFuture.supplyAsync(this::blockingBackendCall, executor);
+        }
+        CompletableFuture.allOf(calls).join();
+    }
+
+    private byte[] blockingBackendCall() {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) endpoint.openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "text/xml; charset=UTF-8");
+            connection.setRequestProperty("SOAPAction", "\"\"");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(REQUEST);
+            }
+            try (InputStream in = connection.getInputStream()) {
+                return in.readAllBytes();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange) {
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", "text/xml; charset=UTF-8");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            out.write(RESPONSE);
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.wsdlconverter.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JAXB响应类的序列化基准：Jackson默认的BeanSerializer与预编译序列化器对比
+ *
+ * 响应类模拟动态客户端生成的JAXB类（protected字段 + 公共getter，嵌套列表），
+ * 两种方式使用相同的ObjectMapper配置（non_null），结果为每次序列化完整响应的耗时。
+ * firstCall*基准每次使用新的ObjectMapper，测量某个响应类型首次序列化的耗时
+ * （预编译方式的属性内省在初始化时完成，不计入）。
+ *
+ * 运行方式：
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="JaxbSerializationBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JaxbSerializationBenchmark {
+
+    @Param({"10", "200"})
+    private int orderCount;
+
+    private ObjectMapper reflective;
+    private ObjectMapper precompiled;
+    private GetOrdersResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        reflective = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        JaxbSerializerRegistry registry = new JaxbSerializerRegistry();
+        precompiled = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .registerModule(registry);
+        registry.register(List.of(GetOrdersResponse.class), precompiled);
+
+        XMLGregorianCalendar created = DatatypeFactory.newInstance().newXMLGregorianCalendar("2024-01-01T08:00:00");
+        response = new GetOrdersResponse();
+        response.orders = new ArrayList<>();
+        for (int i = 0; i < orderCount; i++) {
+            Order order = new Order();
+            order.orderId = i;
+            order.customer = "customer-" + i;
+            order.amount = BigDecimal.valueOf(i * 100L + 99, 2);
+            order.paid = i % 2 == 0;
+            order.created = created;
+            order.remark = i % 3 == 0 ? null : "remark";
+            response.orders.add(order);
+        }
+        response.total = orderCount;
+    }
+
+    /**
+     * 每次调用前创建新的ObjectMapper，模拟响应类型第一次被序列化
+     */
+    @State(Scope.Thread)
+    public static class ColdMappers {
+
+        private ObjectMapper reflective;
+        private ObjectMapper precompiled;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            reflective = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+            JaxbSerializerRegistry registry = new JaxbSerializerRegistry();
+            precompiled = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                    .registerModule(registry);
+            registry.register(List.of(GetOrdersResponse.class), precompiled);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 20)
+    @Measurement(iterations = 200)
+    public byte[] firstCallReflective(ColdMappers mappers) throws Exception {
+        return mappers.reflective.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 20)
+    @Measurement(iterations = 200)
+    public byte[] firstCallPrecompiled(ColdMappers mappers) throws Exception {
+        return mappers.precompiled.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] reflectiveBeanSerializer() throws Exception {
+        return reflective.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] precompiledSerializer() throws Exception {
+        return precompiled.writeValueAsBytes(response);
+    }
+
+    public static class GetOrdersResponse {
+        protected List<Order> orders;
+        protected int total;
+
+        public List<Order> getOrders() {
+            return orders;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+
+    public static class Order {
+        protected long orderId;
+        protected String customer;
+        protected BigDecimal amount;
+        protected boolean paid;
+        protected XMLGregorianCalendar created;
+        protected String remark;
+
+        public long getOrderId() {
+            return orderId;
+        }
+
+        public String getCustomer() {
+            return customer;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public boolean isPaid() {
+            return paid;
+        }
+
+        public XMLGregorianCalendar getCreated() {
+            return created;
+        }
+
+        public String getRemark() {
+            return remark;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.wsdlconverter.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * WsdlResolverService的解析合并基准
+ *
+ * 把WSDL拆分为带导入的多个文件（与C#服务常见的 ?wsdl=wsdl0 / ?xsd=xsd0 结构相同）：
+ * main.wsdl（binding、service）通过wsdl:import导入messages.wsdl（message、portType），
+ * messages.wsdl中的Schema通过xsd:include引用types-N.xsd。
+ * 结果为一次完整的获取、递归解析、合并和写出临时文件的耗时。
+ *
+ * 运行方式（默认附带gc分析器）：
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="WsdlResolverBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WsdlResolverBenchmark {
+
+    private static final String WSDL_NAMESPACE = "http://schemas.xmlsoap.org/wsdl/";
+    private static final String XSD_NAMESPACE = "http://www.w3.org/2001/XMLSchema";
+
+    @Param({"src/main/resources/wsdl/service.wsdl"})
+    private String wsdl;
+
+    private Path directory;
+    private String mainUrl;
+    private WsdlResolverService resolver;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("wsdl-resolver-benchmark");
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        Document source = builder.parse(new File(wsdl));
+        Element root = source.getDocumentElement();
+        String targetNamespace = root.getAttribute("targetNamespace");
+
+        // messages.wsdl：Schema拆分为独立的XSD文件，message和portType原样复制
+        Document messages = builder.newDocument();
+        Element messagesRoot = (Element) messages.importNode(root, false);
+        messages.appendChild(messagesRoot);
+        Element types = messages.createElementNS(WSDL_NAMESPACE, "wsdl:types");
+        messagesRoot.appendChild(types);
+        NodeList schemas = source.getElementsByTagNameNS(XSD_NAMESPACE, "schema");
+        for (int i = 0; i < schemas.getLength(); i++) {
+            Element schema = (Element) schemas.item(i);
+            String location = "types-" + i + ".xsd";
+            Document schemaDocument = builder.newDocument();
+            schemaDocument.appendChild(schemaDocument.importNode(schema, true));
+            write(schemaDocument, location);
+
+            Element wrapper = messages.createElementNS(XSD_NAMESPACE, "xsd:schema");
+            wrapper.setAttribute("targetNamespace", schema.getAttribute("targetNamespace"));
+            wrapper.setAttribute("elementFormDefault", schema.getAttribute("elementFormDefault"));
+            Element include = messages.createElementNS(XSD_NAMESPACE, "xsd:include");
+            include.setAttribute("schemaLocation", location);
+            wrapper.appendChild(include);
+            types.appendChild(wrapper);
+        }
+        copyChildren(root, messagesRoot, "message", "portType");
+        write(messages, "messages.wsdl");
+
+        // main.wsdl：导入messages.wsdl，保留binding和service
+        Document main = builder.newDocument();
+        Element mainRoot = (Element) main.importNode(root, false);
+        main.appendChild(mainRoot);
+        Element wsdlImport = main.createElementNS(WSDL_NAMESPACE, "wsdl:import");
+        wsdlImport.setAttribute("namespace", targetNamespace);
+        wsdlImport.setAttribute("location", "messages.wsdl");
+        mainRoot.appendChild(wsdlImport);
+        copyChildren(root, mainRoot, "binding", "service");
+        write(main, "main.wsdl");
+
+        mainUrl = directory.resolve("main.wsdl").toUri().toString();
+        resolver = new WsdlResolverService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public String resolveAndMerge() throws Exception {
+        String resolved = resolver.resolveComplexWsdl(mainUrl);
+        Files.deleteIfExists(Path.of(resolved));
+        return resolved;
+    }
+
+    private static void copyChildren(Element from, Element to, String... localNames) {
+        Document document = to.getOwnerDocument();
+        for (String localName : localNames) {
+            for (Node child = from.getFirstChild(); child != null; child = child.getNextSibling()) {
+                if (child.getNodeType() == Node.ELEMENT_NODE && WSDL_NAMESPACE.equals(child.getNamespaceURI())
+                        && localName.equals(child.getLocalName())) {
+                    to.appendChild(document.importNode(child, true));
+                }
+            }
+        }
+    }
+
+    private void write(Document document, String fileName) throws Exception {
+        TransformerFactory.newInstance().newTransformer()
+                .transform(new DOMSource(document), new StreamResult(directory.resolve(fileName).toFile()));
+    }
+}
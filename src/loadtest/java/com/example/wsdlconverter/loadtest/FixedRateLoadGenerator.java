@@ -0,0 +1,157 @@
+package com.example.wsdlconverter.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 固定到达率的开环压测驱动
+ *
+ * 请求按计划时间发出，不等待前一个请求完成（与真实客户端一致），因此被测服务变慢时请求照常到达、排队。
+ * 延迟从计划发送时间开始计算（修正协调遗漏）：发送线程落后于计划时，落后的时间也计入延迟，
+ * 不会像闭环压测那样因为发送变慢而漏掉服务停顿期间本应出现的高延迟。
+ * 同时记录从实际发送时间开始的延迟，两者的差距反映了排队和发送滞后的影响。
+ */
+final class FixedRateLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final Duration requestTimeout;
+    private final int maxInFlight;
+
+    FixedRateLoadGenerator(Duration requestTimeout, int maxInFlight) {
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        this.requestTimeout = requestTimeout;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * 以固定速率发送请求：先预热（结果丢弃），再测量指定时长
+     *
+     * @param request 每次发送的请求
+     * @param ratePerSecond 每秒请求数
+     */
+    Result run(HttpRequest request, int ratePerSecond, Duration warmup, Duration duration) throws InterruptedException {
+        HttpRequest timedRequest = HttpRequest.newBuilder(request, (name, value) -> true)
+                .timeout(requestTimeout)
+                .build();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long measureStart = start + warmup.toNanos();
+        long end = measureStart + duration.toNanos();
+
+        Result result = new Result(ratePerSecond, duration);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intended >= measureStart;
+            if (!inFlight.tryAcquire()) {
+                // 进行中的请求过多（被测服务已停止响应），不再发送，但仍按请求超时计入延迟
+                if (measured) {
+                    result.recordDropped(requestTimeout.toNanos());
+                }
+                continue;
+            }
+            long sent = System.nanoTime();
+            CompletableFuture<HttpResponse<byte[]>> response =
+                    httpClient.sendAsync(timedRequest, HttpResponse.BodyHandlers.ofByteArray());
+            response.whenComplete((httpResponse, error) -> {
+                long now = System.nanoTime();
+                inFlight.release();
+                if (measured) {
+                    boolean success = error == null && httpResponse.statusCode() / 100 == 2;
+                    int bytes = httpResponse != null ? httpResponse.body().length : 0;
+                    result.record(now - intended, now - sent, success, bytes);
+                }
+            });
+        }
+
+        // 等待剩余请求完成（最多一个请求超时时间）
+        if (!inFlight.tryAcquire(maxInFlight, requestTimeout.toMillis() + 1000, TimeUnit.MILLISECONDS)) {
+            result.incomplete = maxInFlight - inFlight.availablePermits();
+        }
+        return result;
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 一轮压测的统计结果，延迟单位为微秒
+     */
+    static final class Result {
+
+        final int targetRate;
+        final Duration duration;
+        final Histogram corrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final Histogram uncorrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+        final AtomicLong responseBytes = new AtomicLong();
+        volatile int incomplete;
+
+        private Result(int targetRate, Duration duration) {
+            this.targetRate = targetRate;
+            this.duration = duration;
+        }
+
+        private void record(long correctedNanos, long uncorrectedNanos, boolean success, int bytes) {
+            corrected.recordValue(toMicros(correctedNanos));
+            uncorrected.recordValue(toMicros(uncorrectedNanos));
+            responseBytes.addAndGet(bytes);
+            if (!success) {
+                errors.incrementAndGet();
+            }
+        }
+
+        private void recordDropped(long timeoutNanos) {
+            corrected.recordValue(toMicros(timeoutNanos));
+            dropped.incrementAndGet();
+        }
+
+        /**
+         * 完成的请求数（含失败）
+         */
+        long completed() {
+            return uncorrected.getTotalCount();
+        }
+
+        double throughput() {
+            return (completed() - errors.get()) / (duration.toNanos() / 1e9);
+        }
+
+        private static long toMicros(long nanos) {
+            return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        }
+    }
+}
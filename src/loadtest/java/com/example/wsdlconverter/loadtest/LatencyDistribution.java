@@ -0,0 +1,87 @@
+package com.example.wsdlconverter.loadtest;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 桩服务的响应延迟分布
+ *
+ * 格式（单位为毫秒）：
+ * <ul>
+ *   <li>fixed:20 —— 固定20ms</li>
+ *   <li>uniform:10-50 —— 10到50ms均匀分布</li>
+ *   <li>exponential:20 —— 均值20ms的指数分布</li>
+ *   <li>lognormal:20:0.8 —— 中位数20ms、sigma为0.8的对数正态分布（长尾，接近真实服务）</li>
+ * </ul>
+ */
+final class LatencyDistribution {
+
+    private final String spec;
+    private final Kind kind;
+    private final double first;
+    private final double second;
+
+    private enum Kind { FIXED, UNIFORM, EXPONENTIAL, LOGNORMAL }
+
+    private LatencyDistribution(String spec, Kind kind, double first, double second) {
+        this.spec = spec;
+        this.kind = kind;
+        this.first = first;
+        this.second = second;
+    }
+
+    static LatencyDistribution parse(String spec) {
+        String trimmed = spec.trim();
+        int colon = trimmed.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("延迟分布格式错误: " + spec);
+        }
+        String name = trimmed.substring(0, colon).toLowerCase(Locale.ROOT);
+        String[] values = trimmed.substring(colon + 1).split("[-:]");
+        try {
+            switch (name) {
+                case "fixed":
+                    return new LatencyDistribution(trimmed, Kind.FIXED, Double.parseDouble(values[0]), 0);
+                case "uniform":
+                    return new LatencyDistribution(trimmed, Kind.UNIFORM,
+                            Double.parseDouble(values[0]), Double.parseDouble(values[1]));
+                case "exponential":
+                    return new LatencyDistribution(trimmed, Kind.EXPONENTIAL, Double.parseDouble(values[0]), 0);
+                case "lognormal":
+                    return new LatencyDistribution(trimmed, Kind.LOGNORMAL,
+                            Double.parseDouble(values[0]), Double.parseDouble(values[1]));
+                default:
+                    throw new IllegalArgumentException("不支持的延迟分布: " + name);
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("延迟分布格式错误: " + spec, e);
+        }
+    }
+
+    /**
+     * 抽取一次延迟（纳秒）
+     */
+    long sampleNanos() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double millis;
+        switch (kind) {
+            case UNIFORM:
+                millis = first + random.nextDouble() * (second - first);
+                break;
+            case EXPONENTIAL:
+                millis = -first * Math.log(1 - random.nextDouble());
+                break;
+            case LOGNORMAL:
+                millis = first * Math.exp(second * random.nextGaussian());
+                break;
+            default:
+                millis = first;
+        }
+        return (long) (Math.max(0, millis) * 1_000_000L);
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
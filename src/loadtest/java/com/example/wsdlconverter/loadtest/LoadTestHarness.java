@@ -0,0 +1,246 @@
+package com.example.wsdlconverter.loadtest;
+
+import com.example.wsdlconverter.WsdlConverterApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 端到端压测：嵌入式桩SOAP服务 + 转换器应用 + 固定到达率驱动，全部在本机运行，不需要网络
+ *
+ * 对每个场景（到达率 × 延迟分布 × 故障率 × 响应大小的组合）切换桩服务配置后，
+ * 以固定速率调用 /api/wsdl/invoke/{operation}，输出修正协调遗漏后的HdrHistogram百分位，
+ * 每个场景的完整延迟分布另存为 .hgrm 文件（可用HdrHistogram的绘图工具查看）。
+ *
+ * 运行方式：
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--rates=200,500 --latencies=fixed:20,lognormal:20:0.8"
+ *
+ * 参数（均可省略）：
+ * <pre>
+ * --operation=Echo                调用的操作（Echo发送指定大小的message，其他操作发送空请求体）
+ * --rates=200                     每秒请求数，逗号分隔
+ * --latencies=fixed:20            桩服务延迟分布，逗号分隔，格式见LatencyDistribution
+ * --fault-rates=0                 桩服务返回SOAP Fault的比例，逗号分隔
+ * --payloads=256                  桩服务响应字符数，逗号分隔
+ * --request-bytes=64              Echo请求中message的字符数
+ * --warmup=10s --duration=30s     每个场景的预热和测量时长
+ * --timeout=30s                   单个请求超时
+ * --max-in-flight=10000           进行中请求的上限（超出的请求按超时计入延迟）
+ * --stub-port=18080               桩服务端口
+ * --app-port=18081                转换器端口
+ * --target=http://host:port/...   压测已运行的转换器（到 /api/wsdl 为止），不在进程内启动
+ * --output=target/loadtest        .hgrm文件目录
+ * --app.xxx=yyy                   传给转换器的配置，例如 --app.wsdl.invoke.mode=async
+ * </pre>
+ *
+ * 进程内启动的转换器关闭了响应缓存和调用合并（否则请求不会到达桩服务），其余配置与application.yml相同。
+ */
+public final class LoadTestHarness {
+
+    private static final String WSDL_PATH = "src/main/resources/wsdl/service.wsdl";
+    private static final String APP_PREFIX = "app.";
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String operation = options.getOrDefault("operation", "Echo");
+        List<Integer> rates = split(options.getOrDefault("rates", "200")).stream()
+                .map(Integer::parseInt).collect(Collectors.toList());
+        List<LatencyDistribution> latencies = split(options.getOrDefault("latencies", "fixed:20")).stream()
+                .map(LatencyDistribution::parse).collect(Collectors.toList());
+        List<Double> faultRates = split(options.getOrDefault("fault-rates", "0")).stream()
+                .map(Double::parseDouble).collect(Collectors.toList());
+        List<Integer> payloads = split(options.getOrDefault("payloads", "256")).stream()
+                .map(Integer::parseInt).collect(Collectors.toList());
+        int requestBytes = Integer.parseInt(options.getOrDefault("request-bytes", "64"));
+        Duration warmup = DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s"));
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "30s"));
+        Duration timeout = DurationStyle.detectAndParse(options.getOrDefault("timeout", "30s"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "10000"));
+        int stubPort = Integer.parseInt(options.getOrDefault("stub-port", "18080"));
+        int appPort = Integer.parseInt(options.getOrDefault("app-port", "18081"));
+        Path output = Path.of(options.getOrDefault("output", "target/loadtest"));
+        Files.createDirectories(output);
+
+        StubSoapBackend stub = new StubSoapBackend();
+        String stubAddress = "http://localhost:" + stubPort + "/Service.asmx";
+        stub.start(stubAddress, WSDL_PATH);
+
+        ConfigurableApplicationContext application = null;
+        FixedRateLoadGenerator generator = new FixedRateLoadGenerator(timeout, maxInFlight);
+        try {
+            String target = options.get("target");
+            if (target == null) {
+                application = startConverter(appPort, stubAddress, output, options);
+                target = "http://localhost:" + appPort + "/wsdl-converter/api/wsdl";
+            }
+            HttpRequest request = buildRequest(target, operation, requestBytes);
+
+            List<Scenario> scenarios = new ArrayList<>();
+            for (int rate : rates) {
+                for (LatencyDistribution latency : latencies) {
+                    for (double faultRate : faultRates) {
+                        for (int payload : payloads) {
+                            scenarios.add(new Scenario(rate, latency, faultRate, payload));
+                        }
+                    }
+                }
+            }
+
+            List<FixedRateLoadGenerator.Result> results = new ArrayList<>();
+            for (Scenario scenario : scenarios) {
+                System.out.printf("运行场景 %s（预热%ds，测量%ds）%n",
+                        scenario, warmup.toSeconds(), duration.toSeconds());
+                stub.configure(scenario.latency, scenario.faultRate, scenario.payload);
+                FixedRateLoadGenerator.Result result = generator.run(request, scenario.rate, warmup, duration);
+                results.add(result);
+                writeDistribution(output.resolve(scenario.fileName() + ".hgrm"), result.corrected);
+            }
+
+            printReport(System.out, operation, scenarios, results);
+            System.out.println("完整延迟分布: " + output.toAbsolutePath());
+        } finally {
+            generator.shutdown();
+            if (application != null) {
+                application.close();
+            }
+            stub.stop();
+        }
+    }
+
+    /**
+     * 在进程内启动转换器，后台服务地址指向桩服务
+     */
+    private static ConfigurableApplicationContext startConverter(int port, String stubAddress, Path output,
+                                                                 Map<String, String> options) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", port);
+        properties.put("server.servlet.context-path", "/wsdl-converter");
+        properties.put("wsdl.file.url", "");
+        properties.put("wsdl.file.path", WSDL_PATH);
+        properties.put("wsdl.service.url", stubAddress);
+        properties.put("wsdl.load-balancer.endpoints[0]", stubAddress);
+        properties.put("wsdl.security.enabled", false);
+        properties.put("wsdl.cache.enabled", false);
+        properties.put("wsdl.coalescing.operations", "");
+        properties.put("logging.level.com.example.wsdlconverter", "WARN");
+        properties.put("logging.level.org.apache.cxf", "WARN");
+        properties.put("logging.file.name", output.resolve("converter.log").toString());
+        options.forEach((key, value) -> {
+            if (key.startsWith(APP_PREFIX)) {
+                properties.put(key.substring(APP_PREFIX.length()), value);
+            }
+        });
+        return new SpringApplicationBuilder(WsdlConverterApplication.class)
+                .properties(properties)
+                .run();
+    }
+
+    private static HttpRequest buildRequest(String target, String operation, int requestBytes) {
+        String body = "Echo".equalsIgnoreCase(operation)
+                ? "{\"message\":\"" + "m".repeat(requestBytes) + "\"}"
+                : "{}";
+        return HttpRequest.newBuilder(URI.create(target + "/invoke/" + operation))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static void printReport(PrintStream out, String operation, List<Scenario> scenarios,
+                                    List<FixedRateLoadGenerator.Result> results) {
+        out.println();
+        out.printf("操作: %s，延迟单位: ms（修正协调遗漏，从计划发送时间计算；p99*为从实际发送时间计算）%n", operation);
+        String header = String.format(Locale.ROOT, "%-44s %8s %8s %7s %7s %9s %9s %9s %9s %9s %9s",
+                "场景", "完成", "失败", "丢弃", "未完成", "吞吐/s", "p50", "p90", "p99", "p99.9", "max");
+        out.println(header + String.format(Locale.ROOT, " %9s", "p99*"));
+        for (int i = 0; i < scenarios.size(); i++) {
+            FixedRateLoadGenerator.Result result = results.get(i);
+            Histogram histogram = result.corrected;
+            out.printf(Locale.ROOT, "%-44s %8d %8d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    scenarios.get(i), result.completed(), result.errors.get(), result.dropped.get(),
+                    result.incomplete, result.throughput(),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    millis(result.uncorrected.getValueAtPercentile(99)));
+        }
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("参数格式应为 --name=value: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 一个压测场景
+     */
+    private static final class Scenario {
+
+        final int rate;
+        final LatencyDistribution latency;
+        final double faultRate;
+        final int payload;
+
+        Scenario(int rate, LatencyDistribution latency, double faultRate, int payload) {
+            this.rate = rate;
+            this.latency = latency;
+            this.faultRate = faultRate;
+            this.payload = payload;
+        }
+
+        String fileName() {
+            return toString().replaceAll("[^A-Za-z0-9.=-]+", "_");
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "rate=%d latency=%s fault=%s payload=%d",
+                    rate, latency, faultRate, payload);
+        }
+    }
+}
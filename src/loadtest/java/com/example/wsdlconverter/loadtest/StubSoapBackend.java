@@ -0,0 +1,88 @@
+package com.example.wsdlconverter.loadtest;
+
+import com.example.wsdl.generated.ServiceSoap;
+import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.jaxws.JaxWsServerFactoryBean;
+
+import javax.jws.WebService;
+import java.io.File;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 嵌入式桩SOAP服务：实现由service.wsdl生成的ServiceSoap接口，由CXF Jetty传输发布在本机端口
+ *
+ * 每次调用按当前场景的延迟分布等待后返回，按故障率抛出异常（返回SOAP Fault），
+ * 响应内容填充到指定字节数。场景在各轮压测之间通过configure切换，无需重启服务。
+ */
+@WebService(endpointInterface = "com.example.wsdl.generated.ServiceSoap",
+        serviceName = "Service",
+        portName = "ServiceSoap",
+        targetNamespace = "http://tempuri.org/")
+public class StubSoapBackend implements ServiceSoap {
+
+    private volatile LatencyDistribution latency = LatencyDistribution.parse("fixed:0");
+    private volatile double faultRate;
+    private volatile String payload = "";
+
+    private Server server;
+
+    /**
+     * 在指定地址发布服务，例如 http://localhost:18080/Service.asmx
+     */
+    void start(String address, String wsdlPath) {
+        JaxWsServerFactoryBean factory = new JaxWsServerFactoryBean();
+        factory.setServiceClass(ServiceSoap.class);
+        factory.setServiceBean(this);
+        factory.setAddress(address);
+        factory.setWsdlLocation(new File(wsdlPath).toURI().toString());
+        server = factory.create();
+    }
+
+    void stop() {
+        if (server != null) {
+            server.destroy();
+        }
+    }
+
+    /**
+     * 切换场景
+     *
+     * @param latency 响应延迟分布
+     * @param faultRate 返回SOAP Fault的比例（0-1）
+     * @param responseBytes 响应结果的字符数
+     */
+    void configure(LatencyDistribution latency, double faultRate, int responseBytes) {
+        this.latency = latency;
+        this.faultRate = faultRate;
+        this.payload = "x".repeat(Math.max(0, responseBytes));
+    }
+
+    @Override
+    public String getVersion() {
+        simulate();
+        return payload;
+    }
+
+    @Override
+    public String echo(String message) {
+        simulate();
+        // 回显请求内容，不足的部分用填充补齐到响应大小
+        String body = message != null ? message : "";
+        return body.length() >= payload.length() ? body : body + payload.substring(body.length());
+    }
+
+    private void simulate() {
+        long delay = latency.sampleNanos();
+        if (delay > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (faultRate > 0 && ThreadLocalRandom.current().nextDouble() < faultRate) {
+            throw new IllegalStateException("桩服务模拟故障");
+        }
+    }
+}
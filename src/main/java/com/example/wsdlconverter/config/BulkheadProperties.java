@@ -0,0 +1,49 @@
+package com.example.wsdlconverter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按操作隔离的舱壁配置
+ *
+ * 默认值适用于WSDL中的所有操作，可按操作名（wsdl.bulkhead.operations.<操作名>.*）单独覆盖。
+ * 默认关闭，启用后超出上限的调用返回503而不是继续等待
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "wsdl.bulkhead")
+public class BulkheadProperties {
+
+    /** 舱壁总开关 */
+    private boolean enabled = false;
+
+    /** 每个操作的最大并发调用数 */
+    private int maxConcurrentCalls = 20;
+
+    /** 每个操作的最大排队数，超出立即拒绝 */
+    private int maxQueueSize = 20;
+
+    /** 排队的最长等待时间，超时拒绝 */
+    private Duration maxWait = Duration.ofMillis(500);
+
+    /** 按操作名覆盖的配置 */
+    private Map<String, OperationBulkhead> operations = new LinkedHashMap<>();
+
+    /**
+     * 单个操作的舱壁配置（未设置的项使用默认值）
+     */
+    @Data
+    public static class OperationBulkhead {
+
+        private Integer maxConcurrentCalls;
+
+        private Integer maxQueueSize;
+
+        private Duration maxWait;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.wsdlconverter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 熔断器配置
+ *
+ * 每个WSDL操作使用独立的熔断器，按最近N次调用的失败率和慢调用率决定是否打开
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "wsdl.circuit-breaker")
+public class CircuitBreakerProperties {
+
+    /** 熔断器总开关 */
+    private boolean enabled = true;
+
+    /** 滑动窗口大小（最近的调用次数） */
+    private int slidingWindowSize = 20;
+
+    /** 计算失败率前窗口内的最少调用次数 */
+    private int minimumCalls = 10;
+
+    /** 失败率阈值（百分比），达到即打开 */
+    private float failureRateThreshold = 50;
+
+    /** 慢调用阈值，超过该时长的调用计为慢调用 */
+    private Duration slowCallDuration = Duration.ofSeconds(10);
+
+    /** 慢调用率阈值（百分比），达到即打开 */
+    private float slowCallRateThreshold = 80;
+
+    /** 打开状态持续时间，之后进入半开状态 */
+    private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+
+    /** 半开状态允许通过的探测调用数 */
+    private int permittedCallsInHalfOpenState = 3;
+}
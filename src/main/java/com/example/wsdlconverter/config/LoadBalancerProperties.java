@@ -0,0 +1,36 @@
+package com.example.wsdlconverter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 后台服务负载均衡配置
+ *
+ * 配置多个相同的C#服务实例地址后，调用按延迟和错误情况分散到各实例；
+ * 未配置时使用WSDL中的服务地址，行为与单实例相同
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "wsdl.load-balancer")
+public class LoadBalancerProperties {
+
+    /** 后台服务实例地址列表 */
+    private List<String> endpoints = new ArrayList<>();
+
+    /** EWMA延迟的衰减时间，越小对最近的延迟变化越敏感 */
+    private Duration decayTime = Duration.ofSeconds(10);
+
+    /** 连续失败多少次后摘除实例 */
+    private int consecutiveFailures = 3;
+
+    /** 首次摘除时长，再次摘除时加倍 */
+    private Duration baseEjectionTime = Duration.ofSeconds(10);
+
+    /** 最长摘除时长 */
+    private Duration maxEjectionTime = Duration.ofMinutes(5);
+}
@@ -0,0 +1,37 @@
+package com.example.wsdlconverter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SOAP报文抓取配置
+ *
+ * 这里是启动时的初始值，运行时可通过 POST /api/wsdl/capture 修改开关、采样率、操作和大小上限
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "wsdl.capture")
+public class PayloadCaptureProperties {
+
+    /** 是否抓取报文 */
+    private boolean enabled = false;
+
+    /** 采样率（0-1），按调用采样，同一调用的请求和响应一起抓取 */
+    private double sampleRate = 1.0;
+
+    /** 只抓取这些操作（不区分大小写），为空表示全部操作 */
+    private List<String> operations = new ArrayList<>();
+
+    /** 单条报文最多保留的字节数，超出部分截断 */
+    private int maxPayloadBytes = 16 * 1024;
+
+    /** 等待写日志的报文队列容量，队列满时丢弃新报文 */
+    private int queueSize = 1000;
+
+    /** 接口可查询的最近报文条数 */
+    private int historySize = 100;
+}
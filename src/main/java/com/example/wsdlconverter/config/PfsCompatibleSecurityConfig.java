@@ -1,18 +1,25 @@
 package com.example.wsdlconverter.config;
 
-import org.apache.cxf.binding.soap.SoapHeader;
 import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.databinding.AbstractDataBinding;
+import org.apache.cxf.databinding.DataReader;
+import org.apache.cxf.databinding.DataWriter;
 import org.apache.cxf.headers.Header;
-import org.apache.cxf.helpers.DOMUtils;
 import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.Attachment;
 import org.apache.cxf.phase.AbstractPhaseInterceptor;
 import org.apache.cxf.phase.Phase;
+import org.apache.cxf.service.Service;
+import org.apache.cxf.service.model.MessagePartInfo;
+import org.codehaus.stax2.XMLStreamWriter2;
 import org.springframework.stereotype.Component;
 import lombok.extern.slf4j.Slf4j;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.validation.Schema;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -27,132 +34,199 @@ public class PfsCompatibleSecurityConfig {
      * PFS兼容的WS-Security拦截器
      * 
      * 这个拦截器专门为了与C#的PfsUserNameTokenAuthenticator兼容而设计
-     * 它会生成符合PFS期望格式的安全头
+     * 它会生成符合PFS期望格式的安全头。安全头的内容只取决于凭据配置，
+     * 因此在创建拦截器时预先序列化一次，每条消息只添加同一个安全头，不再构建DOM
      */
     @Slf4j
     public static class PfsWsSecurityInterceptor extends AbstractPhaseInterceptor<SoapMessage> {
         
-        private final String username;
-        private final String password;
-        private final String clientId;
-        private final boolean windowsAuthentication;
-        private final boolean changePassword;
-        
         // PFS特定的命名空间和属性
         private static final String WSSE_NS = "http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-secext-1.0.xsd";
         private static final String WSU_NS = "http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-utility-1.0.xsd";
         private static final String PFS_NS = "http://pfs.com";
-        private static final String XMLNS_URI = "http://www.w3.org/2000/xmlns/";
+        private static final QName SECURITY_QNAME = new QName(WSSE_NS, "Security", "wsse");
+        
+        private final Header securityHeader;
         
         public PfsWsSecurityInterceptor(String username, String password, String clientId, 
                                        boolean windowsAuthentication, boolean changePassword) {
             // 使用PREPARE_SEND阶段，在准备发送消息时添加安全头
             super(Phase.PREPARE_SEND);
-            this.username = username;
-            this.password = password;
-            this.clientId = clientId;
-            this.windowsAuthentication = windowsAuthentication;
-            this.changePassword = changePassword;
+            SecurityHeaderTemplate template = new SecurityHeaderTemplate(
+                    clientId != null ? clientId : "DEFAULT",
+                    username,
+                    password,
+                    // 新密码（根据changePassword标志决定）
+                    changePassword ? password : "",
+                    // 密钥数据
+                    "",
+                    String.valueOf(windowsAuthentication).toLowerCase(),
+                    String.valueOf(changePassword).toLowerCase(),
+                    // 令牌
+                    "");
+            // 安全头对象不可变，所有消息共享同一个实例。
+            // 使用普通Header而不是SoapHeader：SoapOutInterceptor会用处理mustUnderstand的包装写入器写出SoapHeader，
+            // 而mustUnderstand已包含在模板中，直接写入原始输出流才能整段写出
+            this.securityHeader = new Header(SECURITY_QNAME, template, template);
         }
 
         @Override
         public void handleMessage(SoapMessage message) throws Fault {
-            try {
-                List<Header> headers = message.getHeaders();
-                
-                // 使用DOMUtils创建文档，这是CXF推荐的方式
-                Document doc = DOMUtils.createDocument();
-                
-                // 创建PFS兼容的安全头
-                Element securityHeader = createPfsCompatibleSecurityHeader(doc);
-                
-                // 创建SoapHeader并添加到消息
-                QName securityQName = new QName(WSSE_NS, "Security", "wsse");
-                SoapHeader soapHeader = new SoapHeader(securityQName, securityHeader);
-                
-                // 先移除可能存在的旧安全头（避免重复）
-                headers.removeIf(h -> securityQName.equals(h.getName()));
-                
-                // 添加新的安全头
-                headers.add(soapHeader);
-                
-                log.debug("PFS安全头已成功添加到SOAP消息");
-                
-            } catch (Exception e) {
-                log.error("添加PFS安全头失败: {}", e.getMessage(), e);
-                throw new Fault(e);
-            }
+            List<Header> headers = message.getHeaders();
+            
+            // 先移除可能存在的旧安全头（避免重复）
+            headers.removeIf(PfsWsSecurityInterceptor::isSecurityHeader);
+            
+            // 添加预先序列化的安全头，由SoapOutInterceptor写出信封时通过模板直接写入输出流
+            headers.add(securityHeader);
+            
+            log.debug("PFS安全头已成功添加到SOAP消息");
         }
         
         /**
-         * 创建PFS兼容的安全头
-         * 
-         * 根据C#自定义认证器PfsUserNameTokenAuthenticator的要求生成特定格式
+         * 添加到消息中的安全头（所有消息共享）
          */
-        private Element createPfsCompatibleSecurityHeader(Document doc) {
-            // 创建Security根元素
-            Element security = doc.createElementNS(WSSE_NS, "wsse:Security");
-            security.setAttributeNS(XMLNS_URI, "xmlns:wsse", WSSE_NS);
-            security.setAttributeNS(XMLNS_URI, "xmlns:wsu", WSU_NS);
-            security.setAttributeNS(XMLNS_URI, "xmlns:pfs", PFS_NS);
-            
-            // 设置mustUnderstand属性 (SOAP 1.1使用soap，SOAP 1.2使用s)
-            // CXF会在发送时自动调整命名空间
-            security.setAttribute("mustUnderstand", "1");
-            
-            // 创建PFS特定的安全令牌结构
-            createPfsSecurityToken(doc, security);
-            
-            return security;
+        Header getSecurityHeader() {
+            return securityHeader;
+        }
+        
+        private static boolean isSecurityHeader(Header header) {
+            return SECURITY_QNAME.equals(header.getName());
         }
         
         /**
-         * 创建PFS特定的安全令牌结构
+         * 预先序列化的PFS安全头
+         * 
+         * 根据C#自定义认证器PfsUserNameTokenAuthenticator的要求生成特定格式：
+         * wsse:Security（mustUnderstand="1"）下依次为8个pfs:*元素。
+         * 所有字段在拦截器的生命周期内不变，凭据修改后会重新创建拦截器，因此没有需要按消息修改的内容。
          * 
-         * 根据图片中显示的正确格式生成PFS安全令牌
+         * 作为安全头的DataBinding：输出流为Woodstox（XMLStreamWriter2）时直接写入序列化好的XML，
+         * 其他实现（如SAAJ使用的DOM写入器）按相同结构逐个写出元素
          */
-        private void createPfsSecurityToken(Document doc, Element security) {
-            // 创建PFS客户端ID
-            Element pfsClientIdElem = doc.createElementNS(PFS_NS, "pfs:PfsClientID");
-            pfsClientIdElem.setTextContent(clientId != null ? clientId : "DEFAULT");
-            security.appendChild(pfsClientIdElem);
-            
-            // 创建PFS用户名
-            Element pfsUserName = doc.createElementNS(PFS_NS, "pfs:PfsUserName");
-            pfsUserName.setTextContent(username);
-            security.appendChild(pfsUserName);
-            
-            // 创建PFS用户密码
-            Element pfsUserPassword = doc.createElementNS(PFS_NS, "pfs:PfsUserPassword");
-            pfsUserPassword.setTextContent(password);
-            security.appendChild(pfsUserPassword);
-            
-            // 创建PFS用户新密码（根据changePassword标志决定）
-            Element pfsUserNewPassword = doc.createElementNS(PFS_NS, "pfs:PfsUserNewPassword");
-            pfsUserNewPassword.setTextContent(changePassword ? password : "");
-            security.appendChild(pfsUserNewPassword);
-            
-            // 创建PFS密钥数据
-            Element pfsKeyData = doc.createElementNS(PFS_NS, "pfs:PfsKeyData");
-            pfsKeyData.setTextContent("");
-            security.appendChild(pfsKeyData);
-            
-            // 创建PFS Windows认证标志
-            Element pfsWindowsAuthElem = doc.createElementNS(PFS_NS, "pfs:PfsWindowsAuthentication");
-            pfsWindowsAuthElem.setTextContent(String.valueOf(windowsAuthentication).toLowerCase());
-            security.appendChild(pfsWindowsAuthElem);
-            
-            // 创建PFS更改密码标志
-            Element pfsChangePasswordElem = doc.createElementNS(PFS_NS, "pfs:PfsChangePassword");
-            pfsChangePasswordElem.setTextContent(String.valueOf(changePassword).toLowerCase());
-            security.appendChild(pfsChangePasswordElem);
-            
-            // 创建PFS令牌
-            Element pfsToken = doc.createElementNS(PFS_NS, "pfs:PfsToken");
-            pfsToken.setTextContent("");
-            security.appendChild(pfsToken);
+        static final class SecurityHeaderTemplate extends AbstractDataBinding implements DataWriter<XMLStreamWriter> {
+            
+            private static final String[] ELEMENT_NAMES = {
+                "PfsClientID", "PfsUserName", "PfsUserPassword", "PfsUserNewPassword",
+                "PfsKeyData", "PfsWindowsAuthentication", "PfsChangePassword", "PfsToken"
+            };
+            
+            private final String[] values;
+            private final String xml;
+            
+            SecurityHeaderTemplate(String... values) {
+                this.values = values.clone();
+                StringBuilder builder = new StringBuilder(512);
+                builder.append("<wsse:Security xmlns:wsse=\"").append(WSSE_NS)
+                        .append("\" xmlns:wsu=\"").append(WSU_NS)
+                        .append("\" xmlns:pfs=\"").append(PFS_NS)
+                        .append("\" mustUnderstand=\"1\">");
+                for (int i = 0; i < ELEMENT_NAMES.length; i++) {
+                    builder.append("<pfs:").append(ELEMENT_NAMES[i]).append('>');
+                    appendEscaped(builder, this.values[i]);
+                    builder.append("</pfs:").append(ELEMENT_NAMES[i]).append('>');
+                }
+                this.xml = builder.append("</wsse:Security>").toString();
+            }
+            
+            /**
+             * 序列化后的安全头
+             */
+            String getXml() {
+                return xml;
+            }
+            
+            @Override
+            public void write(Object obj, MessagePartInfo part, XMLStreamWriter output) {
+                write(obj, output);
+            }
+            
+            @Override
+            public void write(Object obj, XMLStreamWriter output) {
+                try {
+                    if (output instanceof XMLStreamWriter2) {
+                        ((XMLStreamWriter2) output).writeRaw(xml);
+                        return;
+                    }
+                    output.writeStartElement("wsse", "Security", WSSE_NS);
+                    output.writeNamespace("wsse", WSSE_NS);
+                    output.writeNamespace("wsu", WSU_NS);
+                    output.writeNamespace("pfs", PFS_NS);
+                    output.writeAttribute("mustUnderstand", "1");
+                    for (int i = 0; i < ELEMENT_NAMES.length; i++) {
+                        output.writeStartElement("pfs", ELEMENT_NAMES[i], PFS_NS);
+                        output.writeCharacters(values[i] != null ? values[i] : "");
+                        output.writeEndElement();
+                    }
+                    output.writeEndElement();
+                } catch (XMLStreamException e) {
+                    throw new Fault(e);
+                }
+            }
+            
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> DataWriter<T> createWriter(Class<T> cls) {
+                return cls == XMLStreamWriter.class ? (DataWriter<T>) this : null;
+            }
+            
+            @Override
+            public <T> DataReader<T> createReader(Class<T> cls) {
+                return null;
+            }
+            
+            @Override
+            public Class<?>[] getSupportedReaderFormats() {
+                return new Class<?>[0];
+            }
+            
+            @Override
+            public Class<?>[] getSupportedWriterFormats() {
+                return new Class<?>[] {XMLStreamWriter.class};
+            }
+            
+            @Override
+            public void initialize(Service service) {
+                // 不需要服务模型
+            }
+            
+            @Override
+            public void setSchema(Schema schema) {
+                // 内容固定，不做校验
+            }
+            
+            @Override
+            public void setAttachments(Collection<Attachment> attachments) {
+                // 安全头不使用附件
+            }
+            
+            @Override
+            public void setProperty(String key, Object value) {
+                // 没有可配置的属性
+            }
+            
+            private static void appendEscaped(StringBuilder builder, String text) {
+                if (text == null) {
+                    return;
+                }
+                for (int i = 0; i < text.length(); i++) {
+                    char c = text.charAt(i);
+                    switch (c) {
+                        case '&':
+                            builder.append("&amp;");
+                            break;
+                        case '<':
+                            builder.append("&lt;");
+                            break;
+                        case '>':
+                            builder.append("&gt;");
+                            break;
+                        default:
+                            builder.append(c);
+                    }
+                }
+            }
         }
-        
     }
     
     /**
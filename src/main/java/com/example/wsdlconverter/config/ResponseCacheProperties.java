@@ -0,0 +1,49 @@
+package com.example.wsdlconverter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 响应缓存配置
+ *
+ * 按WSDL操作名配置（wsdl.cache.operations.<操作名>.*），未配置的操作不缓存。
+ * 默认关闭，需要显式启用并列出允许返回缓存结果的操作
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "wsdl.cache")
+public class ResponseCacheProperties {
+
+    /** 缓存总开关 */
+    private boolean enabled = false;
+
+    /** 后台刷新过期条目的线程数 */
+    private int refreshThreads = 2;
+
+    /** 按操作名配置的缓存参数 */
+    private Map<String, OperationCache> operations = new LinkedHashMap<>();
+
+    /**
+     * 单个操作的缓存参数
+     */
+    @Data
+    public static class OperationCache {
+
+        /** 条目有效期 */
+        private Duration ttl = Duration.ofSeconds(60);
+
+        /** 过期后仍可返回旧值的时间窗口（期间后台刷新一次） */
+        private Duration staleWhileRevalidate = Duration.ZERO;
+
+        /** 最大条目数 */
+        private int maxEntries = 1000;
+
+        /** 最大占用字节数（按SOAP响应报文大小估算） */
+        private long maxBytes = 10L * 1024 * 1024;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.wsdlconverter.config;
+
+import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.phase.PhaseInterceptor;
+import org.apache.cxf.ws.security.wss4j.WSS4JOutInterceptor;
+import org.apache.cxf.ws.security.wss4j.WSS4JStaxOutInterceptor;
+import org.apache.wss4j.common.ext.WSPasswordCallback;
+import org.apache.wss4j.dom.handler.WSHandlerConstants;
+
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 标准WS-Security（UsernameToken，明文密码）出站拦截器
+ *
+ * 支持两种处理方式（wsdl.security.processing）：
+ * dom：WSS4JOutInterceptor，发送前把整个SOAP信封转换为SAAJ/DOM再插入安全头，信封越大开销越大；
+ * streaming：WSS4JStaxOutInterceptor，写出信封时以StAX事件插入安全头，不构建DOM。
+ * 两种方式使用相同的WSS4J配置，生成的UsernameToken相同
+ */
+public final class UsernameTokenSecurity {
+
+    public static final String PROCESSING_DOM = "dom";
+    public static final String PROCESSING_STREAMING = "streaming";
+
+    private UsernameTokenSecurity() {
+    }
+
+    /**
+     * 是否使用StAX流式处理（未知的取值按dom处理）
+     */
+    public static boolean isStreaming(String processing) {
+        return processing != null && PROCESSING_STREAMING.equals(processing.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 创建添加UsernameToken的出站拦截器
+     *
+     * @param processing dom或streaming
+     */
+    public static PhaseInterceptor<SoapMessage> createOutInterceptor(String username, String password,
+                                                                     String processing) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(WSHandlerConstants.ACTION, WSHandlerConstants.USERNAME_TOKEN);
+        properties.put(WSHandlerConstants.USER, username);
+        properties.put(WSHandlerConstants.PASSWORD_TYPE, "PasswordText");
+        properties.put(WSHandlerConstants.PW_CALLBACK_REF, new PasswordCallback(password));
+
+        return isStreaming(processing)
+                ? new WSS4JStaxOutInterceptor(properties)
+                : new WSS4JOutInterceptor(properties);
+    }
+
+    /**
+     * 密码回调处理器
+     */
+    private static class PasswordCallback implements CallbackHandler {
+        private final String password;
+
+        PasswordCallback(String password) {
+            this.password = password;
+        }
+
+        @Override
+        public void handle(Callback[] callbacks) {
+            for (Callback callback : callbacks) {
+                if (callback instanceof WSPasswordCallback) {
+                    ((WSPasswordCallback) callback).setPassword(password);
+                }
+            }
+        }
+    }
+}
@@ -1,16 +1,12 @@
 package com.example.wsdlconverter.config;
 
+import com.example.wsdlconverter.service.PayloadCaptureService;
 import org.apache.cxf.Bus;
 import org.apache.cxf.bus.spring.SpringBus;
-import org.apache.cxf.ext.logging.LoggingInInterceptor;
-import org.apache.cxf.ext.logging.LoggingOutInterceptor;
 import org.apache.cxf.frontend.ClientProxy;
 import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
 import org.apache.cxf.transport.http.HTTPConduit;
 import org.apache.cxf.transports.http.configuration.HTTPClientPolicy;
-import org.apache.cxf.ws.security.wss4j.WSS4JOutInterceptor;
-import org.apache.wss4j.dom.handler.WSHandlerConstants;
-import org.apache.wss4j.common.ext.WSPasswordCallback;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -19,8 +15,6 @@ import org.springframework.context.annotation.Primary;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.xml.namespace.QName;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * WSDL客户端配置类
@@ -34,6 +28,9 @@ public class WsdlClientConfig {
     @Autowired
     private PfsCompatibleSecurityConfig pfsSecurityConfig;
 
+    @Autowired(required = false)
+    private PayloadCaptureService payloadCapture;
+
     @Value("${wsdl.service.url:http://localhost:8080/Service.asmx}")
     private String serviceUrl;
 
@@ -58,6 +55,9 @@ public class WsdlClientConfig {
     @Value("${wsdl.security.use-pfs-compatible:true}")
     private boolean usePfsCompatible;
 
+    @Value("${wsdl.security.processing:dom}")
+    private String securityProcessing;
+
     @Value("${wsdl.security.pfs.client-id:DEFAULT}")
     private String pfsClientId;
 
@@ -91,7 +91,11 @@ public class WsdlClientConfig {
         QName qname = new QName(serviceNamespace, serviceName);
         factory.setServiceName(qname);
         
-        // 设置特性 - 日志记录通过配置启用
+        // 报文抓取（wsdl.capture.*，可在运行时开启，未开启时不复制报文）
+        if (payloadCapture != null) {
+            factory.getOutInterceptors().add(payloadCapture.getOutInterceptor());
+            factory.getInInterceptors().add(payloadCapture.getInInterceptor());
+        }
         
         // 配置安全设置（如果启用）
         if (securityEnabled) {
@@ -111,7 +115,16 @@ public class WsdlClientConfig {
      * 配置HTTP传输参数
      */
     private void configureHttpTransport(Object client) {
-        org.apache.cxf.endpoint.Client cxfClient = ClientProxy.getClient(client);
+        configureHttpConduit(ClientProxy.getClient(client));
+    }
+
+    /**
+     * 为CXF客户端的HTTP Conduit配置连接和接收超时
+     */
+    public void configureHttpConduit(org.apache.cxf.endpoint.Client cxfClient) {
+        if (!(cxfClient.getConduit() instanceof HTTPConduit)) {
+            return;
+        }
         HTTPConduit httpConduit = (HTTPConduit) cxfClient.getConduit();
         
         HTTPClientPolicy httpClientPolicy = new HTTPClientPolicy();
@@ -154,10 +167,6 @@ public class WsdlClientConfig {
      */
     private void configurePfsCompatibleSecurity(JaxWsProxyFactoryBean factory) {
         try {
-            // 添加日志拦截器（用于调试）
-            factory.getOutInterceptors().add(new LoggingOutInterceptor());
-            factory.getInInterceptors().add(new LoggingInInterceptor());
-            
             // 使用我们自定义的PFS兼容拦截器，传递所有PFS参数
             PfsCompatibleSecurityConfig.PfsWsSecurityInterceptor pfsInterceptor = 
                 pfsSecurityConfig.createPfsInterceptor(
@@ -183,40 +192,10 @@ public class WsdlClientConfig {
      * 配置标准的WS-Security设置
      */
     private void configureStandardSecurity(JaxWsProxyFactoryBean factory) {
-        Map<String, Object> properties = new HashMap<>();
-        
-        // 配置WSS4J出站安全
-        properties.put(WSHandlerConstants.ACTION, WSHandlerConstants.USERNAME_TOKEN);
-        properties.put(WSHandlerConstants.USER, securityUsername);
-        properties.put(WSHandlerConstants.PASSWORD_TYPE, "PasswordText");
-        properties.put(WSHandlerConstants.PW_CALLBACK_REF, new ClientPasswordCallback(securityPassword));
+        // 按配置选择DOM或StAX流式处理的WSS4J出站拦截器
+        factory.getOutInterceptors().add(
+                UsernameTokenSecurity.createOutInterceptor(securityUsername, securityPassword, securityProcessing));
         
-        // 创建WSS4J出站拦截器
-        WSS4JOutInterceptor wssOut = new WSS4JOutInterceptor(properties);
-        factory.getOutInterceptors().add(wssOut);
-        
-        log.info("已配置标准WS-Security设置");
-    }
-
-    /**
-     * 密码回调处理器
-     */
-    private static class ClientPasswordCallback implements javax.security.auth.callback.CallbackHandler {
-        private final String password;
-
-        public ClientPasswordCallback(String password) {
-            this.password = password;
-        }
-
-        @Override
-        public void handle(javax.security.auth.callback.Callback[] callbacks) 
-                throws java.io.IOException, javax.security.auth.callback.UnsupportedCallbackException {
-            for (javax.security.auth.callback.Callback callback : callbacks) {
-                if (callback instanceof WSPasswordCallback) {
-                    WSPasswordCallback pc = (WSPasswordCallback) callback;
-                    pc.setPassword(password);
-                }
-            }
-        }
+        log.info("已配置标准WS-Security设置，处理方式: {}", securityProcessing);
     }
 }
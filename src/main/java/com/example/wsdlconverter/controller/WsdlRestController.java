@@ -1,17 +1,39 @@
 package com.example.wsdlconverter.controller;
 
+import com.example.wsdlconverter.exception.BulkheadFullException;
+import com.example.wsdlconverter.exception.CallRejectedException;
+import com.example.wsdlconverter.exception.ClientPoolExhaustedException;
+import com.example.wsdlconverter.model.BatchInvokeItem;
+import com.example.wsdlconverter.model.BatchInvokeResult;
+import com.example.wsdlconverter.service.BatchInvocationService;
+import com.example.wsdlconverter.service.InvocationDispatcher;
+import com.example.wsdlconverter.service.InvocationStats;
+import com.example.wsdlconverter.service.InvocationTimeline;
+import com.example.wsdlconverter.service.PayloadCaptureService;
 import com.example.wsdlconverter.service.WsdlServiceAdapter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * WSDL转RESTful API控制器
@@ -25,45 +47,68 @@ import java.util.Map;
 @Slf4j
 public class WsdlRestController {
 
+    private static final String SERVER_TIMING = "Server-Timing";
+
     @Autowired
     private WsdlServiceAdapter wsdlServiceAdapter;
 
     @Autowired
     private com.example.wsdlconverter.service.WsdlResolverService wsdlResolverService;
 
+    @Autowired
+    private InvocationDispatcher invocationDispatcher;
+
+    @Autowired
+    private BatchInvocationService batchInvocationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PayloadCaptureService payloadCaptureService;
+
+    @Autowired
+    private InvocationStats invocationStats;
+
+    @Value("${wsdl.server-timing.enabled:true}")
+    private boolean serverTimingEnabled;
+
 
     /**
      * 调用WSDL服务的通用接口
      * 
+     * 请求体由流式解析器按操作的参数定义直接绑定为调用参数，复杂类型直接反序列化为JAXB类型。
+     * 参数绑定、后台调用各阶段和响应JSON序列化的耗时发布为wsdl.invoke.phase指标
+     * 
      * @param methodName WSDL服务方法名
      * @param requestBody 请求参数（JSON格式）
-     * @return WSDL服务响应（JSON格式）
+     * @return WSDL服务响应（JSON格式），异步模式下调用完成前不占用Servlet线程
      */
     @PostMapping(value = "/invoke/{methodName}", 
                  consumes = MediaType.APPLICATION_JSON_VALUE, 
                  produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "调用WSDL服务方法", 
                description = "通过RESTful接口调用后台WSDL服务的指定方法")
-    public ResponseEntity<Object> invokeWsdlMethod(
+    public CompletableFuture<ResponseEntity<Object>> invokeWsdlMethod(
             @Parameter(description = "WSDL服务方法名", required = true)
             @PathVariable String methodName,
-            @Parameter(description = "请求参数（JSON格式）", required = false)
-            @RequestBody(required = false) Map<String, Object> requestBody) {
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "请求参数（JSON格式）", required = false,
+                    content = @Content(schema = @Schema(type = "object")))
+            InputStream requestBody) {
+        
+        log.info("调用WSDL方法: {}", methodName);
         
+        InvocationTimeline timeline = wsdlServiceAdapter.startTimeline(methodName);
+        Object[] args;
         try {
-            log.info("调用WSDL方法: {}, 参数: {}", methodName, requestBody);
-            
-            // 调用WSDL服务适配器
-            Object result = wsdlServiceAdapter.invokeMethod(methodName, requestBody);
-            
-            log.info("WSDL方法调用成功: {}", methodName);
-            return ResponseEntity.ok(result);
-            
+            args = wsdlServiceAdapter.readMethodArguments(methodName, requestBody, timeline);
         } catch (Exception e) {
-            log.error("调用WSDL方法失败: {}, 错误: {}", methodName, e.getMessage(), e);
-            return ResponseEntity.internalServerError()
-                    .body(Map.of("error", "调用WSDL服务失败", "message", e.getMessage()));
+            return CompletableFuture.completedFuture(toJsonResponse(toInvokeResponse(methodName, null, e), timeline));
         }
+        
+        // 调用WSDL服务（按配置的调用模式同步或异步执行）
+        return invocationDispatcher.dispatchArguments(methodName, args, timeline)
+                .handle((result, error) -> toJsonResponse(toInvokeResponse(methodName, result, error), timeline));
     }
 
     /**
@@ -76,29 +121,169 @@ public class WsdlRestController {
     @GetMapping("/invoke/{methodName}")
     @Operation(summary = "GET方式调用WSDL服务", 
                description = "通过GET请求调用WSDL服务方法，适用于简单查询")
-    public ResponseEntity<Object> invokeWsdlMethodGet(
+    public CompletableFuture<ResponseEntity<Object>> invokeWsdlMethodGet(
             @Parameter(description = "WSDL服务方法名", required = true)
             @PathVariable String methodName,
             @Parameter(description = "查询参数")
             @RequestParam(required = false) Map<String, String> params) {
         
+        log.info("GET调用WSDL方法: {}", methodName);
+        log.debug("GET调用参数: {}", params);
+        
+        // 将String参数转换为Object参数
+        Map<String, Object> objectParams = params != null ? 
+                Map.copyOf(params) : null;
+        
+        InvocationTimeline timeline = wsdlServiceAdapter.startTimeline(methodName);
+        Object[] args = wsdlServiceAdapter.bindMethodArguments(methodName, objectParams, timeline);
+        return invocationDispatcher.dispatchArguments(methodName, args, timeline)
+                .handle((result, error) -> toJsonResponse(toInvokeResponse(methodName, result, error), timeline));
+    }
+
+    /**
+     * 流式调用WSDL服务（用于返回大量数据的操作）
+     * 
+     * SOAP响应体由StAX边读边转换为JSON直接写入响应输出流，不在内存中构建完整结果。
+     * 响应开始写出后如果后台连接中断，已发送的状态码无法更改，响应将被截断
+     * 
+     * @param methodName WSDL服务方法名
+     * @param requestBody 请求参数（JSON格式）
+     * @param response HTTP响应
+     */
+    @PostMapping(value = "/stream/{methodName}", 
+                 consumes = MediaType.APPLICATION_JSON_VALUE, 
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "流式调用WSDL服务方法", 
+               description = "响应边读边转换为JSON输出，内存占用与响应大小无关，适用于返回大量数据的操作")
+    public void streamWsdlMethod(
+            @Parameter(description = "WSDL服务方法名", required = true)
+            @PathVariable String methodName,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "请求参数（JSON格式）", required = false,
+                    content = @Content(schema = @Schema(type = "object")))
+            InputStream requestBody,
+            HttpServletResponse response) throws IOException {
+        
+        log.debug("流式调用WSDL方法: {}", methodName);
+        
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        InvocationTimeline timeline = wsdlServiceAdapter.startTimeline(methodName);
         try {
-            log.info("GET调用WSDL方法: {}, 参数: {}", methodName, params);
-            
-            // 将String参数转换为Object参数
-            Map<String, Object> objectParams = params != null ? 
-                    Map.copyOf(params) : null;
+            Object[] args = wsdlServiceAdapter.readMethodArguments(methodName, requestBody, timeline);
+            wsdlServiceAdapter.invokeMethodStreaming(methodName, args, response.getOutputStream(), timeline);
+            log.debug("WSDL方法流式调用成功: {}", methodName);
+        } catch (Exception e) {
+            if (response.isCommitted()) {
+                // 部分响应已发送，只能中断连接让客户端感知响应不完整
+                log.error("流式输出中断: {}, 错误: {}", methodName, e.getMessage(), e);
+                throw new IOException("流式输出中断: " + e.getMessage(), e);
+            }
             
-            Object result = wsdlServiceAdapter.invokeMethod(methodName, objectParams);
+            // 尚未发送任何内容：丢弃缓冲区中的部分输出，按常规方式返回错误
+            response.resetBuffer();
+            ResponseEntity<Object> error = toInvokeResponse(methodName, null, e);
+            response.setStatus(error.getStatusCode().value());
+            if (serverTimingEnabled) {
+                response.setHeader(SERVER_TIMING, timeline.toServerTiming());
+            }
+            objectMapper.writeValue(response.getOutputStream(), error.getBody());
+        }
+    }
+
+    /**
+     * 批量调用WSDL服务
+     * 
+     * @param items 调用项列表，每项包含methodName和parameters
+     * @return 按请求顺序排列的调用结果，每项单独标记成功或失败
+     */
+    @PostMapping(value = "/batch", 
+                 consumes = MediaType.APPLICATION_JSON_VALUE, 
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "批量调用WSDL服务方法", 
+               description = "一次请求中并行调用多个WSDL服务方法，结果按请求顺序返回")
+    public CompletableFuture<ResponseEntity<Object>> invokeBatch(
+            @Parameter(description = "调用项列表", required = true)
+            @RequestBody List<BatchInvokeItem> items) {
+        
+        CompletableFuture<List<BatchInvokeResult>> batchFuture;
+        try {
+            batchFuture = batchInvocationService.invokeBatch(items);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(Map.of("error", "批量调用请求无效", "message", e.getMessage())));
+        }
+        
+        return batchFuture.handle((results, error) -> {
+            if (error != null) {
+                Throwable cause = InvocationDispatcher.unwrap(error);
+                log.error("批量调用失败: {}", cause.getMessage(), cause);
+                return ResponseEntity.internalServerError()
+                        .body(Map.of("error", "批量调用失败", "message", String.valueOf(cause.getMessage())));
+            }
             
+            long succeeded = results.stream().filter(BatchInvokeResult::isSuccess).count();
+            Map<String, Object> body = new HashMap<>();
+            body.put("total", results.size());
+            body.put("succeeded", succeeded);
+            body.put("failed", results.size() - succeeded);
+            body.put("results", results);
+            return ResponseEntity.ok(body);
+        });
+    }
+
+    /**
+     * 将调用结果或异常转换为HTTP响应
+     */
+    private ResponseEntity<Object> toInvokeResponse(String methodName, Object result, Throwable error) {
+        if (error == null) {
             log.info("WSDL方法调用成功: {}", methodName);
             return ResponseEntity.ok(result);
-            
-        } catch (Exception e) {
-            log.error("GET调用WSDL方法失败: {}, 错误: {}", methodName, e.getMessage(), e);
-            return ResponseEntity.internalServerError()
-                    .body(Map.of("error", "调用WSDL服务失败", "message", e.getMessage()));
         }
+        
+        Throwable cause = InvocationDispatcher.unwrap(error);
+        if (cause instanceof JsonProcessingException) {
+            // 请求体不是合法的JSON或无法绑定到参数类型，请求未发送到后台服务
+            log.warn("WSDL方法请求参数无效: {}, 原因: {}", methodName, cause.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "请求参数格式错误", "message", String.valueOf(cause.getMessage())));
+        }
+        if (cause instanceof CallRejectedException) {
+            // 舱壁已满、客户端池耗尽或熔断器打开，请求未发送到后台服务，客户端可稍后重试
+            log.warn("WSDL方法调用被拒绝: {}, 原因: {}", methodName, cause.getMessage());
+            String reason = cause instanceof BulkheadFullException || cause instanceof ClientPoolExhaustedException
+                    ? "服务繁忙，请稍后重试" : "后台服务暂不可用，请稍后重试";
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", reason, "message", String.valueOf(cause.getMessage())));
+        }
+        
+        log.error("调用WSDL方法失败: {}, 错误: {}", methodName, cause.getMessage(), cause);
+        return ResponseEntity.internalServerError()
+                .body(Map.of("error", "调用WSDL服务失败", "message", String.valueOf(cause.getMessage())));
+    }
+
+    /**
+     * 在控制器中把响应体序列化为JSON，以便记录序列化阶段的耗时
+     * 
+     * 使用与消息转换器相同的ObjectMapper，输出与直接返回对象时一致。
+     * 启用时附加Server-Timing响应头（各阶段耗时和缓存命中情况），客户端无需查看服务端日志即可分析延迟
+     */
+    private ResponseEntity<Object> toJsonResponse(ResponseEntity<Object> response, InvocationTimeline timeline) {
+        long start = System.nanoTime();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(response.getBody());
+        } catch (JsonProcessingException e) {
+            // 交给消息转换器处理，与未预先序列化时的行为一致
+            log.warn("序列化WSDL方法响应失败: {}", e.getMessage());
+            return response;
+        }
+        timeline.recordSince(InvocationTimeline.Phase.SERIALIZE, start);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON);
+        if (serverTimingEnabled) {
+            builder.header(SERVER_TIMING, timeline.toServerTiming());
+        }
+        return builder.body(json);
     }
 
     /**
@@ -150,11 +335,14 @@ public class WsdlRestController {
     public ResponseEntity<Object> healthCheck() {
         try {
             boolean isHealthy = wsdlServiceAdapter.isServiceHealthy();
+            Map<String, String> circuitBreakers = wsdlServiceAdapter.getCircuitBreakerStates();
             if (isHealthy) {
-                return ResponseEntity.ok(Map.of("status", "健康", "timestamp", System.currentTimeMillis()));
+                return ResponseEntity.ok(Map.of("status", "健康", "circuitBreakers", circuitBreakers,
+                        "timestamp", System.currentTimeMillis()));
             } else {
                 return ResponseEntity.status(503)
-                        .body(Map.of("status", "不健康", "timestamp", System.currentTimeMillis()));
+                        .body(Map.of("status", "不健康", "circuitBreakers", circuitBreakers,
+                                "timestamp", System.currentTimeMillis()));
             }
         } catch (Exception e) {
             log.error("健康检查失败: {}", e.getMessage(), e);
@@ -246,6 +434,68 @@ public class WsdlRestController {
         }
     }
 
+    /**
+     * 查询实时调用统计
+     * 
+     * @return 各操作在最近1分钟、5分钟、15分钟内的延迟百分位（毫秒）、吞吐量、失败率和最大报文字节数
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "查询调用统计", 
+               description = "按操作返回最近1分钟、5分钟、15分钟滑动窗口内的延迟百分位、吞吐量、失败率和最大报文")
+    public ResponseEntity<Object> getInvocationStats() {
+        return ResponseEntity.ok(invocationStats.getSnapshot());
+    }
+
+    /**
+     * 查询SOAP报文抓取状态和最近抓取的报文
+     * 
+     * @param limit 返回的最近报文条数
+     * @return 抓取设置、统计和最近的报文（最新的在前）
+     */
+    @GetMapping("/capture")
+    @Operation(summary = "查询报文抓取", 
+               description = "查询SOAP报文抓取的设置、统计和最近抓取的报文")
+    public ResponseEntity<Object> getPayloadCapture(
+            @Parameter(description = "返回的最近报文条数")
+            @RequestParam(defaultValue = "20") int limit) {
+        Map<String, Object> result = new HashMap<>(payloadCaptureService.getStatus());
+        result.put("payloads", payloadCaptureService.getRecent(Math.max(0, limit)));
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 运行时修改SOAP报文抓取设置
+     * 
+     * 未传的参数保持不变，例如只开启10%采样：POST /capture?enabled=true&amp;sampleRate=0.1
+     * 
+     * @return 修改后的抓取设置
+     */
+    @PostMapping("/capture")
+    @Operation(summary = "修改报文抓取设置", 
+               description = "开启或关闭SOAP报文抓取，并设置采样率、抓取的操作和单条报文大小上限")
+    public ResponseEntity<Object> updatePayloadCapture(
+            @Parameter(description = "是否抓取报文")
+            @RequestParam(required = false) Boolean enabled,
+            @Parameter(description = "采样率（0-1）")
+            @RequestParam(required = false) Double sampleRate,
+            @Parameter(description = "只抓取这些操作（逗号分隔，空字符串表示全部操作）")
+            @RequestParam(required = false) List<String> operations,
+            @Parameter(description = "单条报文最多保留的字节数")
+            @RequestParam(required = false) Integer maxPayloadBytes,
+            @Parameter(description = "是否清空已抓取的报文")
+            @RequestParam(defaultValue = "false") boolean clear) {
+        try {
+            payloadCaptureService.update(enabled, sampleRate, operations, maxPayloadBytes);
+            if (clear) {
+                payloadCaptureService.clear();
+            }
+            return ResponseEntity.ok(payloadCaptureService.getStatus());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "报文抓取设置无效", "message", e.getMessage()));
+        }
+    }
+
     /**
      * 清理临时文件
      * 
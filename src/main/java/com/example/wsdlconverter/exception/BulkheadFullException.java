@@ -0,0 +1,13 @@
+package com.example.wsdlconverter.exception;
+
+/**
+ * 舱壁已满异常
+ * 
+ * 操作的并发调用数和等待队列均已达到上限时抛出，请求未发送到后台服务
+ */
+public class BulkheadFullException extends CallRejectedException {
+
+    public BulkheadFullException(String operationName, String message) {
+        super(operationName, message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.wsdlconverter.exception;
+
+/**
+ * 调用被拒绝异常
+ * 
+ * 调用在发送到后台服务之前被保护机制（舱壁、熔断器）拒绝时抛出，
+ * 对应HTTP 503，客户端可稍后重试
+ */
+public class CallRejectedException extends WsdlServiceException {
+
+    private final String operationName;
+
+    public CallRejectedException(String operationName, String message) {
+        super(message);
+        this.operationName = operationName;
+    }
+
+    public String getOperationName() {
+        return operationName;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.wsdlconverter.exception;
+
+/**
+ * 熔断器打开异常
+ * 
+ * 操作的熔断器处于打开状态（或半开状态的探测名额已用完）时抛出，请求未发送到后台服务
+ */
+public class CircuitBreakerOpenException extends CallRejectedException {
+
+    public CircuitBreakerOpenException(String operationName, String message) {
+        super(operationName, message);
+    }
+}
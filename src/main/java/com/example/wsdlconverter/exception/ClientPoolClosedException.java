@@ -0,0 +1,14 @@
+package com.example.wsdlconverter.exception;
+
+/**
+ * 客户端池已关闭异常
+ *
+ * 客户端重新初始化时旧的客户端池被关闭，仍在使用旧池借用（或正在等待）的调用收到该异常，
+ * 可以改用新的客户端池重试
+ */
+public class ClientPoolClosedException extends WsdlServiceException {
+
+    public ClientPoolClosedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.wsdlconverter.exception;
+
+/**
+ * 客户端池耗尽异常
+ *
+ * 所有池化客户端均已借出且等待超时时抛出，请求未发送到后台服务，不计为后台故障
+ */
+public class ClientPoolExhaustedException extends CallRejectedException {
+
+    public ClientPoolExhaustedException(String operationName, String message) {
+        super(operationName, message);
+    }
+}
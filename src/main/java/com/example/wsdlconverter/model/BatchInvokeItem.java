@@ -0,0 +1,22 @@
+package com.example.wsdlconverter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 批量调用中的单个调用项
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchInvokeItem {
+
+    /** WSDL服务方法名 */
+    private String methodName;
+
+    /** 调用参数 */
+    private Map<String, Object> parameters;
+}
@@ -0,0 +1,33 @@
+package com.example.wsdlconverter.model;
+
+import lombok.Data;
+
+/**
+ * 批量调用中单个调用项的结果
+ */
+@Data
+public class BatchInvokeResult {
+
+    /** 调用项在请求中的位置 */
+    private final int index;
+
+    /** WSDL服务方法名 */
+    private final String methodName;
+
+    /** 是否调用成功 */
+    private final boolean success;
+
+    /** 调用结果（成功时） */
+    private final Object result;
+
+    /** 错误信息（失败时） */
+    private final String error;
+
+    public static BatchInvokeResult success(int index, String methodName, Object result) {
+        return new BatchInvokeResult(index, methodName, true, result, null);
+    }
+
+    public static BatchInvokeResult failure(int index, String methodName, String error) {
+        return new BatchInvokeResult(index, methodName, false, null, error);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.wsdlconverter.model;
+
+import lombok.Data;
+
+/**
+ * 抓取的一条SOAP报文
+ */
+@Data
+public class CapturedPayload {
+
+    /** 报文方向：REQUEST或RESPONSE */
+    private final String direction;
+
+    /** WSDL操作名 */
+    private final String operation;
+
+    /** 后台服务地址 */
+    private final String address;
+
+    /** 抓取时间（毫秒时间戳） */
+    private final long timestamp;
+
+    /** 报文实际字节数 */
+    private final long size;
+
+    /** 是否因超出大小上限被截断 */
+    private final boolean truncated;
+
+    /** 报文内容（密码已屏蔽） */
+    private final String payload;
+}
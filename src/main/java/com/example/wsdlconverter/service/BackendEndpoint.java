@@ -0,0 +1,139 @@
+package com.example.wsdlconverter.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 后台服务实例及其负载均衡状态
+ *
+ * 记录按时间衰减的峰值EWMA延迟、进行中的请求数和连续失败次数；
+ * 被摘除的实例到期后以观察状态重新加入，观察期内再次失败会以加倍的时长再次摘除
+ */
+public class BackendEndpoint {
+
+    private static final int MAX_EJECTION_DOUBLINGS = 20;
+
+    private final String address;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder ejectionCount = new LongAdder();
+
+    private double ewmaNanos;
+    private long lastObservedAt;
+    private int consecutiveFailures;
+    private int ejectionStreak;
+    private boolean ejected;
+    private long ejectedUntil;
+    private boolean probation;
+
+    BackendEndpoint(String address) {
+        this.address = address;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * 负载代价：EWMA延迟 × (进行中的请求数 + 1)
+     */
+    synchronized double cost() {
+        return ewmaNanos * (inFlight.get() + 1);
+    }
+
+    synchronized boolean isAvailable(long now) {
+        return !ejected || now - ejectedUntil >= 0;
+    }
+
+    synchronized long getEjectedUntil() {
+        return ejectedUntil;
+    }
+
+    void onStart() {
+        inFlight.incrementAndGet();
+        requestCount.increment();
+    }
+
+    /**
+     * 记录一次延迟样本（峰值敏感：延迟上升立即生效，下降按衰减时间平滑）
+     */
+    synchronized void observe(long rttNanos, long now, long decayNanos) {
+        inFlight.decrementAndGet();
+        long elapsed = Math.max(0, now - lastObservedAt);
+        lastObservedAt = now;
+        if (rttNanos > ewmaNanos) {
+            ewmaNanos = rttNanos;
+        } else {
+            double weight = Math.exp(-(double) elapsed / decayNanos);
+            ewmaNanos = ewmaNanos * weight + rttNanos * (1 - weight);
+        }
+    }
+
+    /**
+     * 记录成功调用
+     *
+     * @return true表示实例通过观察期，恢复正常
+     */
+    synchronized boolean onSuccess(long now) {
+        consecutiveFailures = 0;
+        if (probation && isAvailable(now)) {
+            probation = false;
+            ejected = false;
+            ejectionStreak = 0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 记录失败调用，达到阈值（或观察期内失败）时摘除实例
+     *
+     * @return 本次被摘除时返回摘除时长（纳秒），否则返回0
+     */
+    synchronized long onFailure(long now, int failureThreshold, long baseEjectionNanos, long maxEjectionNanos) {
+        failureCount.increment();
+        consecutiveFailures++;
+        if (!isAvailable(now) || (!probation && consecutiveFailures < failureThreshold)) {
+            return 0;
+        }
+
+        ejectionStreak = Math.min(ejectionStreak + 1, MAX_EJECTION_DOUBLINGS);
+        long ejectionNanos = Math.min(baseEjectionNanos << (ejectionStreak - 1), maxEjectionNanos);
+        ejected = true;
+        ejectedUntil = now + ejectionNanos;
+        probation = true;
+        consecutiveFailures = 0;
+        ejectionCount.increment();
+        return ejectionNanos;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public synchronized double getEwmaMillis() {
+        return ewmaNanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * 获取实例统计信息
+     */
+    synchronized Map<String, Object> getStatistics(long now) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("address", address);
+        stats.put("state", !isAvailable(now) ? "EJECTED" : probation ? "PROBATION" : "HEALTHY");
+        stats.put("ewmaMillis", Math.round(getEwmaMillis() * 100) / 100.0);
+        stats.put("inFlight", inFlight.get());
+        stats.put("requests", requestCount.sum());
+        stats.put("failures", failureCount.sum());
+        stats.put("ejections", ejectionCount.sum());
+        if (!isAvailable(now)) {
+            stats.put("ejectedForMillis", TimeUnit.NANOSECONDS.toMillis(ejectedUntil - now));
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.exception.CallRejectedException;
+import org.apache.cxf.binding.soap.SoapFault;
+
+/**
+ * 判断调用异常是否说明后台服务本身出现问题
+ */
+final class BackendFailures {
+
+    private BackendFailures() {
+    }
+
+    /**
+     * 被其他保护机制拒绝的调用，以及后台服务返回的客户端错误（Client/Sender，请求本身有误）
+     * 不视为后台故障；其余异常（连接失败、超时、服务端错误）均视为后台故障
+     *
+     * @param error 调用异常（可为CompletionException包装）
+     */
+    static boolean isBackendFailure(Throwable error) {
+        if (error == null) {
+            return false;
+        }
+        Throwable cause = InvocationDispatcher.unwrap(error);
+        if (cause instanceof CallRejectedException) {
+            return false;
+        }
+        if (cause instanceof SoapFault) {
+            String faultCode = ((SoapFault) cause).getFaultCode().getLocalPart();
+            return !"Client".equals(faultCode) && !"Sender".equals(faultCode);
+        }
+        return true;
+    }
+}
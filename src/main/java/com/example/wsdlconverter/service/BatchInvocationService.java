@@ -0,0 +1,129 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.model.BatchInvokeItem;
+import com.example.wsdlconverter.model.BatchInvokeResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量调用服务
+ *
+ * 将一批WSDL调用并行分发到后台服务，同一批次内最多同时执行max-parallelism个调用，
+ * 结果按请求顺序返回，单个调用失败不影响其他调用
+ */
+@Service
+@Slf4j
+public class BatchInvocationService {
+
+    @Autowired
+    private InvocationDispatcher invocationDispatcher;
+
+    @Value("${wsdl.batch.max-parallelism:8}")
+    private int maxParallelism;
+
+    @Value("${wsdl.batch.max-items:100}")
+    private int maxItems;
+
+    @Value("${wsdl.batch.threads:32}")
+    private int batchThreads;
+
+    // 同步调用模式下用于并行执行阻塞调用的线程池（异步和虚拟线程模式不需要）
+    private ExecutorService batchExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        batchExecutor = Executors.newFixedThreadPool(batchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "wsdl-batch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (batchExecutor != null) {
+            batchExecutor.shutdown();
+        }
+    }
+
+    /**
+     * 并行执行批量调用
+     *
+     * @param items 调用项列表
+     * @return 按请求顺序排列的调用结果
+     */
+    public CompletableFuture<List<BatchInvokeResult>> invokeBatch(List<BatchInvokeItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("批量调用列表不能为空");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("批量调用数量超过上限: " + items.size() + " > " + maxItems);
+        }
+
+        log.info("批量调用WSDL方法，调用数量: {}, 最大并行度: {}", items.size(), maxParallelism);
+
+        BatchInvokeResult[] results = new BatchInvokeResult[items.size()];
+        AtomicInteger nextIndex = new AtomicInteger();
+        int lanes = Math.max(1, Math.min(maxParallelism, items.size()));
+
+        // 每条通道完成一个调用后领取下一个，从而限制同时执行的调用数量
+        CompletableFuture<?>[] laneFutures = new CompletableFuture<?>[lanes];
+        for (int i = 0; i < lanes; i++) {
+            laneFutures[i] = runLane(items, results, nextIndex);
+        }
+
+        return CompletableFuture.allOf(laneFutures).thenApply(ignored -> Arrays.asList(results));
+    }
+
+    private CompletableFuture<Void> runLane(List<BatchInvokeItem> items, BatchInvokeResult[] results,
+                                            AtomicInteger nextIndex) {
+        int index = nextIndex.getAndIncrement();
+        if (index >= items.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        BatchInvokeItem item = items.get(index);
+        return invokeItem(item)
+                .handle((result, error) -> {
+                    results[index] = toResult(index, item, result, error);
+                    return null;
+                })
+                .thenCompose(ignored -> runLane(items, results, nextIndex));
+    }
+
+    private CompletableFuture<Object> invokeItem(BatchInvokeItem item) {
+        if (item == null || item.getMethodName() == null || item.getMethodName().isBlank()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("方法名不能为空"));
+        }
+
+        if (invocationDispatcher.getMode() == InvocationDispatcher.InvocationMode.SYNC) {
+            return CompletableFuture.supplyAsync(
+                    () -> invocationDispatcher.dispatch(item.getMethodName(), item.getParameters()), batchExecutor)
+                    .thenCompose(future -> future);
+        }
+        return invocationDispatcher.dispatch(item.getMethodName(), item.getParameters());
+    }
+
+    private BatchInvokeResult toResult(int index, BatchInvokeItem item, Object result, Throwable error) {
+        String methodName = item != null ? item.getMethodName() : null;
+        if (error == null) {
+            return BatchInvokeResult.success(index, methodName, result);
+        }
+
+        Throwable cause = InvocationDispatcher.unwrap(error);
+        log.warn("批量调用项失败: [{}] {}, 错误: {}", index, methodName, cause.getMessage());
+        return BatchInvokeResult.failure(index, methodName, String.valueOf(cause.getMessage()));
+    }
+}
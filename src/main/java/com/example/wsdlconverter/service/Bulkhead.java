@@ -0,0 +1,169 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.exception.BulkheadFullException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 单个操作的舱壁：限制并发调用数，超出时在有界队列中短暂等待
+ *
+ * 许可以CompletableFuture的形式发放，异步调用排队时不占用线程；
+ * 同步调用在自己的线程上等待许可，并在自己的线程上执行调用。
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final int maxQueueSize;
+    private final long maxWaitMillis;
+
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int activeCalls;
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrentCalls, int maxQueueSize, long maxWaitMillis) {
+        if (maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("maxConcurrentCalls必须大于0: " + name);
+        }
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxQueueSize = Math.max(0, maxQueueSize);
+        this.maxWaitMillis = Math.max(0, maxWaitMillis);
+    }
+
+    /**
+     * 在舱壁内执行调用，调用完成后归还许可
+     *
+     * @param call 实际调用
+     * @param blocking true时在当前线程等待许可并执行调用
+     * @return 调用结果的Future；舱壁已满时以BulkheadFullException失败
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call, boolean blocking) {
+        CompletableFuture<Void> permit = acquire();
+        if (blocking) {
+            try {
+                permit.join();
+            } catch (CompletionException e) {
+                return CompletableFuture.failedFuture(e.getCause());
+            }
+            return callWithPermit(call);
+        }
+        return permit.thenCompose(ignored -> callWithPermit(call));
+    }
+
+    private <T> CompletableFuture<T> callWithPermit(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            release();
+            return CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((value, error) -> release());
+        return result;
+    }
+
+    /**
+     * 获取许可：有空闲许可时立即完成，否则进入等待队列，队列已满或等待超时时失败
+     */
+    CompletableFuture<Void> acquire() {
+        CompletableFuture<Void> waiter;
+        synchronized (this) {
+            if (activeCalls < maxConcurrentCalls) {
+                activeCalls++;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (waiters.size() >= maxQueueSize || maxWaitMillis == 0) {
+                rejectedCount.increment();
+                return CompletableFuture.failedFuture(rejection());
+            }
+            waiter = new CompletableFuture<>();
+            waiters.addLast(waiter);
+        }
+
+        CompletableFuture.delayedExecutor(maxWaitMillis, TimeUnit.MILLISECONDS).execute(() -> {
+            boolean timedOut;
+            synchronized (this) {
+                // 仍在队列中说明未获得许可；已被release取出的等待者不再处理
+                timedOut = waiters.remove(waiter);
+            }
+            if (timedOut) {
+                rejectedCount.increment();
+                waiter.completeExceptionally(rejection());
+            }
+        });
+        return waiter;
+    }
+
+    /**
+     * 归还许可：优先直接转交给排队中的调用
+     */
+    void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiters.pollFirst();
+                if (next == null) {
+                    activeCalls--;
+                    return;
+                }
+            }
+            // 等待者可能已被取消，此时继续转交给下一个
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    private BulkheadFullException rejection() {
+        return new BulkheadFullException(name, String.format("操作 %s 并发已满（进行中: %d, 排队: %d）",
+                name, getActiveCalls(), getQueuedCalls()));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getActiveCalls() {
+        return activeCalls;
+    }
+
+    public synchronized int getQueuedCalls() {
+        return waiters.size();
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * 获取舱壁统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("active", getActiveCalls());
+        stats.put("queued", getQueuedCalls());
+        stats.put("maxConcurrentCalls", maxConcurrentCalls);
+        stats.put("maxQueueSize", maxQueueSize);
+        stats.put("maxWaitMillis", maxWaitMillis);
+        stats.put("rejected", getRejectedCount());
+        return stats;
+    }
+}
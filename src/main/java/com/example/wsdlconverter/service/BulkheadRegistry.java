@@ -0,0 +1,121 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.config.BulkheadProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按WSDL操作隔离的舱壁注册表
+ *
+ * 每个操作拥有独立的并发许可和等待队列，单个慢操作最多占用自己的许可，
+ * 不会耗尽所有Servlet线程和池化客户端
+ */
+@Service
+@Slf4j
+public class BulkheadRegistry {
+
+    @Autowired
+    private BulkheadProperties properties;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * 为WSDL解析出的操作创建舱壁（客户端重新初始化时保留已有操作的舱壁）
+     *
+     * @param operationNames 操作名列表（operationInfoMap的键）
+     */
+    public void configure(Collection<String> operationNames) {
+        if (!properties.isEnabled()) {
+            log.info("操作舱壁已禁用");
+            return;
+        }
+        for (String operationName : operationNames) {
+            bulkheads.computeIfAbsent(normalize(operationName), key -> createBulkhead(operationName));
+        }
+        log.info("已为 {} 个操作配置舱壁", bulkheads.size());
+    }
+
+    /**
+     * 获取操作的舱壁
+     *
+     * @return 未配置舱壁的操作返回null
+     */
+    public Bulkhead get(String operationName) {
+        return bulkheads.isEmpty() ? null : bulkheads.get(normalize(operationName));
+    }
+
+    /**
+     * 获取所有舱壁的统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        bulkheads.values().forEach(bulkhead -> stats.put(bulkhead.getName(), bulkhead.getStatistics()));
+        return stats;
+    }
+
+    private Bulkhead createBulkhead(String operationName) {
+        BulkheadProperties.OperationBulkhead override = findOverride(operationName);
+        int maxConcurrentCalls = Optional.ofNullable(override.getMaxConcurrentCalls())
+                .orElse(properties.getMaxConcurrentCalls());
+        int maxQueueSize = Optional.ofNullable(override.getMaxQueueSize())
+                .orElse(properties.getMaxQueueSize());
+        Duration maxWait = Optional.ofNullable(override.getMaxWait())
+                .orElse(properties.getMaxWait());
+
+        Bulkhead bulkhead = new Bulkhead(operationName, maxConcurrentCalls, maxQueueSize, maxWait.toMillis());
+        registerMetrics(bulkhead);
+        log.debug("创建操作舱壁: {} - 最大并发: {}, 最大排队: {}, 最长等待: {}",
+                operationName, maxConcurrentCalls, maxQueueSize, maxWait);
+        return bulkhead;
+    }
+
+    private BulkheadProperties.OperationBulkhead findOverride(String operationName) {
+        return properties.getOperations().entrySet().stream()
+                .filter(entry -> entry.getKey().equalsIgnoreCase(operationName))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseGet(BulkheadProperties.OperationBulkhead::new);
+    }
+
+    private void registerMetrics(Bulkhead bulkhead) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Gauge.builder("wsdl.bulkhead.active", bulkhead, Bulkhead::getActiveCalls)
+                .description("操作进行中的调用数")
+                .tag("operation", bulkhead.getName())
+                .register(meterRegistry);
+        Gauge.builder("wsdl.bulkhead.queued", bulkhead, Bulkhead::getQueuedCalls)
+                .description("操作排队等待的调用数")
+                .tag("operation", bulkhead.getName())
+                .register(meterRegistry);
+        Gauge.builder("wsdl.bulkhead.max", bulkhead, Bulkhead::getMaxConcurrentCalls)
+                .description("操作最大并发调用数")
+                .tag("operation", bulkhead.getName())
+                .register(meterRegistry);
+        FunctionCounter.builder("wsdl.bulkhead.rejected", bulkhead, Bulkhead::getRejectedCount)
+                .description("因舱壁已满被拒绝的调用数")
+                .tag("operation", bulkhead.getName())
+                .register(meterRegistry);
+    }
+
+    private static String normalize(String operationName) {
+        return operationName.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.config.CircuitBreakerProperties;
+import com.example.wsdlconverter.exception.CircuitBreakerOpenException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 单个操作的熔断器
+ *
+ * CLOSED：正常调用，记录最近N次调用的结果；失败率或慢调用率达到阈值时打开。
+ * OPEN：直接拒绝调用，不再等待连接/接收超时；持续一段时间后进入半开状态。
+ * HALF_OPEN：只放行少量探测调用，探测结果达标则关闭，否则重新打开。
+ *
+ * 每次状态变更时代数加一，许可记录发放时的代数；在之前的代数中发出的调用完成时不再计入，
+ * 避免打开前发出的慢调用被当作半开状态的探测结果。
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final int OUTCOME_FAILURE = 1;
+    private static final int OUTCOME_SLOW = 2;
+
+    /** tryAcquirePermission拒绝调用时的返回值 */
+    static final long NO_PERMISSION = -1;
+
+    private final String name;
+    private final CircuitBreakerProperties config;
+    private final LongSupplier nanoClock;
+    private final long slowCallNanos;
+    private final long openNanos;
+
+    // 滑动窗口（环形缓冲区），每个元素为OUTCOME_*的位组合
+    private final int[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int failureCount;
+    private int slowCount;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int halfOpenIssued;
+    private int halfOpenCompleted;
+
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder transitionCount = new LongAdder();
+
+    public CircuitBreaker(String name, CircuitBreakerProperties config) {
+        this(name, config, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, CircuitBreakerProperties config, LongSupplier nanoClock) {
+        this.name = name;
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.slowCallNanos = config.getSlowCallDuration().toNanos();
+        this.openNanos = config.getWaitDurationInOpenState().toNanos();
+        this.window = new int[Math.max(1, config.getSlidingWindowSize())];
+    }
+
+    /**
+     * 在熔断器保护下执行调用
+     *
+     * @return 调用结果的Future；熔断器打开时以CircuitBreakerOpenException失败
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        long permission = tryAcquirePermission();
+        if (permission == NO_PERMISSION) {
+            rejectedCount.increment();
+            return CompletableFuture.failedFuture(new CircuitBreakerOpenException(name,
+                    String.format("操作 %s 熔断器已打开，暂停调用后台服务", name)));
+        }
+
+        long start = nanoClock.getAsLong();
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            onComplete(permission, nanoClock.getAsLong() - start, e);
+            return CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((value, error) -> onComplete(permission, nanoClock.getAsLong() - start, error));
+        return result;
+    }
+
+    /**
+     * 判断是否允许调用（半开状态下占用一个探测名额）
+     *
+     * @return 发放许可时的状态代数，不允许调用时为NO_PERMISSION
+     */
+    synchronized long tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return NO_PERMISSION;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenIssued >= config.getPermittedCallsInHalfOpenState()) {
+                return NO_PERMISSION;
+            }
+            halfOpenIssued++;
+        }
+        return generation;
+    }
+
+    /**
+     * 记录调用结果
+     *
+     * @param permission 调用获得许可时的状态代数
+     * @param durationNanos 调用耗时
+     * @param error 调用异常，成功时为null
+     */
+    synchronized void onComplete(long permission, long durationNanos, Throwable error) {
+        if (permission != generation) {
+            // 许可是在之前的状态中发放的，结果不代表当前状态下的后台情况
+            return;
+        }
+        boolean failed = BackendFailures.isBackendFailure(error);
+        if (error != null && !failed) {
+            if (state == State.HALF_OPEN) {
+                // 不计入结果的调用归还探测名额（代数相同，名额一定是本次半开状态发放的）
+                halfOpenIssued--;
+            }
+            return;
+        }
+
+        int outcome = (failed ? OUTCOME_FAILURE : 0) | (durationNanos >= slowCallNanos ? OUTCOME_SLOW : 0);
+        if (state == State.HALF_OPEN) {
+            record(outcome);
+            halfOpenCompleted++;
+            if (halfOpenCompleted >= config.getPermittedCallsInHalfOpenState()) {
+                transitionTo(isThresholdExceeded() ? State.OPEN : State.CLOSED);
+            }
+        } else {
+            record(outcome);
+            if (windowCount >= config.getMinimumCalls() && isThresholdExceeded()) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    private void record(int outcome) {
+        if (windowCount == window.length) {
+            int evicted = window[windowIndex];
+            failureCount -= evicted & OUTCOME_FAILURE;
+            slowCount -= (evicted & OUTCOME_SLOW) >> 1;
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        failureCount += outcome & OUTCOME_FAILURE;
+        slowCount += (outcome & OUTCOME_SLOW) >> 1;
+    }
+
+    private boolean isThresholdExceeded() {
+        return getFailureRate() >= config.getFailureRateThreshold()
+                || getSlowCallRate() >= config.getSlowCallRateThreshold();
+    }
+
+    private void transitionTo(State newState) {
+        State oldState = state;
+        if (newState == State.OPEN) {
+            log.warn("熔断器打开: {} - 失败率: {}%, 慢调用率: {}%, {}秒后尝试探测",
+                    name, getFailureRate(), getSlowCallRate(), TimeUnit.NANOSECONDS.toSeconds(openNanos));
+            openedAt = nanoClock.getAsLong();
+        } else {
+            log.info("熔断器状态变更: {} - {} -> {}", name, oldState, newState);
+        }
+        if (newState != State.OPEN) {
+            // 半开和关闭状态都从空窗口开始统计
+            windowIndex = 0;
+            windowCount = 0;
+            failureCount = 0;
+            slowCount = 0;
+        }
+        state = newState;
+        generation++;
+        halfOpenIssued = 0;
+        halfOpenCompleted = 0;
+        transitionCount.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized float getFailureRate() {
+        return windowCount == 0 ? 0 : failureCount * 100f / windowCount;
+    }
+
+    public synchronized float getSlowCallRate() {
+        return windowCount == 0 ? 0 : slowCount * 100f / windowCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getTransitionCount() {
+        return transitionCount.sum();
+    }
+
+    /**
+     * 获取熔断器统计信息
+     */
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", state.name());
+        stats.put("bufferedCalls", windowCount);
+        stats.put("failureRate", getFailureRate());
+        stats.put("slowCallRate", getSlowCallRate());
+        stats.put("rejected", getRejectedCount());
+        return stats;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.config.CircuitBreakerProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按WSDL操作隔离的熔断器注册表
+ */
+@Service
+@Slf4j
+public class CircuitBreakerRegistry {
+
+    @Autowired
+    private CircuitBreakerProperties properties;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    /**
+     * 为WSDL解析出的操作创建熔断器（客户端重新初始化时保留已有操作的熔断器）
+     *
+     * @param operationNames 操作名列表（operationInfoMap的键）
+     */
+    public void configure(Collection<String> operationNames) {
+        if (!properties.isEnabled()) {
+            log.info("熔断器已禁用");
+            return;
+        }
+        for (String operationName : operationNames) {
+            circuitBreakers.computeIfAbsent(normalize(operationName), key -> createCircuitBreaker(operationName));
+        }
+        log.info("已为 {} 个操作配置熔断器", circuitBreakers.size());
+    }
+
+    /**
+     * 获取操作的熔断器
+     *
+     * @return 未配置熔断器的操作返回null
+     */
+    public CircuitBreaker get(String operationName) {
+        return circuitBreakers.isEmpty() ? null : circuitBreakers.get(normalize(operationName));
+    }
+
+    /**
+     * 获取各操作熔断器的状态
+     */
+    public Map<String, String> getStates() {
+        Map<String, String> states = new LinkedHashMap<>();
+        circuitBreakers.values().forEach(breaker -> states.put(breaker.getName(), breaker.getState().name()));
+        return states;
+    }
+
+    /**
+     * 是否有熔断器处于打开状态
+     */
+    public boolean isAnyOpen() {
+        return circuitBreakers.values().stream().anyMatch(breaker -> breaker.getState() == CircuitBreaker.State.OPEN);
+    }
+
+    /**
+     * 获取所有熔断器的统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        circuitBreakers.values().forEach(breaker -> stats.put(breaker.getName(), breaker.getStatistics()));
+        return stats;
+    }
+
+    private CircuitBreaker createCircuitBreaker(String operationName) {
+        CircuitBreaker breaker = new CircuitBreaker(operationName, properties);
+        registerMetrics(breaker);
+        return breaker;
+    }
+
+    private void registerMetrics(CircuitBreaker breaker) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Gauge.builder("wsdl.circuitbreaker.state", breaker, b -> b.getState().ordinal())
+                .description("熔断器状态（0: 关闭, 1: 打开, 2: 半开）")
+                .tag("operation", breaker.getName())
+                .register(meterRegistry);
+        Gauge.builder("wsdl.circuitbreaker.failure.rate", breaker, CircuitBreaker::getFailureRate)
+                .description("滑动窗口内的失败率（百分比）")
+                .tag("operation", breaker.getName())
+                .register(meterRegistry);
+        Gauge.builder("wsdl.circuitbreaker.slow.call.rate", breaker, CircuitBreaker::getSlowCallRate)
+                .description("滑动窗口内的慢调用率（百分比）")
+                .tag("operation", breaker.getName())
+                .register(meterRegistry);
+        FunctionCounter.builder("wsdl.circuitbreaker.rejected", breaker, CircuitBreaker::getRejectedCount)
+                .description("因熔断器打开被拒绝的调用数")
+                .tag("operation", breaker.getName())
+                .register(meterRegistry);
+    }
+
+    private static String normalize(String operationName) {
+        return operationName.toLowerCase(Locale.ROOT);
+    }
+}
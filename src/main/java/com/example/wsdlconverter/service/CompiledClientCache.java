@@ -0,0 +1,276 @@
+package com.example.wsdlconverter.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.cxf.Bus;
+import org.apache.cxf.endpoint.dynamic.DynamicClientFactory;
+import org.apache.cxf.jaxws.endpoint.dynamic.JaxWsDynamicClientFactory;
+import org.apache.cxf.version.Version;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 动态客户端编译结果的本地缓存
+ *
+ * JaxWsDynamicClientFactory每次创建客户端都要为整个WSDL生成并编译JAXB类，大型WSDL需要数十秒。
+ * 缓存按WSDL内容的SHA-256（连同CXF版本）分目录保存：
+ * classes/：编译生成的类文件，再次创建客户端时直接复制到CXF的编译输出目录，跳过javac编译；
+ * sources.txt：对应的源文件路径及内容的SHA-256，与本次XJC生成的源文件不一致时视为失效并重新编译。
+ * 缓存键只覆盖顶层WSDL，import/include的XSD和WSDL变化时由源文件内容的摘要发现。
+ * 写入先在临时目录完成再整体移动，多个实例共享缓存目录时不会读到写了一半的内容
+ */
+@Service
+@Slf4j
+public class CompiledClientCache {
+
+    private static final String FORMAT_VERSION = "2";
+    private static final String CLASSES_DIR = "classes";
+    private static final String SOURCES_FILE = "sources.txt";
+
+    @Value("${wsdl.client.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${wsdl.client.cache.dir:${java.io.tmpdir}/wsdl-converter/clients}")
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "wsdl-converter", "clients");
+
+    @Value("${wsdl.client.cache.max-entries:5}")
+    private int maxEntries = 5;
+
+    public CompiledClientCache() {
+    }
+
+    CompiledClientCache(Path directory) {
+        this.directory = directory;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 计算WSDL内容的缓存键（只读取顶层WSDL，引用的文档变化由生成源文件的摘要核对）
+     *
+     * @param wsdlSource WSDL文件路径或URL
+     * @return 缓存键，未启用或读取失败时为null
+     */
+    public String computeKey(String wsdlSource) {
+        if (!enabled || wsdlSource == null) {
+            return null;
+        }
+        try (InputStream in = wsdlSource.startsWith("http")
+                ? new URL(wsdlSource).openStream() : Files.newInputStream(Path.of(wsdlSource))) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((FORMAT_VERSION + '|' + Version.getCurrentVersion() + '|').getBytes(StandardCharsets.UTF_8));
+            try (DigestInputStream digestIn = new DigestInputStream(in, digest)) {
+                digestIn.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.warn("读取WSDL计算缓存键失败，不使用客户端缓存: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 创建动态客户端工厂（key为null时不使用缓存）
+     */
+    public DynamicClientFactory createClientFactory(Bus bus, String key) {
+        return key != null ? new CachingClientFactory(bus, this, key) : JaxWsDynamicClientFactory.newInstance(bus);
+    }
+
+    /**
+     * 缓存的类文件与本次生成的源文件一致时复制到编译输出目录
+     *
+     * @param sources 本次生成的源文件及内容摘要（见{@link #describeSources}）
+     * @return 是否命中
+     */
+    boolean restoreClasses(String key, List<String> sources, Path dest) {
+        Path entry = directory.resolve(key);
+        Path classes = entry.resolve(CLASSES_DIR);
+        try {
+            Path sourcesFile = entry.resolve(SOURCES_FILE);
+            if (!Files.isDirectory(classes) || !Files.isRegularFile(sourcesFile)
+                    || !Files.readAllLines(sourcesFile, StandardCharsets.UTF_8).equals(sources)) {
+                return false;
+            }
+            copyTree(classes, dest);
+            // 更新修改时间，清理时保留最近使用的缓存
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (IOException e) {
+            log.warn("读取缓存的客户端类失败，重新编译: {} - {}", entry, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 保存编译生成的类文件（整体替换该键下已有的类文件）
+     */
+    void storeClasses(String key, List<String> sources, Path compiled) {
+        Path entry = directory.resolve(key);
+        Path tmp = null;
+        try {
+            Files.createDirectories(entry);
+            tmp = Files.createTempDirectory(entry, CLASSES_DIR + ".tmp");
+            copyTree(compiled, tmp.resolve(CLASSES_DIR));
+            Files.write(tmp.resolve(SOURCES_FILE), sources, StandardCharsets.UTF_8);
+
+            deleteTree(entry.resolve(SOURCES_FILE));
+            deleteTree(entry.resolve(CLASSES_DIR));
+            Files.move(tmp.resolve(CLASSES_DIR), entry.resolve(CLASSES_DIR), StandardCopyOption.ATOMIC_MOVE);
+            // 源文件列表最后写入，作为类文件完整的标记
+            Files.move(tmp.resolve(SOURCES_FILE), entry.resolve(SOURCES_FILE), StandardCopyOption.ATOMIC_MOVE);
+            log.info("已缓存编译生成的客户端类: {}", entry);
+            evictOldEntries(key);
+        } catch (IOException e) {
+            log.warn("保存客户端类缓存失败: {} - {}", entry, e.getMessage());
+        } finally {
+            if (tmp != null) {
+                try {
+                    deleteTree(tmp);
+                } catch (IOException e) {
+                    log.debug("删除临时目录失败: {}", tmp);
+                }
+            }
+        }
+    }
+
+    /**
+     * 只保留最近使用的max-entries个缓存
+     */
+    private void evictOldEntries(String currentKey) throws IOException {
+        List<Path> entries;
+        try (Stream<Path> stream = Files.list(directory)) {
+            entries = stream.filter(Files::isDirectory)
+                    .filter(path -> !path.getFileName().toString().equals(currentKey))
+                    .sorted(Comparator.comparing(CompiledClientCache::lastModified).reversed())
+                    .collect(Collectors.toList());
+        }
+        for (int i = Math.max(0, maxEntries - 1); i < entries.size(); i++) {
+            log.info("清理旧的客户端缓存: {}", entries.get(i));
+            deleteTree(entries.get(i));
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void copyTree(Path source, Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.copy(file, target.resolve(source.relativize(file).toString()), StandardCopyOption.REPLACE_EXISTING);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void deleteTree(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(path)) {
+            for (Path p : stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    /**
+     * 编译前先查缓存的动态客户端工厂（XJC仍会生成源文件，用于核对缓存的类文件）
+     */
+    private static class CachingClientFactory extends JaxWsDynamicClientFactory {
+        private final CompiledClientCache cache;
+        private final String key;
+
+        CachingClientFactory(Bus bus, CompiledClientCache cache, String key) {
+            super(bus);
+            this.cache = cache;
+            this.key = key;
+        }
+
+        @Override
+        protected boolean compileJavaSrc(String classPath, List<File> srcList, String dest) {
+            List<String> sources;
+            try {
+                sources = describeSources(srcList);
+            } catch (IOException e) {
+                log.warn("读取生成的源文件失败，不使用客户端缓存: {}", e.getMessage());
+                return super.compileJavaSrc(classPath, srcList, dest);
+            }
+            if (cache.restoreClasses(key, sources, Path.of(dest))) {
+                log.info("使用缓存的客户端类，跳过编译 {} 个源文件", sources.size());
+                return true;
+            }
+            if (!super.compileJavaSrc(classPath, srcList, dest)) {
+                return false;
+            }
+            cache.storeClasses(key, sources, Path.of(dest));
+            return true;
+        }
+
+    }
+
+    /**
+     * 源文件相对于生成目录（*-src，目录名每次不同）的路径及内容的SHA-256，按路径排序
+     *
+     * 生成的源文件反映了WSDL及其引用的全部XSD，内容不变时编译结果也不变
+     */
+    static List<String> describeSources(List<File> srcList) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        List<String> sources = new ArrayList<>(srcList.size());
+        for (File file : srcList) {
+            digest.update(Files.readAllBytes(file.toPath()));
+            sources.add(relativeName(file) + ' ' + HexFormat.of().formatHex(digest.digest()));
+        }
+        Collections.sort(sources);
+        return sources;
+    }
+
+    private static String relativeName(File file) {
+        StringBuilder name = new StringBuilder(file.getName());
+        for (File dir = file.getParentFile(); dir != null && !dir.getName().endsWith("-src"); dir = dir.getParentFile()) {
+            name.insert(0, dir.getName() + '/');
+        }
+        return name.toString();
+    }
+}
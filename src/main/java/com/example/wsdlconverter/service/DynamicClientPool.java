@@ -0,0 +1,296 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.exception.ClientPoolClosedException;
+import com.example.wsdlconverter.exception.ClientPoolExhaustedException;
+import com.example.wsdlconverter.exception.WsdlServiceException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.cxf.endpoint.Client;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * CXF动态客户端池
+ *
+ * 池中的每个客户端都已完成拦截器和安全配置，借出期间只被一个线程使用（线程封闭），
+ * 因此可以安全地修改其请求上下文。池容量在最小值和最大值之间按需伸缩：
+ * 没有空闲客户端时扩容，超过空闲超时的多余客户端在归还时被回收。
+ * 关闭后正在等待的借用者立即被唤醒并收到ClientPoolClosedException，不必等到借用超时。
+ */
+@Slf4j
+public class DynamicClientPool {
+
+    private final Supplier<Client> clientFactory;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+
+    // 后进先出：最近归还的客户端优先借出，使多余的客户端自然空闲并被回收
+    private final LinkedBlockingDeque<PooledClient> idleClients = new LinkedBlockingDeque<>();
+    // 关闭标记：关闭时放入空闲队列，唤醒所有等待中的借用者
+    private final PooledClient closedMarker = new PooledClient(null, this);
+    private final AtomicInteger totalCount = new AtomicInteger();
+    private final AtomicInteger borrowedCount = new AtomicInteger();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final AtomicLong lastTrimTime = new AtomicLong(System.currentTimeMillis());
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder destroyedCount = new LongAdder();
+    private final LongAdder borrowTimeoutCount = new LongAdder();
+
+    private volatile boolean closed;
+
+    /**
+     * @param clientFactory 创建已完成配置的客户端
+     * @param minSize 最小客户端数量（初始化时预先创建）
+     * @param maxSize 最大客户端数量
+     * @param borrowTimeoutMillis 池耗尽时借用的最长等待时间（毫秒）
+     * @param idleTimeoutMillis 超过最小数量的客户端的空闲回收时间（毫秒）
+     */
+    public DynamicClientPool(Supplier<Client> clientFactory, int minSize, int maxSize,
+                             long borrowTimeoutMillis, long idleTimeoutMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("客户端池最大容量必须大于0: " + maxSize);
+        }
+        this.clientFactory = clientFactory;
+        this.maxSize = maxSize;
+        this.minSize = Math.max(0, Math.min(minSize, maxSize));
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * 预先创建最小数量的客户端
+     */
+    public void prefill() {
+        while (totalCount.get() < minSize) {
+            PooledClient pooled = tryCreate();
+            if (pooled == null) {
+                break;
+            }
+            idleClients.offerLast(pooled);
+        }
+        log.info("客户端池初始化完成 - 当前: {}, 最小: {}, 最大: {}", totalCount.get(), minSize, maxSize);
+    }
+
+    /**
+     * 借用客户端，使用完毕后必须调用 {@link #release(PooledClient)} 归还
+     *
+     * @param operationName 要调用的操作（用于池耗尽时的异常）
+     * @throws ClientPoolExhaustedException 池已耗尽且等待超时
+     * @throws ClientPoolClosedException 池已关闭（包括等待期间被关闭）
+     */
+    public PooledClient borrow(String operationName) {
+        if (closed) {
+            throw new ClientPoolClosedException("客户端池已关闭");
+        }
+
+        PooledClient pooled = idleClients.pollFirst();
+        if (pooled == closedMarker) {
+            throw onClosedMarker();
+        }
+        if (pooled == null) {
+            pooled = tryCreate();
+        }
+        if (pooled == null) {
+            pooled = awaitIdleClient(operationName);
+        }
+
+        borrowedCount.incrementAndGet();
+        return pooled;
+    }
+
+    /**
+     * 归还客户端（归还到借出它的客户端池）
+     */
+    public void release(PooledClient pooled) {
+        if (pooled == null) {
+            return;
+        }
+        if (pooled.owner != this) {
+            pooled.owner.release(pooled);
+            return;
+        }
+        borrowedCount.decrementAndGet();
+
+        if (closed) {
+            destroy(pooled);
+            return;
+        }
+
+        pooled.lastUsedTime = System.currentTimeMillis();
+        idleClients.offerFirst(pooled);
+        trimIdleClients(pooled.lastUsedTime);
+    }
+
+    /**
+     * 关闭客户端池，空闲客户端立即销毁，借出中的客户端在归还时销毁，等待中的借用者立即失败
+     */
+    public void close() {
+        closed = true;
+        PooledClient pooled;
+        while ((pooled = idleClients.pollFirst()) != null) {
+            if (pooled != closedMarker) {
+                destroy(pooled);
+            }
+        }
+        idleClients.offerLast(closedMarker);
+        log.info("客户端池已关闭");
+    }
+
+    /**
+     * 取到关闭标记：放回队列唤醒下一个等待者
+     */
+    private ClientPoolClosedException onClosedMarker() {
+        idleClients.offerFirst(closedMarker);
+        return new ClientPoolClosedException("客户端池已关闭");
+    }
+
+    private PooledClient awaitIdleClient(String operationName) {
+        waitingCount.incrementAndGet();
+        try {
+            PooledClient pooled = idleClients.pollFirst(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (pooled == closedMarker) {
+                throw onClosedMarker();
+            }
+            if (pooled == null) {
+                borrowTimeoutCount.increment();
+                throw new ClientPoolExhaustedException(operationName,
+                        "客户端池已耗尽，等待超时: " + borrowTimeoutMillis + "ms");
+            }
+            return pooled;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WsdlServiceException("等待客户端时被中断", e);
+        } finally {
+            waitingCount.decrementAndGet();
+        }
+    }
+
+    private PooledClient tryCreate() {
+        int current;
+        do {
+            current = totalCount.get();
+            if (current >= maxSize) {
+                return null;
+            }
+        } while (!totalCount.compareAndSet(current, current + 1));
+
+        try {
+            Client client = clientFactory.get();
+            createdCount.increment();
+            log.debug("客户端池扩容，当前客户端数量: {}", current + 1);
+            return new PooledClient(client, this);
+        } catch (RuntimeException e) {
+            totalCount.decrementAndGet();
+            throw new WsdlServiceException("创建池化客户端失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 回收空闲超时的多余客户端（最多每半个空闲周期执行一次）
+     */
+    private void trimIdleClients(long now) {
+        long lastTrim = lastTrimTime.get();
+        if (now - lastTrim < idleTimeoutMillis / 2 || !lastTrimTime.compareAndSet(lastTrim, now)) {
+            return;
+        }
+
+        while (totalCount.get() > minSize) {
+            PooledClient eldest = idleClients.peekLast();
+            if (eldest == null || eldest == closedMarker || now - eldest.lastUsedTime < idleTimeoutMillis) {
+                break;
+            }
+            if (idleClients.removeLastOccurrence(eldest)) {
+                destroy(eldest);
+            }
+        }
+    }
+
+    private void destroy(PooledClient pooled) {
+        totalCount.decrementAndGet();
+        destroyedCount.increment();
+        try {
+            pooled.client.destroy();
+        } catch (Exception e) {
+            log.debug("销毁池化客户端失败: {}", e.getMessage());
+        }
+    }
+
+    public int getTotalCount() {
+        return totalCount.get();
+    }
+
+    public int getBorrowedCount() {
+        return borrowedCount.get();
+    }
+
+    public int getIdleCount() {
+        return closed ? 0 : idleClients.size();
+    }
+
+    public int getWaitingCount() {
+        return waitingCount.get();
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getBorrowTimeoutCount() {
+        return borrowTimeoutCount.sum();
+    }
+
+    /**
+     * 池利用率（借出数量 / 最大容量）
+     */
+    public double getUtilization() {
+        return (double) borrowedCount.get() / maxSize;
+    }
+
+    /**
+     * 获取池统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("total", getTotalCount());
+        stats.put("borrowed", getBorrowedCount());
+        stats.put("idle", getIdleCount());
+        stats.put("waiting", getWaitingCount());
+        stats.put("minSize", minSize);
+        stats.put("maxSize", maxSize);
+        stats.put("utilization", getUtilization());
+        stats.put("created", createdCount.sum());
+        stats.put("destroyed", destroyedCount.sum());
+        stats.put("borrowTimeouts", getBorrowTimeoutCount());
+        return stats;
+    }
+
+    /**
+     * 池化客户端
+     */
+    public static final class PooledClient {
+        private final Client client;
+        private final DynamicClientPool owner;
+        private volatile long lastUsedTime = System.currentTimeMillis();
+
+        private PooledClient(Client client, DynamicClientPool owner) {
+            this.client = client;
+            this.owner = owner;
+        }
+
+        public Client getClient() {
+            return client;
+        }
+    }
+}
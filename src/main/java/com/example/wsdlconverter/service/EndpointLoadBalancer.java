@@ -0,0 +1,177 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.config.LoadBalancerProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * 后台服务实例的负载均衡器
+ *
+ * 使用"二选一"（power of two choices）策略：随机取两个可用实例，选择
+ * EWMA延迟 × (进行中的请求数 + 1) 较小的一个。连续失败的实例被暂时摘除，
+ * 到期后重新加入并观察，恢复后回到正常状态。所有实例都被摘除时仍选择最早到期的实例，
+ * 避免全部拒绝。
+ */
+@Service
+@Slf4j
+public class EndpointLoadBalancer {
+
+    @Autowired
+    private LoadBalancerProperties properties;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final LongSupplier nanoClock;
+    private List<BackendEndpoint> endpoints = List.of();
+    private long decayNanos;
+    private long baseEjectionNanos;
+    private long maxEjectionNanos;
+
+    public EndpointLoadBalancer() {
+        this(System::nanoTime);
+    }
+
+    EndpointLoadBalancer(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    @PostConstruct
+    public void init() {
+        decayNanos = Math.max(1, properties.getDecayTime().toNanos());
+        baseEjectionNanos = properties.getBaseEjectionTime().toNanos();
+        maxEjectionNanos = properties.getMaxEjectionTime().toNanos();
+        endpoints = properties.getEndpoints().stream()
+                .map(String::trim)
+                .filter(address -> !address.isEmpty())
+                .distinct()
+                .map(BackendEndpoint::new)
+                .collect(Collectors.toUnmodifiableList());
+
+        if (endpoints.isEmpty()) {
+            log.info("未配置多个后台服务实例，使用WSDL中的服务地址");
+            return;
+        }
+        endpoints.forEach(this::registerMetrics);
+        log.info("启用后台服务负载均衡，实例: {}",
+                endpoints.stream().map(BackendEndpoint::getAddress).collect(Collectors.toList()));
+    }
+
+    /**
+     * 是否配置了后台服务实例
+     */
+    public boolean isEnabled() {
+        return !endpoints.isEmpty();
+    }
+
+    /**
+     * 选择一个实例，并将其计入进行中的请求
+     */
+    public BackendEndpoint choose() {
+        BackendEndpoint chosen = select(nanoClock.getAsLong());
+        chosen.onStart();
+        return chosen;
+    }
+
+    private BackendEndpoint select(long now) {
+        int size = endpoints.size();
+        if (size == 1) {
+            return endpoints.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        BackendEndpoint a = endpoints.get(first);
+        BackendEndpoint b = endpoints.get(second);
+        boolean aAvailable = a.isAvailable(now);
+        boolean bAvailable = b.isAvailable(now);
+        if (aAvailable && bAvailable) {
+            return a.cost() <= b.cost() ? a : b;
+        }
+        if (aAvailable) {
+            return a;
+        }
+        if (bAvailable) {
+            return b;
+        }
+
+        // 两个候选均被摘除：从其余实例中找一个可用的，全部摘除时选择最早到期的
+        BackendEndpoint earliest = a;
+        for (int i = 0; i < size; i++) {
+            BackendEndpoint candidate = endpoints.get((first + i) % size);
+            if (candidate.isAvailable(now)) {
+                return candidate;
+            }
+            if (candidate.getEjectedUntil() - earliest.getEjectedUntil() < 0) {
+                earliest = candidate;
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * 记录调用结果
+     *
+     * @param endpoint 调用的实例
+     * @param startNanos 调用开始时间（System.nanoTime）
+     * @param error 调用异常，成功时为null
+     */
+    public void onComplete(BackendEndpoint endpoint, long startNanos, Throwable error) {
+        long now = nanoClock.getAsLong();
+        endpoint.observe(now - startNanos, now, decayNanos);
+
+        if (BackendFailures.isBackendFailure(error)) {
+            long ejectionNanos = endpoint.onFailure(now, properties.getConsecutiveFailures(),
+                    baseEjectionNanos, maxEjectionNanos);
+            if (ejectionNanos > 0) {
+                log.warn("摘除后台服务实例: {}, {}秒后重新加入, 最近错误: {}", endpoint.getAddress(),
+                        TimeUnit.NANOSECONDS.toSeconds(ejectionNanos), InvocationDispatcher.unwrap(error).getMessage());
+            }
+        } else if (endpoint.onSuccess(now)) {
+            log.info("后台服务实例已恢复: {}", endpoint.getAddress());
+        }
+    }
+
+    /**
+     * 获取各实例的统计信息
+     */
+    public List<Map<String, Object>> getStatistics() {
+        long now = nanoClock.getAsLong();
+        return endpoints.stream()
+                .map(endpoint -> endpoint.getStatistics(now))
+                .collect(Collectors.toList());
+    }
+
+    private void registerMetrics(BackendEndpoint endpoint) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Gauge.builder("wsdl.endpoint.latency.ewma", endpoint, BackendEndpoint::getEwmaMillis)
+                .description("后台服务实例的EWMA延迟（毫秒）")
+                .tag("endpoint", endpoint.getAddress())
+                .register(meterRegistry);
+        Gauge.builder("wsdl.endpoint.inflight", endpoint, BackendEndpoint::getInFlight)
+                .description("后台服务实例进行中的请求数")
+                .tag("endpoint", endpoint.getAddress())
+                .register(meterRegistry);
+        Gauge.builder("wsdl.endpoint.available", endpoint, e -> e.isAvailable(nanoClock.getAsLong()) ? 1 : 0)
+                .description("后台服务实例是否可用（1: 可用, 0: 已摘除）")
+                .tag("endpoint", endpoint.getAddress())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.wsdlconverter.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 一次客户端初始化中各步骤的耗时
+ *
+ * 步骤可以在多个线程中并行执行。耗时按完成顺序保存（毫秒），
+ * 配置了MeterRegistry时同时记录到wsdl.client.init（Timer，标签step）
+ */
+class InitializationTimings {
+
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final Map<String, Long> stepNanos = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    InitializationTimings(MeterRegistry meterRegistry) {
+        this(meterRegistry, System::nanoTime);
+    }
+
+    InitializationTimings(MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * 执行一个步骤并记录耗时（失败的步骤同样记录）
+     *
+     * @throws CompletionException 步骤抛出受检异常时包装后抛出
+     */
+    <T> T time(String step, Callable<T> task) {
+        long start = nanoClock.getAsLong();
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        } finally {
+            record(step, nanoClock.getAsLong() - start);
+        }
+    }
+
+    void run(String step, Runnable task) {
+        time(step, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    private void record(String step, long nanos) {
+        stepNanos.put(step, nanos);
+        if (meterRegistry != null) {
+            Timer.builder("wsdl.client.init")
+                    .description("WSDL客户端初始化各步骤耗时")
+                    .tag("step", step)
+                    .register(meterRegistry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 各步骤耗时（毫秒，按完成顺序），total为从创建到调用时的总耗时
+     */
+    Map<String, Long> toMillis() {
+        Map<String, Long> millis = new LinkedHashMap<>();
+        synchronized (stepNanos) {
+            stepNanos.forEach((step, nanos) -> millis.put(step, TimeUnit.NANOSECONDS.toMillis(nanos)));
+        }
+        millis.put("total", TimeUnit.NANOSECONDS.toMillis(nanoClock.getAsLong() - startNanos));
+        return millis;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.wsdlconverter.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * WSDL调用分发器
+ *
+ * 根据配置的调用模式（wsdl.invoke.mode）选择同步、异步或虚拟线程方式调用WSDL服务，
+ * 统一返回CompletableFuture，控制器据此释放Servlet线程
+ */
+@Service
+@Slf4j
+public class InvocationDispatcher {
+
+    /**
+     * 调用模式
+     */
+    public enum InvocationMode {
+        /** 在请求线程中同步调用 */
+        SYNC,
+        /** 使用CXF异步客户端API，非阻塞调用 */
+        ASYNC,
+        /** 在虚拟线程中以阻塞方式调用（需要Java 21+，否则回退到SYNC） */
+        VIRTUAL
+    }
+
+    @Autowired
+    private WsdlServiceAdapter wsdlServiceAdapter;
+
+    @Value("${wsdl.invoke.mode:sync}")
+    private String invokeMode;
+
+    private InvocationMode mode = InvocationMode.SYNC;
+    private ExecutorService virtualThreadExecutor;
+
+    @PostConstruct
+    public void init() {
+        mode = InvocationMode.valueOf(invokeMode.trim().toUpperCase(Locale.ROOT));
+        
+        if (mode == InvocationMode.VIRTUAL) {
+            virtualThreadExecutor = VirtualThreads.newVirtualThreadPerTaskExecutor().orElse(null);
+            if (virtualThreadExecutor == null) {
+                log.warn("wsdl.invoke.mode=virtual需要Java 21+，当前JVM（Java {}）不支持虚拟线程，"
+                        + "回退到同步调用模式，请求线程在调用期间一直被占用", Runtime.version().feature());
+                mode = InvocationMode.SYNC;
+            }
+        }
+        
+        log.info("WSDL调用模式: {}", mode);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+
+    /**
+     * 按当前调用模式调用WSDL服务方法
+     *
+     * @param methodName 方法名
+     * @param parameters 参数
+     * @return 调用结果的Future
+     */
+    public CompletableFuture<Object> dispatch(String methodName, Map<String, Object> parameters) {
+        if (mode == InvocationMode.ASYNC) {
+            return wsdlServiceAdapter.invokeMethodAsync(methodName, parameters);
+        }
+        
+        if (mode == InvocationMode.VIRTUAL) {
+            return invokeOnVirtualThread(() -> wsdlServiceAdapter.invokeMethod(methodName, parameters));
+        }
+
+        try {
+            return CompletableFuture.completedFuture(wsdlServiceAdapter.invokeMethod(methodName, parameters));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 按当前调用模式使用已绑定的参数调用WSDL服务方法
+     *
+     * @param methodName 方法名
+     * @param args 由{@link WsdlServiceAdapter#readMethodArguments}绑定的参数
+     * @param timeline 本次调用的分阶段耗时记录
+     * @return 调用结果的Future
+     */
+    public CompletableFuture<Object> dispatchArguments(String methodName, Object[] args,
+                                                       InvocationTimeline timeline) {
+        if (mode == InvocationMode.ASYNC) {
+            return wsdlServiceAdapter.invokeWithArgumentsAsync(methodName, args, timeline);
+        }
+        
+        if (mode == InvocationMode.VIRTUAL) {
+            return invokeOnVirtualThread(() -> wsdlServiceAdapter.invokeWithArguments(methodName, args, timeline));
+        }
+
+        try {
+            return CompletableFuture.completedFuture(
+                    wsdlServiceAdapter.invokeWithArguments(methodName, args, timeline));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 在虚拟线程中执行同步调用
+     * 
+     * 整个调用（包括借用客户端和等待响应）在虚拟线程中以阻塞方式完成，不再经过异步HTTP传输。
+     * 同步调用使用HttpURLConnection传输（见WsdlServiceAdapter），等待网络I/O时虚拟线程让出载体线程
+     */
+    private CompletableFuture<Object> invokeOnVirtualThread(Callable<Object> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, virtualThreadExecutor);
+    }
+
+    public InvocationMode getMode() {
+        return mode;
+    }
+
+    /**
+     * 解开CompletableFuture包装的异常，返回实际原因
+     */
+    public static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
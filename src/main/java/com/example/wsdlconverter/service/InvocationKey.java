@@ -0,0 +1,70 @@
+package com.example.wsdlconverter.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.util.Locale;
+
+/**
+ * WSDL调用键：操作名 + 规范化参数的JSON
+ *
+ * 参数已按调用计划绑定（见InvocationPlan），参数名大小写、命名空间前缀和类型差异已被消除。
+ * 复杂类型参数是生成的JAXB对象，没有equals/hashCode，因此按序列化后的JSON比较，
+ * 语义相同的请求得到相同的键。操作名比较时不区分大小写
+ */
+final class InvocationKey {
+
+    private final String operationName;
+    private final String normalizedOperation;
+    private final String arguments;
+    private final int hash;
+
+    /**
+     * @param operationName 操作名（同时用作指标标签）
+     * @param arguments 参数的规范JSON
+     */
+    InvocationKey(String operationName, String arguments) {
+        this.operationName = operationName;
+        this.normalizedOperation = operationName.toLowerCase(Locale.ROOT);
+        this.arguments = arguments;
+        this.hash = 31 * normalizedOperation.hashCode() + arguments.hashCode();
+    }
+
+    /**
+     * 由规范化后的参数创建调用键
+     *
+     * @param writer 参数序列化使用的ObjectWriter（Map按键排序）
+     */
+    static InvocationKey of(String operationName, Object[] arguments, ObjectWriter writer)
+            throws JsonProcessingException {
+        return new InvocationKey(operationName, writer.writeValueAsString(arguments != null ? arguments : new Object[0]));
+    }
+
+    String getOperationName() {
+        return operationName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InvocationKey)) {
+            return false;
+        }
+        InvocationKey other = (InvocationKey) o;
+        return hash == other.hash
+                && normalizedOperation.equals(other.normalizedOperation)
+                && arguments.equals(other.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return operationName + arguments;
+    }
+}
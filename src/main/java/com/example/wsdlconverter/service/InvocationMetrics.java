@@ -0,0 +1,115 @@
+package com.example.wsdlconverter.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.cxf.endpoint.Client;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分阶段的调用指标
+ *
+ * 发布到Actuator的metrics端点：
+ * wsdl.invoke.phase（Timer，标签operation、phase）：参数准备、序列化、安全头处理、网络等待、反序列化、JSON序列化各阶段耗时；
+ * wsdl.invoke.payload.size（DistributionSummary，标签operation、direction）：SOAP请求和响应的字节数。
+ * 报文字节数同时记录到InvocationStats（GET /api/wsdl/stats中的最大报文）
+ */
+@Service
+public class InvocationMetrics {
+
+    static final String DIRECTION_REQUEST = "request";
+    static final String DIRECTION_RESPONSE = "response";
+
+    // WSDL中不存在的操作名统一使用的标签值，避免任意请求路径产生无限多的指标
+    static final String UNKNOWN_OPERATION = "unknown";
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private InvocationStats invocationStats;
+
+    private final InvocationTimingInterceptors.Out outInterceptor = new InvocationTimingInterceptors.Out();
+    private final InvocationTimingInterceptors.MarshalEnd marshalEndInterceptor =
+            new InvocationTimingInterceptors.MarshalEnd();
+    private final InvocationTimingInterceptors.Send sendInterceptor = new InvocationTimingInterceptors.Send();
+    private final InvocationTimingInterceptors.In inInterceptor = new InvocationTimingInterceptors.In();
+    private final ConcurrentMap<String, Timer> phaseTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DistributionSummary> payloadSummaries = new ConcurrentHashMap<>();
+    // WSDL中的操作名，按与调用计划相同的规则查找：先精确匹配，再忽略大小写
+    private volatile Set<String> operations = Set.of();
+    private volatile Map<String, String> operationsIgnoreCase = Map.of();
+
+    /**
+     * 设置WSDL中的操作名（客户端初始化后调用）
+     */
+    public void configure(Collection<String> operationNames) {
+        Map<String, String> ignoreCase = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        operationNames.forEach(name -> ignoreCase.putIfAbsent(name, name));
+        operationsIgnoreCase = ignoreCase;
+        operations = Set.copyOf(operationNames);
+    }
+
+    /**
+     * 开始记录一次调用（操作名大小写不同时使用WSDL中的操作名作为标签）
+     */
+    public InvocationTimeline start(String methodName) {
+        return new InvocationTimeline(operationTag(methodName), this);
+    }
+
+    String operationTag(String methodName) {
+        Set<String> known = operations;
+        if (known.isEmpty() || known.contains(methodName)) {
+            return methodName;
+        }
+        return operationsIgnoreCase.getOrDefault(methodName, UNKNOWN_OPERATION);
+    }
+
+    /**
+     * 在客户端上安装阶段边界拦截器（没有关联InvocationTimeline的调用不做任何记录）
+     */
+    public void instrument(Client client) {
+        client.getOutInterceptors().add(outInterceptor);
+        client.getOutInterceptors().add(marshalEndInterceptor);
+        client.getOutInterceptors().add(sendInterceptor);
+        client.getInInterceptors().add(inInterceptor);
+    }
+
+    void recordPhase(String operation, InvocationTimeline.Phase phase, long nanos) {
+        if (meterRegistry == null) {
+            return;
+        }
+        phaseTimers.computeIfAbsent(operation + '|' + phase.getTag(), key -> Timer.builder("wsdl.invoke.phase")
+                        .description("WSDL调用各阶段耗时")
+                        .tag("operation", operation)
+                        .tag("phase", phase.getTag())
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordPayloadSize(String operation, String direction, long bytes) {
+        if (invocationStats != null) {
+            invocationStats.recordPayload(operation, direction, bytes);
+        }
+        if (meterRegistry == null) {
+            return;
+        }
+        payloadSummaries.computeIfAbsent(operation + '|' + direction,
+                        key -> DistributionSummary.builder("wsdl.invoke.payload.size")
+                                .description("SOAP报文字节数")
+                                .baseUnit("bytes")
+                                .tag("operation", operation)
+                                .tag("direction", direction)
+                                .register(meterRegistry))
+                .record(bytes);
+    }
+}
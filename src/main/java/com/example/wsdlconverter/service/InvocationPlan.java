@@ -0,0 +1,364 @@
+package com.example.wsdlconverter.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.xml.namespace.QName;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 单个WSDL操作编译后的调用计划（不可变）
+ *
+ * 初始化时根据操作的输入参数预先建立参数名索引并为每个参数位绑定类型转换器，
+ * 调用时只遍历一次请求参数即可直接组装有序参数数组。参数名匹配的优先级与原有规则一致：
+ * 精确匹配 > 不区分大小写匹配 > 去掉命名空间前缀后不区分大小写匹配，
+ * 同一优先级下取请求参数中先出现的一个。
+ *
+ * 请求体也可以由Jackson流式解析器直接绑定（{@link #bind(JsonParser)}），不经过中间的Map：
+ * 简单类型按参数位的转换器读取标量，复杂类型直接反序列化为动态客户端生成的JAXB类型。
+ */
+@Slf4j
+final class InvocationPlan {
+
+    static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private static final byte MATCH_EXACT = 0;
+    private static final byte MATCH_IGNORE_CASE = 1;
+    private static final byte MATCH_SIMPLE_NAME = 2;
+    private static final byte MATCH_NONE = 3;
+
+    private final String operationName;
+    private final String[] parameterNames;
+    private final SlotConverter[] converters;
+    private final Class<?>[] javaTypes;
+    private final Map<String, Integer> exactIndex;
+    private final Map<String, Integer> ignoreCaseIndex;
+    private final Map<String, Integer> simpleNameIndex;
+    private final boolean hasPrefixedNames;
+
+    private InvocationPlan(WsdlServiceAdapter.OperationInfo operationInfo) {
+        List<WsdlServiceAdapter.ParameterInfo> inputParameters = operationInfo.getInputParameters();
+        int size = inputParameters.size();
+
+        this.operationName = operationInfo.getOperationName();
+        this.parameterNames = new String[size];
+        this.converters = new SlotConverter[size];
+        this.javaTypes = new Class<?>[size];
+        this.exactIndex = new HashMap<>(size * 2);
+        this.ignoreCaseIndex = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.simpleNameIndex = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        boolean prefixed = false;
+        for (int slot = 0; slot < size; slot++) {
+            WsdlServiceAdapter.ParameterInfo parameter = inputParameters.get(slot);
+            String name = parameter.getName();
+            parameterNames[slot] = name;
+            converters[slot] = SlotConverter.forType(parameter.getType());
+            javaTypes[slot] = parameter.getJavaType();
+            // 同名参数以第一个为准，与逐个参数位查找的结果一致
+            exactIndex.putIfAbsent(name, slot);
+            ignoreCaseIndex.putIfAbsent(name, slot);
+            simpleNameIndex.putIfAbsent(simpleName(name), slot);
+            prefixed |= name.indexOf(':') >= 0;
+        }
+        this.hasPrefixedNames = prefixed;
+    }
+
+    /**
+     * 编译操作的调用计划
+     */
+    static InvocationPlan compile(WsdlServiceAdapter.OperationInfo operationInfo) {
+        return new InvocationPlan(operationInfo);
+    }
+
+    String getOperationName() {
+        return operationName;
+    }
+
+    int getParameterCount() {
+        return parameterNames.length;
+    }
+
+    /**
+     * 将请求参数绑定为有序参数数组
+     *
+     * @param parameters 请求参数（不能为空）
+     * @return 按WSDL参数顺序排列并完成类型转换的参数数组
+     */
+    Object[] bind(Map<String, Object> parameters) {
+        int size = parameterNames.length;
+        if (size == 0) {
+            return NO_ARGUMENTS;
+        }
+
+        Object[] args = new Object[size];
+        byte[] matches = new byte[size];
+        Arrays.fill(matches, MATCH_NONE);
+
+        for (Map.Entry<String, Object> entry : parameters.entrySet()) {
+            String key = entry.getKey();
+            if (key == null) {
+                continue;
+            }
+
+            int slot = resolveSlot(key, matches);
+            if (slot < 0) {
+                continue;
+            }
+            args[slot] = entry.getValue();
+        }
+
+        for (int slot = 0; slot < size; slot++) {
+            if (matches[slot] == MATCH_NONE) {
+                log.warn("缺少必需参数: {}", parameterNames[slot]);
+            } else if (args[slot] != null) {
+                args[slot] = converters[slot].convertSafely(args[slot]);
+            }
+        }
+        return args;
+    }
+
+    /**
+     * 从JSON对象直接绑定有序参数数组
+     *
+     * 解析器须位于请求体对象的START_OBJECT处，返回时位于对应的END_OBJECT处。
+     * 匹配不上或被更高优先级的同名参数覆盖的字段整体跳过，不创建任何对象
+     *
+     * @return 按WSDL参数顺序排列的参数数组；请求体为空对象时返回{@link #NO_ARGUMENTS}
+     */
+    Object[] bind(JsonParser parser) throws IOException {
+        int size = parameterNames.length;
+        if (size == 0) {
+            parser.skipChildren();
+            return NO_ARGUMENTS;
+        }
+
+        Object[] args = new Object[size];
+        byte[] matches = new byte[size];
+        Arrays.fill(matches, MATCH_NONE);
+
+        boolean empty = true;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            empty = false;
+            String key = parser.getCurrentName();
+            parser.nextToken();
+
+            int slot = resolveSlot(key, matches);
+            if (slot < 0) {
+                parser.skipChildren();
+                continue;
+            }
+            args[slot] = converters[slot].read(parser, javaTypes[slot]);
+        }
+        if (empty) {
+            // 与Map方式一致：没有任何请求参数时不传参数
+            return NO_ARGUMENTS;
+        }
+
+        for (int slot = 0; slot < size; slot++) {
+            if (matches[slot] == MATCH_NONE) {
+                log.warn("缺少必需参数: {}", parameterNames[slot]);
+            }
+        }
+        return args;
+    }
+
+    /**
+     * 没有调用计划的操作：按字段出现顺序读取参数值
+     */
+    static Object[] bindInOrder(JsonParser parser) throws IOException {
+        List<Object> values = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            values.add(SlotConverter.IDENTITY.read(parser, null));
+        }
+        return values.isEmpty() ? NO_ARGUMENTS : values.toArray();
+    }
+
+    /**
+     * 按匹配优先级确定参数名对应的参数位，并记录匹配级别
+     *
+     * @return 参数位；没有匹配或已有更高优先级的匹配时返回-1
+     */
+    private int resolveSlot(String key, byte[] matches) {
+        Integer slot = exactIndex.get(key);
+        byte match = MATCH_EXACT;
+        if (slot == null) {
+            slot = ignoreCaseIndex.get(key);
+            match = MATCH_IGNORE_CASE;
+        }
+        if (slot == null && (hasPrefixedNames || key.indexOf(':') >= 0)) {
+            slot = simpleNameIndex.get(simpleName(key));
+            match = MATCH_SIMPLE_NAME;
+        }
+        if (slot == null || match >= matches[slot]) {
+            return -1;
+        }
+        matches[slot] = match;
+        return slot;
+    }
+
+    private static String simpleName(String name) {
+        int index = name.lastIndexOf(':');
+        return index >= 0 ? name.substring(index + 1) : name;
+    }
+
+    /**
+     * 按WSDL参数类型绑定的转换器
+     */
+    enum SlotConverter {
+        STRING {
+            @Override
+            Object convert(Object value) {
+                return value.toString();
+            }
+        },
+        INT {
+            @Override
+            Object convert(Object value) {
+                return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString());
+            }
+        },
+        LONG {
+            @Override
+            Object convert(Object value) {
+                return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(value.toString());
+            }
+        },
+        DOUBLE {
+            @Override
+            Object convert(Object value) {
+                return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString());
+            }
+        },
+        FLOAT {
+            @Override
+            Object convert(Object value) {
+                return value instanceof Number ? ((Number) value).floatValue() : Float.parseFloat(value.toString());
+            }
+        },
+        BOOLEAN {
+            @Override
+            Object convert(Object value) {
+                return value instanceof Boolean ? value : Boolean.parseBoolean(value.toString());
+            }
+        },
+        /** 复杂类型或未知类型保持原值 */
+        IDENTITY {
+            @Override
+            Object convert(Object value) {
+                return value;
+            }
+        };
+
+        abstract Object convert(Object value);
+
+        /**
+         * 从解析器的当前值读取参数
+         *
+         * 标量按转换器转换；复杂类型已知JAXB类型时直接反序列化为该类型（使用解析器的ObjectCodec），
+         * 否则读取为Map/List，与Map方式的结果一致
+         */
+        Object read(JsonParser parser, Class<?> javaType) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (token.isScalarValue()) {
+                if (this == IDENTITY && javaType != null && !javaType.isPrimitive()) {
+                    // 日期、枚举、BigDecimal等没有专用转换器的简单类型
+                    return parser.readValueAs(javaType);
+                }
+                Object value = token == JsonToken.VALUE_STRING ? parser.getText() : parser.getNumberValue();
+                if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+                    value = parser.getBooleanValue();
+                }
+                return convertSafely(value);
+            }
+            if (javaType != null && !javaType.isPrimitive()) {
+                return parser.readValueAs(javaType);
+            }
+            Object value = parser.readValueAs(Object.class);
+            return this == IDENTITY ? value : convertSafely(value);
+        }
+
+        /**
+         * 转换失败时记录警告并保持原值
+         */
+        Object convertSafely(Object value) {
+            try {
+                return convert(value);
+            } catch (RuntimeException e) {
+                log.warn("类型转换失败，参数值: {}, 目标类型: {}, 错误: {}", value, this, e.getMessage());
+                return value;
+            }
+        }
+
+        static SlotConverter forType(QName type) {
+            if (type == null) {
+                return IDENTITY;
+            }
+            switch (type.getLocalPart().toLowerCase(Locale.ROOT)) {
+                case "string":
+                    return STRING;
+                case "int":
+                case "integer":
+                    return INT;
+                case "long":
+                    return LONG;
+                case "double":
+                    return DOUBLE;
+                case "float":
+                    return FLOAT;
+                case "boolean":
+                    return BOOLEAN;
+                default:
+                    return IDENTITY;
+            }
+        }
+    }
+
+    /**
+     * 按操作名查找调用计划：先精确匹配，再不区分大小写匹配
+     */
+    static final class Registry {
+
+        static final Registry EMPTY = new Registry(List.of());
+
+        // 保持操作的原有顺序，作为可用方法列表
+        private final Map<String, InvocationPlan> exact = new LinkedHashMap<>();
+        private final Map<String, InvocationPlan> ignoreCase = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        Registry(Collection<WsdlServiceAdapter.OperationInfo> operations) {
+            for (WsdlServiceAdapter.OperationInfo operation : operations) {
+                InvocationPlan plan = compile(operation);
+                exact.put(plan.getOperationName(), plan);
+                ignoreCase.putIfAbsent(plan.getOperationName(), plan);
+            }
+        }
+
+        InvocationPlan find(String operationName) {
+            InvocationPlan plan = exact.get(operationName);
+            return plan != null ? plan : ignoreCase.get(operationName);
+        }
+
+        int size() {
+            return exact.size();
+        }
+
+        Set<String> operationNames() {
+            return exact.keySet();
+        }
+    }
+}
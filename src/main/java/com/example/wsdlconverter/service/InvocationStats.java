@@ -0,0 +1,391 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.exception.CallRejectedException;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.WriterReaderPhaser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.zip.DataFormatException;
+
+/**
+ * 按操作统计的实时调用指标（GET /api/wsdl/stats）
+ *
+ * 每个操作在最近1分钟、5分钟、15分钟的滑动窗口内统计延迟百分位、吞吐量、失败率和最大的SOAP报文。
+ * 调用线程只写入当前采集区（由WriterReaderPhaser保护的ConcurrentHistogram和LongAdder），不加锁；
+ * 后台线程每个统计间隔切换一次采集区，把数据压缩保存为一个时间片，滑动窗口由最近的时间片合并得到。
+ * 查询时也会切换采集区（合并到尚未封存的时间片），因此结果包含刚完成的调用。
+ * 延迟以微秒记录，百分位精度约1%
+ */
+@Service
+@Slf4j
+public class InvocationStats {
+
+    static final String DIRECTION_REQUEST = InvocationMetrics.DIRECTION_REQUEST;
+    static final String DIRECTION_RESPONSE = InvocationMetrics.DIRECTION_RESPONSE;
+
+    private static final Duration[] WINDOWS = {Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(15)};
+    private static final String[] WINDOW_NAMES = {"1m", "5m", "15m"};
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    @Value("${wsdl.stats.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${wsdl.stats.interval:10s}")
+    private Duration interval = Duration.ofSeconds(10);
+
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final ConcurrentMap<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private ScheduledExecutorService rotator;
+
+    public InvocationStats() {
+        this(System::nanoTime);
+    }
+
+    InvocationStats(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("调用统计已禁用");
+            return;
+        }
+        long period = Math.max(1, interval.toMillis());
+        rotator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wsdl-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rotator.scheduleAtFixedRate(this::rotate, period, period, TimeUnit.MILLISECONDS);
+        log.info("启用调用统计，统计间隔: {}", interval);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (rotator != null) {
+            rotator.shutdown();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 记录一次调用的耗时和结果
+     *
+     * @param operation 操作名（已由InvocationMetrics规范化，未知操作统一为unknown）
+     * @param error 调用失败的原因，成功时为null；舱壁或熔断器拒绝的调用同时计入rejected
+     */
+    public void recordCall(String operation, long nanos, Throwable error) {
+        if (!enabled) {
+            return;
+        }
+        boolean rejected = error != null && InvocationDispatcher.unwrap(error) instanceof CallRejectedException;
+        operation(operation).record(toMicros(nanos), error != null, rejected);
+    }
+
+    /**
+     * 记录一个SOAP报文的字节数
+     *
+     * @param direction request或response
+     */
+    public void recordPayload(String operation, String direction, long bytes) {
+        if (!enabled) {
+            return;
+        }
+        operation(operation).recordPayload(DIRECTION_REQUEST.equals(direction), bytes);
+    }
+
+    /**
+     * 封存当前时间片并丢弃超出最长窗口的时间片（由后台线程按统计间隔调用）
+     */
+    void rotate() {
+        long now = nanoClock.getAsLong();
+        for (OperationStats stats : operations.values()) {
+            stats.seal(now);
+        }
+    }
+
+    /**
+     * 各操作在各滑动窗口内的统计
+     */
+    public Map<String, Object> getSnapshot() {
+        long now = nanoClock.getAsLong();
+        Map<String, Object> operationSnapshots = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (OperationStats stats : operations.values()) {
+            operationSnapshots.put(stats.name, stats.snapshot(now));
+        }
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("intervalSeconds", interval.toMillis() / 1000.0);
+        snapshot.put("uptimeSeconds", TimeUnit.NANOSECONDS.toSeconds(now - startNanos));
+        snapshot.put("operations", operationSnapshots);
+        return snapshot;
+    }
+
+    private OperationStats operation(String name) {
+        OperationStats stats = operations.get(name);
+        return stats != null ? stats : operations.computeIfAbsent(name, OperationStats::new);
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * 调用线程写入的采集区
+     */
+    private static final class Recording {
+
+        final ConcurrentHistogram latency = new ConcurrentHistogram(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        final LongAdder errors = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAccumulator maxRequestBytes = new LongAccumulator(Math::max, 0);
+        final LongAccumulator maxResponseBytes = new LongAccumulator(Math::max, 0);
+
+        void reset() {
+            latency.reset();
+            errors.reset();
+            rejected.reset();
+            maxRequestBytes.reset();
+            maxResponseBytes.reset();
+        }
+    }
+
+    /**
+     * 已封存的时间片，延迟分布以压缩形式保存
+     */
+    private static final class Slice {
+
+        final long endNanos;
+        final byte[] latency;
+        final long errors;
+        final long rejected;
+        final long maxRequestBytes;
+        final long maxResponseBytes;
+
+        Slice(long endNanos, byte[] latency, long errors, long rejected, long maxRequestBytes, long maxResponseBytes) {
+            this.endNanos = endNanos;
+            this.latency = latency;
+            this.errors = errors;
+            this.rejected = rejected;
+            this.maxRequestBytes = maxRequestBytes;
+            this.maxResponseBytes = maxResponseBytes;
+        }
+    }
+
+    /**
+     * 滑动窗口内的累计值
+     */
+    private static final class Totals {
+
+        final Histogram latency = new Histogram(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        long errors;
+        long rejected;
+        long maxRequestBytes;
+        long maxResponseBytes;
+
+        void add(long errors, long rejected, long maxRequestBytes, long maxResponseBytes) {
+            this.errors += errors;
+            this.rejected += rejected;
+            this.maxRequestBytes = Math.max(this.maxRequestBytes, maxRequestBytes);
+            this.maxResponseBytes = Math.max(this.maxResponseBytes, maxResponseBytes);
+        }
+
+        void reset() {
+            latency.reset();
+            errors = 0;
+            rejected = 0;
+            maxRequestBytes = 0;
+            maxResponseBytes = 0;
+        }
+    }
+
+    /**
+     * 一个操作的统计
+     *
+     * 写入方只进入phaser的写临界区；切换采集区、封存和查询都在readerLock下进行
+     */
+    private final class OperationStats {
+
+        private final String name;
+        private final WriterReaderPhaser phaser = new WriterReaderPhaser();
+        private volatile Recording active = new Recording();
+        private Recording inactive = new Recording();
+
+        // 以下字段只在readerLock下访问
+        private final Totals pending = new Totals();
+        private final ArrayDeque<Slice> slices = new ArrayDeque<>();
+        private long largestRequestBytes;
+        private long largestResponseBytes;
+
+        OperationStats(String name) {
+            this.name = name;
+        }
+
+        void record(long micros, boolean error, boolean rejected) {
+            long token = phaser.writerCriticalSectionEnter();
+            try {
+                Recording recording = active;
+                recording.latency.recordValue(micros);
+                if (error) {
+                    recording.errors.increment();
+                }
+                if (rejected) {
+                    recording.rejected.increment();
+                }
+            } finally {
+                phaser.writerCriticalSectionExit(token);
+            }
+        }
+
+        void recordPayload(boolean request, long bytes) {
+            long token = phaser.writerCriticalSectionEnter();
+            try {
+                Recording recording = active;
+                (request ? recording.maxRequestBytes : recording.maxResponseBytes).accumulate(bytes);
+            } finally {
+                phaser.writerCriticalSectionExit(token);
+            }
+        }
+
+        /**
+         * 切换采集区，把切换下来的数据合并到未封存的时间片（调用方持有readerLock）
+         */
+        private void drain() {
+            Recording drained = active;
+            active = inactive;
+            // 等待仍在写drained的调用线程离开临界区
+            phaser.flipPhase();
+            pending.latency.add(drained.latency);
+            pending.add(drained.errors.sum(), drained.rejected.sum(),
+                    drained.maxRequestBytes.get(), drained.maxResponseBytes.get());
+            drained.reset();
+            inactive = drained;
+        }
+
+        void seal(long now) {
+            phaser.readerLock();
+            try {
+                drain();
+                if (pending.latency.getTotalCount() > 0 || pending.maxRequestBytes > 0
+                        || pending.maxResponseBytes > 0) {
+                    slices.addLast(new Slice(now, encode(pending.latency), pending.errors, pending.rejected,
+                            pending.maxRequestBytes, pending.maxResponseBytes));
+                    largestRequestBytes = Math.max(largestRequestBytes, pending.maxRequestBytes);
+                    largestResponseBytes = Math.max(largestResponseBytes, pending.maxResponseBytes);
+                    pending.reset();
+                }
+                long oldest = now - WINDOWS[WINDOWS.length - 1].toNanos();
+                while (!slices.isEmpty() && slices.peekFirst().endNanos <= oldest) {
+                    slices.removeFirst();
+                }
+            } finally {
+                phaser.readerUnlock();
+            }
+        }
+
+        Map<String, Object> snapshot(long now) {
+            phaser.readerLock();
+            try {
+                drain();
+                Map<String, Object> snapshot = new LinkedHashMap<>();
+                snapshot.put("largestRequestBytes", Math.max(largestRequestBytes, pending.maxRequestBytes));
+                snapshot.put("largestResponseBytes", Math.max(largestResponseBytes, pending.maxResponseBytes));
+
+                // 窗口从短到长嵌套，从最新的时间片向前合并，经过每个窗口的边界时输出一次
+                Totals totals = new Totals();
+                totals.latency.add(pending.latency);
+                totals.add(pending.errors, pending.rejected, pending.maxRequestBytes, pending.maxResponseBytes);
+                Map<String, Object> windows = new LinkedHashMap<>();
+                Iterator<Slice> newestFirst = slices.descendingIterator();
+                Slice next = newestFirst.hasNext() ? newestFirst.next() : null;
+                for (int i = 0; i < WINDOWS.length; i++) {
+                    long windowStart = now - WINDOWS[i].toNanos();
+                    while (next != null && next.endNanos > windowStart) {
+                        totals.latency.add(decode(next.latency));
+                        totals.add(next.errors, next.rejected, next.maxRequestBytes, next.maxResponseBytes);
+                        next = newestFirst.hasNext() ? newestFirst.next() : null;
+                    }
+                    long covered = Math.min(WINDOWS[i].toNanos(), now - startNanos);
+                    windows.put(WINDOW_NAMES[i], toWindowSnapshot(totals, covered));
+                }
+                snapshot.put("windows", windows);
+                return snapshot;
+            } finally {
+                phaser.readerUnlock();
+            }
+        }
+    }
+
+    private static Map<String, Object> toWindowSnapshot(Totals totals, long coveredNanos) {
+        Histogram latency = totals.latency;
+        long calls = latency.getTotalCount();
+        double seconds = Math.max(1, coveredNanos) / 1e9;
+
+        Map<String, Object> window = new LinkedHashMap<>();
+        window.put("calls", calls);
+        window.put("errors", totals.errors);
+        window.put("rejected", totals.rejected);
+        window.put("errorRate", calls > 0 ? (double) totals.errors / calls : 0.0);
+        window.put("throughputPerSecond", calls / seconds);
+        if (calls > 0) {
+            Map<String, Object> percentiles = new LinkedHashMap<>();
+            percentiles.put("p50", toMillis(latency.getValueAtPercentile(50)));
+            percentiles.put("p90", toMillis(latency.getValueAtPercentile(90)));
+            percentiles.put("p99", toMillis(latency.getValueAtPercentile(99)));
+            percentiles.put("p999", toMillis(latency.getValueAtPercentile(99.9)));
+            percentiles.put("max", toMillis(latency.getMaxValue()));
+            window.put("latencyMs", percentiles);
+        }
+        window.put("maxRequestBytes", totals.maxRequestBytes);
+        window.put("maxResponseBytes", totals.maxResponseBytes);
+        return window;
+    }
+
+    private static byte[] encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Arrays.copyOf(buffer.array(), length);
+    }
+
+    private static Histogram decode(byte[] encoded) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded), HIGHEST_TRACKABLE_MICROS);
+        } catch (DataFormatException e) {
+            // 只解码本类编码的数据，不会发生
+            throw new IllegalStateException("时间片数据损坏", e);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.wsdlconverter.service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 一次WSDL调用的分阶段耗时
+ *
+ * 由控制器或适配器在调用开始时创建，随请求上下文传入CXF消息，
+ * 各阶段耗时由调用线程和CXF阶段边界拦截器（见InvocationTimingInterceptors）记录，
+ * 记录的同时发布到InvocationMetrics（未关联指标时只在本对象中累计）
+ */
+public final class InvocationTimeline {
+
+    /** 请求上下文/Exchange中保存本对象的键 */
+    public static final String KEY = InvocationTimeline.class.getName();
+
+    /** 响应缓存查询结果：命中、命中过期值（后台刷新）、未命中 */
+    public static final String CACHE_HIT = "hit";
+    public static final String CACHE_STALE = "stale";
+    public static final String CACHE_MISS = "miss";
+
+    /**
+     * 调用阶段
+     */
+    public enum Phase {
+        /** 读取请求体并绑定调用参数 */
+        PREPARE("prepare"),
+        /** 出站拦截器链开始到SOAP Body写完（JAXB/XML序列化） */
+        MARSHAL("marshal"),
+        /** SOAP Body写完到开始发送（PFS/WSS4J安全头处理和信封写出） */
+        SECURITY("security"),
+        /** 开始发送到收到响应（连接、传输和后台处理时间） */
+        NETWORK("network"),
+        /** 收到响应到调用返回（安全头校验和反序列化，流式调用时包括转换为JSON） */
+        UNMARSHAL("unmarshal"),
+        /** 调用结果序列化为JSON */
+        SERIALIZE("serialize");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    private final String operation;
+    private final InvocationMetrics metrics;
+    private final AtomicLongArray durations = new AtomicLongArray(Phase.values().length);
+    private final AtomicBoolean responseCompleted = new AtomicBoolean();
+    private final long startNanos = System.nanoTime();
+    private volatile String cacheStatus;
+    private volatile long responseBytes = -1;
+
+    // CXF阶段边界时间点（System.nanoTime()，0表示未到达）
+    private volatile long outStart;
+    private volatile long marshalEnd;
+    private volatile long sendStart;
+    private volatile long receiveStart;
+
+    InvocationTimeline(String operation, InvocationMetrics metrics) {
+        this.operation = operation;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 创建不发布指标的耗时记录
+     */
+    public static InvocationTimeline detached(String operation) {
+        return new InvocationTimeline(operation, null);
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * 记录一个阶段的耗时（同一阶段多次记录时累加）
+     */
+    public void record(Phase phase, long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        durations.addAndGet(phase.ordinal(), nanos);
+        if (metrics != null) {
+            metrics.recordPhase(operation, phase, nanos);
+        }
+    }
+
+    /**
+     * 记录从startNanos到现在的耗时
+     */
+    public void recordSince(Phase phase, long startNanos) {
+        record(phase, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 创建本对象到现在的时间（纳秒）
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * 阶段的累计耗时（纳秒），未记录时为0
+     */
+    public long getDuration(Phase phase) {
+        return durations.get(phase.ordinal());
+    }
+
+    /**
+     * 响应缓存查询结果，操作未启用缓存时为null
+     */
+    public String getCacheStatus() {
+        return cacheStatus;
+    }
+
+    void setCacheStatus(String cacheStatus) {
+        this.cacheStatus = cacheStatus;
+    }
+
+    /**
+     * SOAP响应报文的字节数，未经过阶段边界拦截器（或还没有收到响应）时为-1
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    /**
+     * 生成Server-Timing响应头的值，例如：
+     * prepare;dur=0.120, network;dur=12.400, serialize;dur=0.310, cache;desc=miss, total;dur=13.100
+     *
+     * 只包含已记录的阶段，耗时单位为毫秒；total为创建本对象到现在的时间
+     */
+    public String toServerTiming() {
+        long now = System.nanoTime();
+        StringBuilder header = new StringBuilder(160);
+        for (Phase phase : Phase.values()) {
+            long nanos = durations.get(phase.ordinal());
+            if (nanos > 0) {
+                appendMetric(header, phase.tag, nanos);
+            }
+        }
+        String cache = cacheStatus;
+        if (cache != null) {
+            header.append(header.length() > 0 ? ", " : "").append("cache;desc=").append(cache);
+        }
+        appendMetric(header, "total", now - startNanos);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        // 毫秒，保留三位小数（避免String.format的开销）
+        long micros = nanos / 1000;
+        long fraction = micros % 1000;
+        header.append(name).append(";dur=").append(micros / 1000).append('.');
+        if (fraction < 100) {
+            header.append('0');
+        }
+        if (fraction < 10) {
+            header.append('0');
+        }
+        header.append(fraction);
+    }
+
+    void recordRequestBytes(long bytes) {
+        if (metrics != null) {
+            metrics.recordPayloadSize(operation, InvocationMetrics.DIRECTION_REQUEST, bytes);
+        }
+    }
+
+    void recordResponseBytes(long bytes) {
+        responseBytes = bytes;
+        if (metrics != null) {
+            metrics.recordPayloadSize(operation, InvocationMetrics.DIRECTION_RESPONSE, bytes);
+        }
+    }
+
+    /**
+     * 出站拦截器链开始
+     */
+    void markOutStart() {
+        outStart = System.nanoTime();
+    }
+
+    /**
+     * SOAP Body已写完
+     */
+    void markMarshalEnd() {
+        long now = System.nanoTime();
+        if (outStart != 0) {
+            record(Phase.MARSHAL, now - outStart);
+        }
+        marshalEnd = now;
+    }
+
+    /**
+     * 请求即将发送
+     */
+    void markSendStart() {
+        long now = System.nanoTime();
+        if (marshalEnd != 0) {
+            record(Phase.SECURITY, now - marshalEnd);
+        }
+        sendStart = now;
+    }
+
+    /**
+     * 入站拦截器链开始（已收到响应）
+     */
+    void markReceiveStart() {
+        long now = System.nanoTime();
+        if (sendStart != 0) {
+            record(Phase.NETWORK, now - sendStart);
+        }
+        receiveStart = now;
+    }
+
+    /**
+     * 调用返回（包括失败和中止的入站拦截器链），只记录一次响应处理耗时
+     */
+    void markResponseComplete() {
+        long start = receiveStart;
+        if (start != 0 && responseCompleted.compareAndSet(false, true)) {
+            recordSince(Phase.UNMARSHAL, start);
+        }
+    }
+}
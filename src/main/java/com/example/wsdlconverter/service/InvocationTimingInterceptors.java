@@ -0,0 +1,213 @@
+package com.example.wsdlconverter.service;
+
+import org.apache.cxf.interceptor.MessageSenderInterceptor;
+import org.apache.cxf.interceptor.StaxOutInterceptor;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * 调用阶段边界拦截器：在出站/入站拦截器链的阶段边界记录时间点，并统计请求和响应的字节数
+ *
+ * InvocationTimeline由请求上下文复制到出站消息中，出站拦截器链开始时放到Exchange上供后续拦截器使用；
+ * 没有关联InvocationTimeline的调用（如SecureConversation的令牌请求）直接跳过
+ */
+final class InvocationTimingInterceptors {
+
+    private InvocationTimingInterceptors() {
+    }
+
+    private static InvocationTimeline timeline(Message message) {
+        Exchange exchange = message.getExchange();
+        return exchange != null ? exchange.get(InvocationTimeline.class) : null;
+    }
+
+    /**
+     * 出站拦截器链开始：关联InvocationTimeline并包装输出流统计请求字节数
+     */
+    static final class Out extends AbstractPhaseInterceptor<Message> {
+
+        Out() {
+            super(Phase.PRE_STREAM);
+            // 在XML写出器创建之前包装输出流
+            addBefore(StaxOutInterceptor.class.getName());
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            Object value = message.get(InvocationTimeline.KEY);
+            if (!(value instanceof InvocationTimeline) || message.getExchange() == null) {
+                return;
+            }
+            InvocationTimeline timeline = (InvocationTimeline) value;
+            message.getExchange().put(InvocationTimeline.class, timeline);
+            timeline.markOutStart();
+
+            OutputStream out = message.getContent(OutputStream.class);
+            if (out != null) {
+                message.setContent(OutputStream.class, new CountingOutputStream(out, timeline::recordRequestBytes));
+            }
+        }
+    }
+
+    /**
+     * SOAP Body写完
+     */
+    static final class MarshalEnd extends AbstractPhaseInterceptor<Message> {
+
+        MarshalEnd() {
+            super(Phase.POST_MARSHAL);
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            InvocationTimeline timeline = timeline(message);
+            if (timeline != null) {
+                timeline.markMarshalEnd();
+            }
+        }
+    }
+
+    /**
+     * 安全头处理和信封写出的结束拦截器都已执行，即将关闭Conduit发送请求（同步调用时在其中等待响应）
+     */
+    static final class Send extends AbstractPhaseInterceptor<Message> {
+
+        Send() {
+            super(Phase.PREPARE_SEND_ENDING);
+            addBefore(MessageSenderInterceptor.MessageSenderEndingInterceptor.class.getName());
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            InvocationTimeline timeline = timeline(message);
+            if (timeline != null) {
+                timeline.markSendStart();
+            }
+        }
+    }
+
+    /**
+     * 入站拦截器链开始：已收到响应，包装输入流统计响应字节数
+     */
+    static final class In extends AbstractPhaseInterceptor<Message> {
+
+        In() {
+            super(Phase.RECEIVE);
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            InvocationTimeline timeline = timeline(message);
+            if (timeline == null) {
+                return;
+            }
+            timeline.markReceiveStart();
+
+            InputStream in = message.getContent(InputStream.class);
+            if (in != null) {
+                message.setContent(InputStream.class, new CountingInputStream(in, timeline::recordResponseBytes));
+            }
+        }
+    }
+
+    /**
+     * 统计写出的字节数，关闭时回调一次
+     */
+    static final class CountingOutputStream extends FilterOutputStream {
+
+        private final LongConsumer onClose;
+        private long count;
+        private boolean closed;
+
+        CountingOutputStream(OutputStream out, LongConsumer onClose) {
+            super(out);
+            this.onClose = onClose;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!closed) {
+                    closed = true;
+                    onClose.accept(count);
+                }
+            }
+        }
+    }
+
+    /**
+     * 统计读取的字节数，读到末尾或关闭时回调一次
+     */
+    static final class CountingInputStream extends FilterInputStream {
+
+        private final LongConsumer onComplete;
+        private long count;
+        private boolean completed;
+
+        CountingInputStream(InputStream in, LongConsumer onComplete) {
+            super(in);
+            this.onComplete = onComplete;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b < 0) {
+                complete();
+            } else {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = in.read(bytes, offset, length);
+            if (read < 0) {
+                complete();
+            } else {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                complete();
+            }
+        }
+
+        private void complete() {
+            if (!completed) {
+                completed = true;
+                onComplete.accept(count);
+            }
+        }
+    }
+}
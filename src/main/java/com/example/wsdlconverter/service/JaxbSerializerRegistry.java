@@ -0,0 +1,320 @@
+package com.example.wsdlconverter.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 动态生成的JAXB响应类的预编译Jackson序列化器
+ *
+ * 初始化WSDL客户端时从各操作的返回类型出发，遍历可达的JAXB类，按Jackson自身的属性规则
+ * （名称、顺序、可见性）一次性确定属性，并为每个getter生成LambdaMetafactory访问器，
+ * 调用时不再进行Bean内省和反射调用。生成类所在的类加载器不允许定义Lambda时退回到MethodHandle访问器。
+ *
+ * 本类同时是一个Jackson Module，由Spring Boot自动注册到应用的ObjectMapper
+ */
+@Component
+@Slf4j
+public class JaxbSerializerRegistry extends Module {
+
+    private volatile Map<Class<?>, PrecompiledBeanSerializer> serializers = Map.of();
+
+    @Override
+    public String getModuleName() {
+        return "wsdl-jaxb-serializers";
+    }
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        context.addSerializers(new Serializers.Base() {
+            @Override
+            public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type, BeanDescription beanDesc) {
+                return serializers.get(type.getRawClass());
+            }
+        });
+    }
+
+    /**
+     * 为返回类型及其可达的嵌套类型构建序列化器，替换之前注册的全部类型（客户端重新初始化时生成了新的类）
+     *
+     * @param rootTypes 操作的返回类型
+     * @param mapper 使用这些序列化器的ObjectMapper（按其配置确定属性）
+     * @return 注册的类型数量
+     */
+    public int register(Collection<Class<?>> rootTypes, ObjectMapper mapper) {
+        Map<Class<?>, PrecompiledBeanSerializer> built = build(rootTypes, mapper);
+        publish(built);
+        return built.size();
+    }
+
+    /**
+     * 为返回类型及其可达的嵌套类型构建序列化器，不影响当前注册的序列化器（由{@link #publish}替换）
+     *
+     * @param rootTypes 操作的返回类型
+     * @param mapper 使用这些序列化器的ObjectMapper（按其配置确定属性）
+     * @return 按类型索引的序列化器
+     */
+    Map<Class<?>, PrecompiledBeanSerializer> build(Collection<Class<?>> rootTypes, ObjectMapper mapper) {
+        SerializationConfig config = mapper.getSerializationConfig();
+        Map<Class<?>, PrecompiledBeanSerializer> built = new HashMap<>();
+        Set<Class<?>> visited = new HashSet<>();
+        Deque<JavaType> pending = new ArrayDeque<>();
+        rootTypes.forEach(type -> pending.add(config.constructType(type)));
+        int lambdaAccessors = 0;
+        int handleAccessors = 0;
+
+        while (!pending.isEmpty()) {
+            JavaType type = pending.poll();
+            if (type.getContentType() != null) {
+                // 集合、数组和Optional等容器按元素类型继续遍历
+                pending.add(type.getContentType());
+                continue;
+            }
+            Class<?> rawClass = type.getRawClass();
+            if (!visited.add(rawClass) || !isCandidate(rawClass)) {
+                continue;
+            }
+
+            List<Property> properties = new ArrayList<>();
+            try {
+                for (BeanPropertyDefinition definition : config.introspect(type).findProperties()) {
+                    AnnotatedMember accessor = definition.getAccessor();
+                    if (accessor == null || !definition.couldSerialize()) {
+                        continue;
+                    }
+                    Function<Object, Object> getter = lambdaGetter(accessor.getMember());
+                    if (getter != null) {
+                        lambdaAccessors++;
+                    } else {
+                        getter = handleGetter(accessor.getMember());
+                        handleAccessors++;
+                    }
+                    properties.add(new Property(definition.getName(), getter));
+                    pending.add(accessor.getType());
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                log.debug("类型 {} 使用Jackson默认序列化: {}", rawClass.getName(), e.getMessage());
+                continue;
+            }
+            // 没有属性的类型保持Jackson默认行为（FAIL_ON_EMPTY_BEANS）
+            if (!properties.isEmpty()) {
+                built.put(rawClass, new PrecompiledBeanSerializer(rawClass, properties.toArray(new Property[0])));
+            }
+        }
+
+        log.info("预编译JAXB序列化器: {} 个类型（LambdaMetafactory访问器 {} 个，MethodHandle访问器 {} 个）",
+                built.size(), lambdaAccessors, handleAccessors);
+        return Map.copyOf(built);
+    }
+
+    /**
+     * 用{@link #build}的结果替换之前注册的全部序列化器
+     */
+    void publish(Map<Class<?>, PrecompiledBeanSerializer> built) {
+        serializers = Map.copyOf(built);
+    }
+
+    /**
+     * 已注册预编译序列化器的类型数量
+     */
+    public int size() {
+        return serializers.size();
+    }
+
+    boolean isRegistered(Class<?> type) {
+        return serializers.containsKey(type);
+    }
+
+    /**
+     * 只处理可实例化的公共业务类，JDK和框架自带的类型（如XMLGregorianCalendar、JAXBElement）由Jackson处理
+     */
+    private static boolean isCandidate(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isEnum() || type.isInterface()
+                || Modifier.isAbstract(type.getModifiers()) || !Modifier.isPublic(type.getModifiers())) {
+            return false;
+        }
+        String name = type.getName();
+        return !name.startsWith("java.") && !name.startsWith("javax.") && !name.startsWith("jakarta.")
+                && !name.startsWith("com.fasterxml.") && !name.startsWith("org.w3c.");
+    }
+
+    /**
+     * 为getter生成Function实现；字段访问或跨模块不允许定义Lambda时返回null
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> lambdaGetter(Member member) {
+        if (!(member instanceof Method)) {
+            return null;
+        }
+        Method method = (Method) member;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle getter = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    getter,
+                    MethodType.methodType(method.getReturnType(), method.getDeclaringClass()).wrap());
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            log.trace("无法为 {} 生成Lambda访问器: {}", method, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Function<Object, Object> handleGetter(Member member) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        MethodHandle handle = member instanceof Field
+                ? lookup.unreflectGetter((Field) member)
+                : lookup.unreflect((Method) member);
+        MethodHandle getter = handle.asType(MethodType.methodType(Object.class, Object.class));
+        return bean -> {
+            try {
+                return getter.invokeExact(bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * 预先确定名称和访问器的属性，值的序列化器按运行时类型缓存最近一次的结果
+     */
+    private static final class Property {
+
+        private final SerializableString name;
+        private final Function<Object, Object> getter;
+        private volatile CachedSerializer cached;
+
+        Property(String name, Function<Object, Object> getter) {
+            this.name = new SerializedString(name);
+            this.getter = getter;
+        }
+
+        JsonSerializer<Object> serializerFor(Class<?> valueType, SerializerProvider provider) throws IOException {
+            CachedSerializer current = cached;
+            if (current != null && current.type == valueType) {
+                return current.serializer;
+            }
+            JsonSerializer<Object> serializer = provider.findValueSerializer(valueType);
+            cached = new CachedSerializer(valueType, serializer);
+            return serializer;
+        }
+    }
+
+    private static final class CachedSerializer {
+
+        private final Class<?> type;
+        private final JsonSerializer<Object> serializer;
+
+        CachedSerializer(Class<?> type, JsonSerializer<Object> serializer) {
+            this.type = type;
+            this.serializer = serializer;
+        }
+    }
+
+    /**
+     * 按预先确定的属性输出JSON对象，null和空值的处理遵循ObjectMapper的默认包含规则
+     */
+    static final class PrecompiledBeanSerializer extends StdSerializer<Object> {
+
+        private final Property[] properties;
+
+        @SuppressWarnings("unchecked")
+        PrecompiledBeanSerializer(Class<?> type, Property[] properties) {
+            super((Class<Object>) type);
+            this.properties = properties;
+        }
+
+        @Override
+        public void serialize(Object bean, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(bean);
+            writeProperties(bean, gen, provider);
+            gen.writeEndObject();
+        }
+
+        @Override
+        public void serializeWithType(Object bean, JsonGenerator gen, SerializerProvider provider,
+                                      TypeSerializer typeSer) throws IOException {
+            gen.setCurrentValue(bean);
+            WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(bean, JsonToken.START_OBJECT));
+            writeProperties(bean, gen, provider);
+            typeSer.writeTypeSuffix(gen, typeId);
+        }
+
+        private void writeProperties(Object bean, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            JsonInclude.Include inclusion = provider.getConfig().getDefaultPropertyInclusion().getValueInclusion();
+            boolean suppressNulls = inclusion != JsonInclude.Include.ALWAYS && inclusion != JsonInclude.Include.USE_DEFAULTS;
+            boolean suppressEmpty = inclusion == JsonInclude.Include.NON_EMPTY || inclusion == JsonInclude.Include.NON_DEFAULT;
+
+            for (Property property : properties) {
+                Object value;
+                try {
+                    value = property.getter.apply(bean);
+                } catch (RuntimeException e) {
+                    wrapAndThrow(provider, e, bean, property.name.getValue());
+                    return;
+                }
+                if (value == null) {
+                    if (!suppressNulls) {
+                        gen.writeFieldName(property.name);
+                        provider.defaultSerializeNull(gen);
+                    }
+                    continue;
+                }
+                JsonSerializer<Object> serializer = property.serializerFor(value.getClass(), provider);
+                if (suppressEmpty && serializer.isEmpty(provider, value)) {
+                    continue;
+                }
+                gen.writeFieldName(property.name);
+                serializer.serialize(value, gen, provider);
+            }
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.config.ResponseCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 按操作配置的WSDL响应缓存
+ *
+ * 缓存键为操作名 + 绑定后参数的规范JSON（见InvocationKey）。每个操作独立限制条目数和字节数，
+ * 超出时按LRU淘汰。条目过期后在stale-while-revalidate窗口内继续返回旧值，
+ * 同时只触发一次后台刷新，避免读多写少的操作每次都访问C#服务。
+ * 后台刷新使用独立的InvocationTimeline，不影响触发刷新的请求（其响应可能已经返回）。
+ */
+@Service
+@Slf4j
+public class OperationResponseCache {
+
+    @Autowired
+    private ResponseCacheProperties properties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Segment> segments = new LinkedHashMap<>();
+    private ExecutorService refreshExecutor;
+
+    @PostConstruct
+    public void init() {
+        if (!properties.isEnabled()) {
+            log.info("响应缓存已禁用");
+            return;
+        }
+
+        properties.getOperations().forEach((operationName, settings) -> {
+            Segment segment = new Segment(operationName, settings);
+            segments.put(operationName.toLowerCase(Locale.ROOT), segment);
+            registerMetrics(segment);
+            log.info("启用响应缓存: {} - TTL: {}, 过期可用窗口: {}, 最大条目: {}, 最大字节: {}",
+                    operationName, settings.getTtl(), settings.getStaleWhileRevalidate(),
+                    settings.getMaxEntries(), settings.getMaxBytes());
+        });
+
+        if (!segments.isEmpty()) {
+            AtomicInteger threadIndex = new AtomicInteger();
+            refreshExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getRefreshThreads()), runnable -> {
+                Thread thread = new Thread(runnable, "wsdl-cache-refresh-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdown();
+        }
+    }
+
+    /**
+     * 操作是否启用了缓存
+     */
+    public boolean isEnabled(String operationName) {
+        return !segments.isEmpty() && segments.containsKey(operationName.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 从缓存获取结果，未命中时通过loader加载并写入缓存
+     *
+     * @param key 调用键
+     * @param loader 实际调用
+     * @return 调用结果的Future
+     */
+    public CompletableFuture<Object[]> get(InvocationKey key, Supplier<CompletableFuture<Object[]>> loader) {
+        return get(key, timeline -> loader.get(), null);
+    }
+
+    /**
+     * 从缓存获取结果，并在timeline上记录查询结果（命中、过期或未命中）
+     *
+     * @param key 调用键
+     * @param loader 实际调用，参数为记录本次后台调用的InvocationTimeline
+     * @param timeline 本次调用的分阶段耗时记录，可以为null
+     * @return 调用结果的Future
+     */
+    public CompletableFuture<Object[]> get(InvocationKey key,
+                                           Function<InvocationTimeline, CompletableFuture<Object[]>> loader,
+                                           InvocationTimeline timeline) {
+        Segment segment = segments.get(key.getOperationName().toLowerCase(Locale.ROOT));
+        if (segment == null) {
+            return loader.apply(timeline);
+        }
+
+        long now = System.currentTimeMillis();
+        CacheEntry entry = segment.get(key, now);
+        if (entry != null) {
+            if (now < entry.freshUntil) {
+                segment.hits.increment();
+                recordLookup(timeline, InvocationTimeline.CACHE_HIT);
+                return CompletableFuture.completedFuture(entry.value);
+            }
+
+            // 过期但仍在可用窗口内：返回旧值，并只触发一次后台刷新
+            segment.staleHits.increment();
+            recordLookup(timeline, InvocationTimeline.CACHE_STALE);
+            if (entry.refreshing.compareAndSet(false, true)) {
+                refreshInBackground(segment, key, entry, loader);
+            }
+            return CompletableFuture.completedFuture(entry.value);
+        }
+
+        segment.misses.increment();
+        recordLookup(timeline, InvocationTimeline.CACHE_MISS);
+        return loader.apply(timeline).thenApply(value -> {
+            segment.put(key, value, estimateSize(value, timeline), System.currentTimeMillis());
+            return value;
+        });
+    }
+
+    private static void recordLookup(InvocationTimeline timeline, String status) {
+        if (timeline != null) {
+            timeline.setCacheStatus(status);
+        }
+    }
+
+    private void refreshInBackground(Segment segment, InvocationKey key, CacheEntry staleEntry,
+                                     Function<InvocationTimeline, CompletableFuture<Object[]>> loader) {
+        segment.refreshes.increment();
+        // 触发刷新的请求已经用旧值返回，刷新的耗时不能记到它的timeline上
+        InvocationTimeline refreshTimeline = InvocationTimeline.detached(key.getOperationName());
+        CompletableFuture.supplyAsync(() -> loader.apply(refreshTimeline), refreshExecutor)
+                .thenCompose(future -> future)
+                .whenComplete((value, error) -> {
+                    if (error != null) {
+                        // 刷新失败时保留旧值，允许下一次请求重新触发刷新
+                        staleEntry.refreshing.set(false);
+                        log.warn("后台刷新缓存失败: {}, 错误: {}", key, InvocationDispatcher.unwrap(error).getMessage());
+                    } else {
+                        segment.put(key, value, estimateSize(value, refreshTimeline), System.currentTimeMillis());
+                    }
+                });
+    }
+
+    /**
+     * 估算结果占用的字节数
+     *
+     * 优先使用阶段边界拦截器已经统计的SOAP响应报文大小（XML比转换后的JSON大，估算偏保守），
+     * 避免为每个未命中的结果再做一次JSON序列化；没有统计到报文大小时
+     * （例如合并到其他调用的请求）才按JSON序列化大小估算
+     */
+    private long estimateSize(Object[] value, InvocationTimeline timeline) {
+        long responseBytes = timeline != null ? timeline.getResponseBytes() : -1;
+        if (responseBytes >= 0) {
+            return responseBytes;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(value).length;
+        } catch (Exception e) {
+            log.debug("估算缓存条目大小失败: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 清空所有缓存（例如WSDL客户端重新初始化后）
+     */
+    public void clear() {
+        segments.values().forEach(Segment::clear);
+    }
+
+    /**
+     * 获取缓存统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        segments.values().forEach(segment -> stats.put(segment.operationName, segment.getStatistics()));
+        return stats;
+    }
+
+    private void registerMetrics(Segment segment) {
+        if (meterRegistry == null) {
+            return;
+        }
+        String operation = segment.operationName;
+        registerCounter("wsdl.cache.hits", "缓存命中次数", operation, segment.hits, "fresh");
+        registerCounter("wsdl.cache.hits", "缓存命中次数", operation, segment.staleHits, "stale");
+        registerCounter("wsdl.cache.misses", "缓存未命中次数", operation, segment.misses, null);
+        registerCounter("wsdl.cache.evictions", "缓存淘汰次数", operation, segment.evictions, null);
+        registerCounter("wsdl.cache.refreshes", "缓存后台刷新次数", operation, segment.refreshes, null);
+        Gauge.builder("wsdl.cache.size", segment, Segment::size)
+                .description("缓存条目数")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Gauge.builder("wsdl.cache.bytes", segment, Segment::bytes)
+                .description("缓存占用字节数（估算）")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private void registerCounter(String name, String description, String operation, LongAdder adder, String result) {
+        FunctionCounter.Builder<LongAdder> builder = FunctionCounter.builder(name, adder, LongAdder::sum)
+                .description(description)
+                .tag("operation", operation);
+        if (result != null) {
+            builder.tag("result", result);
+        }
+        builder.register(meterRegistry);
+    }
+
+    /**
+     * 单个操作的缓存分段（LRU）
+     */
+    private static final class Segment {
+        private final String operationName;
+        private final long ttlMillis;
+        private final long staleMillis;
+        private final int maxEntries;
+        private final long maxBytes;
+
+        private final LinkedHashMap<InvocationKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long totalBytes;
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder staleHits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder refreshes = new LongAdder();
+
+        Segment(String operationName, ResponseCacheProperties.OperationCache settings) {
+            this.operationName = operationName;
+            this.ttlMillis = settings.getTtl().toMillis();
+            this.staleMillis = settings.getStaleWhileRevalidate().toMillis();
+            this.maxEntries = settings.getMaxEntries();
+            this.maxBytes = settings.getMaxBytes();
+        }
+
+        /**
+         * 获取可用条目（新鲜或处于过期可用窗口内），完全过期的条目被移除
+         */
+        synchronized CacheEntry get(InvocationKey key, long now) {
+            CacheEntry entry = entries.get(key);
+            if (entry != null && now >= entry.staleUntil) {
+                remove(key);
+                return null;
+            }
+            return entry;
+        }
+
+        synchronized void put(InvocationKey key, Object[] value, long size, long now) {
+            if (size > maxBytes) {
+                // 单个结果超过字节上限，不缓存
+                return;
+            }
+            remove(key);
+            entries.put(key, new CacheEntry(value, size, now + ttlMillis, now + ttlMillis + staleMillis));
+            totalBytes += size;
+
+            Iterator<CacheEntry> eldest = entries.values().iterator();
+            while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+                totalBytes -= eldest.next().size;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+
+        private void remove(InvocationKey key) {
+            CacheEntry removed = entries.remove(key);
+            if (removed != null) {
+                totalBytes -= removed.size;
+            }
+        }
+
+        synchronized void clear() {
+            entries.clear();
+            totalBytes = 0;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized long bytes() {
+            return totalBytes;
+        }
+
+        Map<String, Object> getStatistics() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("entries", size());
+            stats.put("bytes", bytes());
+            stats.put("hits", hits.sum());
+            stats.put("staleHits", staleHits.sum());
+            stats.put("misses", misses.sum());
+            stats.put("evictions", evictions.sum());
+            stats.put("refreshes", refreshes.sum());
+            return stats;
+        }
+    }
+
+    /**
+     * 缓存条目
+     */
+    private static final class CacheEntry {
+        private final Object[] value;
+        private final long size;
+        private final long freshUntil;
+        private final long staleUntil;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        CacheEntry(Object[] value, long size, long freshUntil, long staleUntil) {
+            this.value = value;
+            this.size = size;
+            this.freshUntil = freshUntil;
+            this.staleUntil = staleUntil;
+        }
+    }
+}
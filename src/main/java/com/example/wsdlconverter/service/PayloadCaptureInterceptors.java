@@ -0,0 +1,216 @@
+package com.example.wsdlconverter.service;
+
+import org.apache.cxf.interceptor.StaxOutInterceptor;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.service.model.BindingOperationInfo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 报文抓取拦截器：把消息的输入/输出流包装为复制前缀字节的流，流结束时提交给PayloadCaptureService
+ *
+ * 出站拦截器为每次调用做一次采样判断并记录在Exchange上，入站拦截器只抓取已采样调用的响应
+ */
+final class PayloadCaptureInterceptors {
+
+    // Exchange上的采样标记
+    private static final String CAPTURE_KEY = PayloadCaptureInterceptors.class.getName() + ".CAPTURE";
+
+    private PayloadCaptureInterceptors() {
+    }
+
+    private static String operationName(Exchange exchange) {
+        BindingOperationInfo operation = exchange != null ? exchange.getBindingOperationInfo() : null;
+        return operation != null ? operation.getName().getLocalPart() : null;
+    }
+
+    private static String address(Message message) {
+        Object address = message.get(Message.ENDPOINT_ADDRESS);
+        if (address == null && message.getExchange() != null && message.getExchange().getOutMessage() != null) {
+            address = message.getExchange().getOutMessage().get(Message.ENDPOINT_ADDRESS);
+        }
+        return address != null ? address.toString() : null;
+    }
+
+    static final class Out extends AbstractPhaseInterceptor<Message> {
+
+        private final PayloadCaptureService service;
+
+        Out(PayloadCaptureService service) {
+            super(Phase.PRE_STREAM);
+            // 在XML写出器创建之前包装输出流
+            addBefore(StaxOutInterceptor.class.getName());
+            this.service = service;
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            Exchange exchange = message.getExchange();
+            String operation = operationName(exchange);
+            if (!service.shouldCapture(operation)) {
+                return;
+            }
+            OutputStream out = message.getContent(OutputStream.class);
+            if (out == null) {
+                return;
+            }
+            exchange.put(CAPTURE_KEY, Boolean.TRUE);
+            message.setContent(OutputStream.class, new CaptureOutputStream(out, service.getMaxPayloadBytes(),
+                    (bytes, size) -> service.submit(PayloadCaptureService.DIRECTION_REQUEST, operation,
+                            address(message), bytes, size)));
+        }
+    }
+
+    static final class In extends AbstractPhaseInterceptor<Message> {
+
+        private final PayloadCaptureService service;
+
+        In(PayloadCaptureService service) {
+            super(Phase.RECEIVE);
+            this.service = service;
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            Exchange exchange = message.getExchange();
+            if (exchange == null || !Boolean.TRUE.equals(exchange.get(CAPTURE_KEY))) {
+                return;
+            }
+            InputStream in = message.getContent(InputStream.class);
+            if (in == null) {
+                return;
+            }
+            String operation = operationName(exchange);
+            message.setContent(InputStream.class, new CaptureInputStream(in, service.getMaxPayloadBytes(),
+                    (bytes, size) -> service.submit(PayloadCaptureService.DIRECTION_RESPONSE, operation,
+                            address(message), bytes, size)));
+        }
+    }
+
+    /**
+     * 报文结束时的回调
+     */
+    @FunctionalInterface
+    interface CaptureCallback {
+        void onComplete(byte[] bytes, long size);
+    }
+
+    /**
+     * 不超过上限的字节副本和实际字节数
+     */
+    private static final class CappedCopy {
+
+        private final ByteArrayOutputStream copy;
+        private final int limit;
+        private final CaptureCallback callback;
+        private long size;
+        private boolean completed;
+
+        CappedCopy(int limit, CaptureCallback callback) {
+            this.copy = new ByteArrayOutputStream(Math.min(limit, 4096));
+            this.limit = limit;
+            this.callback = callback;
+        }
+
+        void append(int b) {
+            if (size++ < limit) {
+                copy.write(b);
+            }
+        }
+
+        void append(byte[] bytes, int offset, int length) {
+            long remaining = limit - size;
+            if (remaining > 0) {
+                copy.write(bytes, offset, (int) Math.min(length, remaining));
+            }
+            size += length;
+        }
+
+        void complete() {
+            if (!completed) {
+                completed = true;
+                callback.onComplete(copy.toByteArray(), size);
+            }
+        }
+    }
+
+    static final class CaptureOutputStream extends FilterOutputStream {
+
+        private final CappedCopy copy;
+
+        CaptureOutputStream(OutputStream out, int limit, CaptureCallback callback) {
+            super(out);
+            this.copy = new CappedCopy(limit, callback);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            copy.append(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            copy.append(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                copy.complete();
+            }
+        }
+    }
+
+    static final class CaptureInputStream extends FilterInputStream {
+
+        private final CappedCopy copy;
+
+        CaptureInputStream(InputStream in, int limit, CaptureCallback callback) {
+            super(in);
+            this.copy = new CappedCopy(limit, callback);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b < 0) {
+                copy.complete();
+            } else {
+                copy.append(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int count = in.read(bytes, offset, length);
+            if (count < 0) {
+                copy.complete();
+            } else {
+                copy.append(bytes, offset, count);
+            }
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                copy.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.config.PayloadCaptureProperties;
+import com.example.wsdlconverter.model.CapturedPayload;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.cxf.interceptor.Interceptor;
+import org.apache.cxf.message.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * SOAP报文抓取
+ *
+ * 替代常开的CXF日志拦截器：未开启或未被采样的调用只做一次判断，不复制报文。
+ * 被采样的调用在I/O线程中只复制不超过大小上限的原始字节并放入有界队列，
+ * 解码、屏蔽密码和写日志由后台线程完成；队列满时丢弃新报文，不阻塞调用。
+ * 最近的报文保留在内存中供接口查询，同时写入名为 com.example.wsdlconverter.payload 的日志
+ */
+@Service
+@Slf4j
+public class PayloadCaptureService {
+
+    static final String DIRECTION_REQUEST = "REQUEST";
+    static final String DIRECTION_RESPONSE = "RESPONSE";
+
+    private static final Logger payloadLog = LoggerFactory.getLogger("com.example.wsdlconverter.payload");
+
+    // 本地名以Password结尾的元素中的密码（wsse:Password、pfs:PfsUserPassword、pfs:PfsUserNewPassword等）
+    private static final Pattern PASSWORD = Pattern.compile("(<(?:[\\w.-]+:)?[\\w.-]*Password\\b[^>]*>)[^<]*(</)");
+
+    @Autowired
+    private PayloadCaptureProperties properties;
+
+    private final PayloadCaptureInterceptors.Out outInterceptor = new PayloadCaptureInterceptors.Out(this);
+    private final PayloadCaptureInterceptors.In inInterceptor = new PayloadCaptureInterceptors.In(this);
+    private final Deque<CapturedPayload> history = new ArrayDeque<>();
+    private final LongAdder capturedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private volatile Settings settings = Settings.DISABLED;
+    private BlockingQueue<RawCapture> queue;
+    private Thread writer;
+
+    @PostConstruct
+    public void init() {
+        settings = new Settings(properties.isEnabled(), properties.getSampleRate(), properties.getOperations(),
+                properties.getMaxPayloadBytes());
+        queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueSize()));
+        writer = new Thread(this::drain, "wsdl-payload-capture");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("报文抓取: {}", settings);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writer != null) {
+            writer.interrupt();
+        }
+    }
+
+    /**
+     * 出站拦截器（抓取请求报文并决定本次调用是否采样）
+     */
+    public Interceptor<Message> getOutInterceptor() {
+        return outInterceptor;
+    }
+
+    /**
+     * 入站拦截器（抓取已采样调用的响应报文）
+     */
+    public Interceptor<Message> getInInterceptor() {
+        return inInterceptor;
+    }
+
+    /**
+     * 本次调用是否抓取报文
+     */
+    boolean shouldCapture(String operationName) {
+        Settings current = settings;
+        if (!current.enabled) {
+            return false;
+        }
+        if (!current.operations.isEmpty()
+                && (operationName == null || !current.operations.contains(operationName.toLowerCase(Locale.ROOT)))) {
+            return false;
+        }
+        return current.sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < current.sampleRate;
+    }
+
+    int getMaxPayloadBytes() {
+        return settings.maxPayloadBytes;
+    }
+
+    /**
+     * 提交一条报文（I/O线程调用，不阻塞）
+     *
+     * @param bytes 不超过大小上限的报文前缀
+     * @param size 报文实际字节数
+     */
+    void submit(String direction, String operation, String address, byte[] bytes, long size) {
+        if (!queue.offer(new RawCapture(direction, operation, address, System.currentTimeMillis(), bytes, size))) {
+            droppedCount.increment();
+        }
+    }
+
+    /**
+     * 运行时修改抓取设置，参数为null的项保持不变
+     */
+    public synchronized void update(Boolean enabled, Double sampleRate, Collection<String> operations,
+                                    Integer maxPayloadBytes) {
+        Settings current = settings;
+        Settings updated = new Settings(
+                enabled != null ? enabled : current.enabled,
+                sampleRate != null ? sampleRate : current.sampleRate,
+                operations != null ? operations : current.operations,
+                maxPayloadBytes != null ? maxPayloadBytes : current.maxPayloadBytes);
+        settings = updated;
+        log.info("报文抓取设置已更新: {}", updated);
+    }
+
+    /**
+     * 最近抓取的报文，最新的在前
+     */
+    public List<CapturedPayload> getRecent(int limit) {
+        List<CapturedPayload> recent = new ArrayList<>();
+        synchronized (history) {
+            for (CapturedPayload payload : history) {
+                if (recent.size() >= limit) {
+                    break;
+                }
+                recent.add(payload);
+            }
+        }
+        return recent;
+    }
+
+    public void clear() {
+        synchronized (history) {
+            history.clear();
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Settings current = settings;
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", current.enabled);
+        status.put("sampleRate", current.sampleRate);
+        status.put("operations", current.operations);
+        status.put("maxPayloadBytes", current.maxPayloadBytes);
+        status.put("captured", capturedCount.sum());
+        status.put("dropped", droppedCount.sum());
+        status.put("queued", queue.size());
+        synchronized (history) {
+            status.put("history", history.size());
+        }
+        return status;
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                record(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("处理抓取的报文失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 解码并屏蔽密码后写日志和保存（后台线程）
+     */
+    void record(RawCapture raw) {
+        String text = new String(raw.bytes, StandardCharsets.UTF_8);
+        String payload = PASSWORD.matcher(text).replaceAll("$1***$2");
+        boolean truncated = raw.size > raw.bytes.length;
+        CapturedPayload captured = new CapturedPayload(raw.direction, raw.operation, raw.address, raw.timestamp,
+                raw.size, truncated, payload);
+        capturedCount.increment();
+
+        payloadLog.info("{} {} {} ({} 字节{}): {}", raw.direction, raw.operation, raw.address, raw.size,
+                truncated ? "，已截断" : "", payload);
+
+        int historySize = Math.max(0, properties.getHistorySize());
+        synchronized (history) {
+            history.addFirst(captured);
+            while (history.size() > historySize) {
+                history.removeLast();
+            }
+        }
+    }
+
+    /**
+     * I/O线程提交的原始报文
+     */
+    static final class RawCapture {
+
+        private final String direction;
+        private final String operation;
+        private final String address;
+        private final long timestamp;
+        private final byte[] bytes;
+        private final long size;
+
+        RawCapture(String direction, String operation, String address, long timestamp, byte[] bytes, long size) {
+            this.direction = direction;
+            this.operation = operation;
+            this.address = address;
+            this.timestamp = timestamp;
+            this.bytes = bytes;
+            this.size = size;
+        }
+    }
+
+    /**
+     * 不可变的抓取设置，整体替换以保证一致
+     */
+    private static final class Settings {
+
+        static final Settings DISABLED = new Settings(false, 1.0, List.of(), 16 * 1024);
+
+        private final boolean enabled;
+        private final double sampleRate;
+        private final Set<String> operations;
+        private final int maxPayloadBytes;
+
+        Settings(boolean enabled, double sampleRate, Collection<String> operations, int maxPayloadBytes) {
+            if (sampleRate < 0 || sampleRate > 1) {
+                throw new IllegalArgumentException("采样率必须在0到1之间: " + sampleRate);
+            }
+            if (maxPayloadBytes <= 0) {
+                throw new IllegalArgumentException("报文大小上限必须大于0: " + maxPayloadBytes);
+            }
+            this.enabled = enabled;
+            this.sampleRate = sampleRate;
+            this.operations = operations.stream()
+                    .map(String::trim)
+                    .filter(name -> !name.isEmpty())
+                    .map(name -> name.toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            this.maxPayloadBytes = maxPayloadBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "enabled=" + enabled + ", sampleRate=" + sampleRate
+                    + ", operations=" + (operations.isEmpty() ? "全部" : operations)
+                    + ", maxPayloadBytes=" + maxPayloadBytes;
+        }
+    }
+}
@@ -0,0 +1,489 @@
+package com.example.wsdlconverter.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.cxf.binding.soap.model.SoapOperationInfo;
+import org.apache.cxf.endpoint.Client;
+import org.apache.cxf.jaxws.DispatchImpl;
+import org.apache.cxf.service.model.BindingOperationInfo;
+import org.apache.cxf.service.model.MessageInfo;
+import org.apache.cxf.service.model.MessagePartInfo;
+import org.apache.cxf.staxutils.StaxUtils;
+import org.apache.ws.commons.schema.XmlSchemaComplexType;
+import org.apache.ws.commons.schema.XmlSchemaElement;
+import org.apache.ws.commons.schema.XmlSchemaParticle;
+import org.apache.ws.commons.schema.XmlSchemaSequence;
+import org.apache.ws.commons.schema.XmlSchemaSequenceMember;
+import org.apache.ws.commons.schema.XmlSchemaType;
+
+import javax.wsdl.Definition;
+import javax.wsdl.Port;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.ws.BindingProvider;
+import javax.xml.ws.Dispatch;
+import javax.xml.ws.Service;
+import javax.xml.ws.handler.MessageContext;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 基于JAX-WS Dispatch（PAYLOAD模式）的调用引擎
+ *
+ * 不生成和编译JAXB类：请求体按WSDL/XSD中的参数顺序用StAX直接写出，响应体由StaxJsonTranscoder
+ * 转换为JSON树，每次调用没有JAXB绑定和反射。所有调用共享一个Dispatch实例，
+ * 请求上下文按线程隔离，每次调用的操作、SOAPAction和服务地址互不影响。
+ */
+@Slf4j
+class PayloadDispatchEngine {
+
+    // CXF为Dispatch添加的内部操作（Invoke/InvokeOneWay）所在的命名空间
+    private static final String DISPATCH_NAMESPACE = "http://cxf.apache.org/jaxws/dispatch";
+
+    private final Dispatch<Source> dispatch;
+    private final Client client;
+    private final ObjectMapper objectMapper;
+    private final XmlElementShapes shapes;
+    private final Map<String, PayloadOperation> operations = new HashMap<>();
+    private final Map<String, PayloadOperation> operationsIgnoreCase = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final List<WsdlServiceAdapter.OperationInfo> operationInfos;
+    private final InvocationPlan.Registry invocationPlans;
+
+    private PayloadDispatchEngine(Dispatch<Source> dispatch, ObjectMapper objectMapper) {
+        this.dispatch = dispatch;
+        this.client = ((DispatchImpl<?>) dispatch).getClient();
+        this.objectMapper = objectMapper;
+        this.shapes = XmlElementShapes.from(client.getEndpoint().getService().getServiceInfos());
+
+        List<WsdlServiceAdapter.OperationInfo> operationInfos = new ArrayList<>();
+        for (BindingOperationInfo bindingOperation : client.getEndpoint().getEndpointInfo().getBinding().getOperations()) {
+            if (DISPATCH_NAMESPACE.equals(bindingOperation.getName().getNamespaceURI())) {
+                continue;
+            }
+            PayloadOperation operation = new PayloadOperation(bindingOperation);
+            operations.put(operation.getName(), operation);
+            operationsIgnoreCase.putIfAbsent(operation.getName(), operation);
+            operationInfos.add(operation.toOperationInfo());
+        }
+        this.operationInfos = List.copyOf(operationInfos);
+        this.invocationPlans = new InvocationPlan.Registry(operationInfos);
+    }
+
+    /**
+     * 为WSDL中的第一个服务端口创建Dispatch引擎
+     *
+     * @param wsdlSource WSDL的URL或本地文件路径
+     * @param definition 已解析的WSDL定义，用于确定服务和端口
+     */
+    static PayloadDispatchEngine create(String wsdlSource, Definition definition, ObjectMapper objectMapper)
+            throws IOException {
+        if (definition.getServices().isEmpty()) {
+            throw new IllegalStateException("WSDL中没有定义服务");
+        }
+        javax.wsdl.Service wsdlService = (javax.wsdl.Service) definition.getServices().values().iterator().next();
+        if (wsdlService.getPorts().isEmpty()) {
+            throw new IllegalStateException("WSDL服务中没有定义端口: " + wsdlService.getQName());
+        }
+        Port port = (Port) wsdlService.getPorts().values().iterator().next();
+        QName portName = new QName(wsdlService.getQName().getNamespaceURI(), port.getName());
+
+        URL wsdlUrl = wsdlSource.startsWith("http") ? new URL(wsdlSource) : new File(wsdlSource).toURI().toURL();
+        Service service = Service.create(wsdlUrl, wsdlService.getQName());
+        Dispatch<Source> dispatch = service.createDispatch(portName, Source.class, Service.Mode.PAYLOAD);
+        log.info("Dispatch调用引擎已创建 - 服务: {}, 端口: {}", wsdlService.getQName(), portName);
+        return new PayloadDispatchEngine(dispatch, objectMapper);
+    }
+
+    /**
+     * 底层CXF客户端，用于配置HTTP传输、安全和拦截器（需在{@link #start()}之前完成）
+     */
+    Client getClient() {
+        return client;
+    }
+
+    /**
+     * 完成配置，此后请求上下文按线程隔离（每个线程从已配置的共享上下文复制一份）
+     */
+    void start() {
+        client.setThreadLocalRequestContext(true);
+    }
+
+    /**
+     * 当前线程的请求上下文，仅对当前线程发出的调用生效
+     */
+    Map<String, Object> getRequestContext() {
+        return dispatch.getRequestContext();
+    }
+
+    XmlElementShapes getShapes() {
+        return shapes;
+    }
+
+    /**
+     * 按操作的输入元素编译的调用计划（参数名为包装元素的子元素名）
+     */
+    InvocationPlan.Registry getInvocationPlans() {
+        return invocationPlans;
+    }
+
+    /**
+     * 各操作的参数定义（与调用计划一致）
+     */
+    List<WsdlServiceAdapter.OperationInfo> getOperationInfos() {
+        return operationInfos;
+    }
+
+    /**
+     * 操作的响应是否为只有一个返回值的包装元素（流式输出时直接输出返回值本身）
+     */
+    boolean isSinglePartWrapper(String operationName) {
+        PayloadOperation operation = findOperation(operationName);
+        return operation.isWrapped() && operation.responseParts.length == 1;
+    }
+
+    /**
+     * 同步调用
+     */
+    Object[] invoke(String operationName, Object[] args) throws Exception {
+        PayloadOperation operation = findOperation(operationName);
+        Source request = operation.buildRequest(args);
+        prepareRequestContext(operation);
+        return toResults(operation, dispatch.invoke(request));
+    }
+
+    /**
+     * 异步调用，响应由异步传输线程转换
+     */
+    CompletableFuture<Object[]> invokeAsync(String operationName, Object[] args) {
+        CompletableFuture<Object[]> future = new CompletableFuture<>();
+        try {
+            PayloadOperation operation = findOperation(operationName);
+            Source request = operation.buildRequest(args);
+            prepareRequestContext(operation);
+            dispatch.invokeAsync(request, response -> {
+                try {
+                    future.complete(toResults(operation, response.get()));
+                } catch (ExecutionException e) {
+                    future.completeExceptionally(e.getCause() != null ? e.getCause() : e);
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private PayloadOperation findOperation(String operationName) {
+        PayloadOperation operation = operations.get(operationName);
+        if (operation == null) {
+            operation = operationsIgnoreCase.get(operationName);
+        }
+        if (operation == null) {
+            throw new IllegalArgumentException("WSDL中未定义操作: " + operationName);
+        }
+        return operation;
+    }
+
+    private void prepareRequestContext(PayloadOperation operation) {
+        Map<String, Object> requestContext = dispatch.getRequestContext();
+        // 直接指定操作，无需按请求体查找
+        requestContext.put(MessageContext.WSDL_OPERATION, operation.qualifiedName);
+        if (operation.soapAction != null) {
+            requestContext.put(BindingProvider.SOAPACTION_USE_PROPERTY, Boolean.TRUE);
+            requestContext.put(BindingProvider.SOAPACTION_URI_PROPERTY, operation.soapAction);
+        } else {
+            requestContext.remove(BindingProvider.SOAPACTION_USE_PROPERTY);
+            requestContext.remove(BindingProvider.SOAPACTION_URI_PROPERTY);
+        }
+    }
+
+    /**
+     * 将响应体转换为结果数组：包装风格按返回值顺序各占一项，否则整个元素为一项
+     */
+    private Object[] toResults(PayloadOperation operation, Source response) throws XMLStreamException, IOException {
+        Object[] results = new Object[Math.max(1, operation.responseParts.length)];
+        Arrays.fill(results, NullNode.getInstance());
+        if (response == null) {
+            return results;
+        }
+
+        XMLStreamReader reader = StaxUtils.createXMLStreamReader(response);
+        try {
+            if (StaxJsonTranscoder.toNextTag(reader) != XMLStreamConstants.START_ELEMENT) {
+                return results;
+            }
+            TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+            if (!operation.isWrapped()) {
+                StaxJsonTranscoder.writeElement(reader, buffer, shapes);
+                results[0] = objectMapper.readTree(buffer.asParser());
+                return results;
+            }
+
+            buffer.writeStartObject();
+            reader.next();
+            if (StaxJsonTranscoder.toNextTag(reader) == XMLStreamConstants.START_ELEMENT) {
+                StaxJsonTranscoder.writeChildren(reader, buffer, shapes);
+            }
+            buffer.writeEndObject();
+            JsonNode wrapper = objectMapper.readTree(buffer.asParser());
+            for (int i = 0; i < operation.responseParts.length; i++) {
+                JsonNode value = wrapper.get(operation.responseParts[i]);
+                if (value != null) {
+                    results[i] = value;
+                }
+            }
+            return results;
+        } finally {
+            StaxUtils.close(reader);
+        }
+    }
+
+    /**
+     * 单个操作的请求/响应结构
+     */
+    private static final class PayloadOperation {
+
+        private final QName qualifiedName;
+        private final String soapAction;
+        // 包装风格时为包装元素，否则为唯一的消息体元素
+        private final QName requestElement;
+        // 包装风格时为包装元素的子元素，否则为null
+        private final QName[] requestParts;
+        private final QName[] requestPartTypes;
+        private final String[] responseParts;
+
+        PayloadOperation(BindingOperationInfo bindingOperation) {
+            this.qualifiedName = bindingOperation.getName();
+            SoapOperationInfo soapOperation = bindingOperation.getExtensor(SoapOperationInfo.class);
+            this.soapAction = soapOperation != null && soapOperation.getAction() != null
+                    && !soapOperation.getAction().isEmpty() ? soapOperation.getAction() : null;
+
+            MessagePartInfo inputPart = firstPart(bindingOperation.getOperationInfo().getInput());
+            this.requestElement = inputPart != null ? inputPart.getConcreteName() : null;
+
+            // Dispatch的服务模型不做包装风格识别，按XSD判断：输入和输出都是只含sequence的单个元素
+            List<XmlSchemaElement> inputs = wrapperChildren(bindingOperation.getOperationInfo().getInput());
+            MessageInfo output = bindingOperation.getOperationInfo().getOutput();
+            List<XmlSchemaElement> outputs = output != null ? wrapperChildren(output) : List.of();
+            if (inputs != null && outputs != null) {
+                this.requestParts = new QName[inputs.size()];
+                this.requestPartTypes = new QName[inputs.size()];
+                for (int i = 0; i < inputs.size(); i++) {
+                    requestParts[i] = wireName(inputs.get(i));
+                    requestPartTypes[i] = inputs.get(i).isRef() && inputs.get(i).getRef().getTarget() != null
+                            ? inputs.get(i).getRef().getTarget().getSchemaTypeName()
+                            : inputs.get(i).getSchemaTypeName();
+                }
+                this.responseParts = outputs.stream()
+                        .map(element -> wireName(element).getLocalPart())
+                        .toArray(String[]::new);
+            } else {
+                this.requestParts = null;
+                this.requestPartTypes = inputPart != null ? new QName[]{typeOf(inputPart)} : new QName[0];
+                this.responseParts = new String[0];
+            }
+        }
+
+        String getName() {
+            return qualifiedName.getLocalPart();
+        }
+
+        boolean isWrapped() {
+            return requestParts != null;
+        }
+
+        /**
+         * 调用计划的参数：包装风格为子元素，否则为消息体元素本身
+         */
+        WsdlServiceAdapter.OperationInfo toOperationInfo() {
+            WsdlServiceAdapter.OperationInfo operationInfo = new WsdlServiceAdapter.OperationInfo(getName());
+            QName[] names = isWrapped() ? requestParts : requestElement != null ? new QName[]{requestElement} : new QName[0];
+            for (int i = 0; i < names.length; i++) {
+                operationInfo.addInputParameter(new WsdlServiceAdapter.ParameterInfo(
+                        names[i].getLocalPart(), requestPartTypes[i], true, i));
+            }
+            return operationInfo;
+        }
+
+        Source buildRequest(Object[] args) throws XMLStreamException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            PayloadWriter writer = new PayloadWriter(StaxUtils.createXMLStreamWriter(bytes, StandardCharsets.UTF_8.name()));
+            if (requestElement != null) {
+                if (isWrapped()) {
+                    writer.startElement(requestElement);
+                    for (int i = 0; i < requestParts.length && i < args.length; i++) {
+                        writer.writeValue(requestParts[i], args[i]);
+                    }
+                    writer.endElement();
+                } else if (args.length > 0 && args[0] != null) {
+                    writer.writeValue(requestElement, args[0]);
+                } else {
+                    writer.startElement(requestElement);
+                    writer.endElement();
+                }
+            }
+            writer.close();
+            return new StreamSource(new ByteArrayInputStream(bytes.toByteArray()));
+        }
+
+        private static MessagePartInfo firstPart(MessageInfo message) {
+            return message != null && message.getMessagePartsNumber() > 0 ? message.getFirstMessagePart() : null;
+        }
+
+        /**
+         * 消息为包装风格时返回包装元素的子元素，否则返回null
+         */
+        private static List<XmlSchemaElement> wrapperChildren(MessageInfo message) {
+            if (message == null || message.getMessagePartsNumber() != 1) {
+                return null;
+            }
+            MessagePartInfo part = message.getFirstMessagePart();
+            if (!part.isElement() || !(part.getXmlSchema() instanceof XmlSchemaElement)) {
+                return null;
+            }
+            XmlSchemaType type = ((XmlSchemaElement) part.getXmlSchema()).getSchemaType();
+            if (!(type instanceof XmlSchemaComplexType)) {
+                return null;
+            }
+            XmlSchemaParticle particle = ((XmlSchemaComplexType) type).getParticle();
+            if (particle == null) {
+                return List.of();
+            }
+            if (!(particle instanceof XmlSchemaSequence)) {
+                return null;
+            }
+            List<XmlSchemaElement> children = new ArrayList<>();
+            for (XmlSchemaSequenceMember member : ((XmlSchemaSequence) particle).getItems()) {
+                if (!(member instanceof XmlSchemaElement)) {
+                    return null;
+                }
+                children.add((XmlSchemaElement) member);
+            }
+            return children;
+        }
+
+        private static QName wireName(XmlSchemaElement element) {
+            return element.isRef() ? element.getRef().getTargetQName() : element.getWireName();
+        }
+
+        private static QName typeOf(MessagePartInfo part) {
+            if (part.getTypeQName() != null) {
+                return part.getTypeQName();
+            }
+            return part.getXmlSchema() instanceof XmlSchemaElement
+                    ? ((XmlSchemaElement) part.getXmlSchema()).getSchemaTypeName()
+                    : null;
+        }
+    }
+
+    /**
+     * 将参数值写为XML元素：Map为复杂类型（"@"开头的键为属性），集合和数组为重复元素，
+     * 其他值为文本，null不输出。嵌套元素与父元素使用相同的命名空间
+     */
+    private static final class PayloadWriter {
+
+        private final XMLStreamWriter writer;
+        private int prefixCount;
+
+        PayloadWriter(XMLStreamWriter writer) {
+            this.writer = writer;
+        }
+
+        void writeValue(QName name, Object value) throws XMLStreamException {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof Collection) {
+                for (Object item : (Collection<?>) value) {
+                    writeValue(name, item);
+                }
+                return;
+            }
+            if (value.getClass().isArray() && !(value instanceof byte[])) {
+                for (int i = 0; i < Array.getLength(value); i++) {
+                    writeValue(name, Array.get(value, i));
+                }
+                return;
+            }
+
+            startElement(name);
+            if (value instanceof Map) {
+                Map<?, ?> fields = (Map<?, ?>) value;
+                // 属性必须在子元素之前写出
+                for (Map.Entry<?, ?> field : fields.entrySet()) {
+                    String key = String.valueOf(field.getKey());
+                    if (key.startsWith(StaxJsonTranscoder.ATTRIBUTE_PREFIX) && field.getValue() != null) {
+                        writer.writeAttribute(key.substring(1), String.valueOf(field.getValue()));
+                    }
+                }
+                for (Map.Entry<?, ?> field : fields.entrySet()) {
+                    String key = String.valueOf(field.getKey());
+                    if (key.startsWith(StaxJsonTranscoder.ATTRIBUTE_PREFIX)) {
+                        continue;
+                    }
+                    if (StaxJsonTranscoder.TEXT_FIELD.equals(key) && field.getValue() != null) {
+                        writer.writeCharacters(String.valueOf(field.getValue()));
+                    } else {
+                        writeValue(new QName(name.getNamespaceURI(), key), field.getValue());
+                    }
+                }
+            } else if (value instanceof byte[]) {
+                writer.writeCharacters(Base64.getEncoder().encodeToString((byte[]) value));
+            } else {
+                writer.writeCharacters(String.valueOf(value));
+            }
+            endElement();
+        }
+
+        void startElement(QName name) throws XMLStreamException {
+            String namespace = name.getNamespaceURI();
+            if (namespace == null || namespace.isEmpty()) {
+                writer.writeStartElement(name.getLocalPart());
+                return;
+            }
+            String prefix = writer.getPrefix(namespace);
+            if (prefix != null) {
+                writer.writeStartElement(prefix, name.getLocalPart(), namespace);
+                return;
+            }
+            prefix = "ns" + (++prefixCount);
+            writer.writeStartElement(prefix, name.getLocalPart(), namespace);
+            writer.writeNamespace(prefix, namespace);
+            writer.setPrefix(prefix, namespace);
+        }
+
+        void endElement() throws XMLStreamException {
+            writer.writeEndElement();
+        }
+
+        void close() throws XMLStreamException {
+            writer.flush();
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.exception.WsdlServiceException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.cxf.ws.security.tokenstore.SecurityToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 所有池化客户端共享的SecureConversation令牌（SecurityContextToken）缓存
+ *
+ * 每个后台地址只保留一个令牌：
+ * 令牌到期前（renew-before）由后台线程重新握手续期，调用线程通常不会遇到过期令牌；
+ * 令牌缺失或已过期时由第一个调用线程握手，同时到达的其他线程等待并共享其结果（避免握手风暴）；
+ * 续期失败时继续使用原令牌直到过期。在整个有效期内都没有被使用的令牌不再续期。
+ *
+ * 发布到Actuator的metrics端点：
+ * wsdl.security.sc.handshakes（标签outcome）：RST/RSTR握手次数（包括续期）；
+ * wsdl.security.sc.renewals（标签outcome）：后台续期次数；
+ * wsdl.security.sc.waits：等待其他线程握手结果的次数；
+ * wsdl.security.sc.token.age / wsdl.security.sc.token.remaining：当前令牌中最老的已使用时长和最近的剩余有效期（秒）
+ */
+@Service
+@Slf4j
+public class SecureConversationTokenCache {
+
+    @Value("${wsdl.security.sc.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${wsdl.security.sc.lifetime:300000}")
+    private long lifetimeMillis = 300_000;
+
+    @Value("${wsdl.security.sc.renew-before:60s}")
+    private Duration renewBefore = Duration.ofSeconds(60);
+
+    @Value("${wsdl.security.sc.renew-check-interval:5s}")
+    private Duration checkInterval = Duration.ofSeconds(5);
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final LongSupplier clock;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final SingleFlight<String, SecurityToken> handshakes = new SingleFlight<>();
+    private final LongAdder handshakeSuccesses = new LongAdder();
+    private final LongAdder handshakeFailures = new LongAdder();
+    private final LongAdder renewalSuccesses = new LongAdder();
+    private final LongAdder renewalFailures = new LongAdder();
+    private ScheduledExecutorService renewer;
+
+    /**
+     * 一次RST/RSTR握手
+     */
+    @FunctionalInterface
+    public interface Handshake {
+        SecurityToken issue() throws Exception;
+    }
+
+    public SecureConversationTokenCache() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock 当前时间（毫秒时间戳，与令牌的过期时间比较）
+     */
+    SecureConversationTokenCache(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("SecureConversation令牌共享缓存已禁用");
+            return;
+        }
+        long period = Math.max(1, checkInterval.toMillis());
+        renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wsdl-sc-renewal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        renewer.scheduleWithFixedDelay(this::renewExpiring, period, period, TimeUnit.MILLISECONDS);
+        registerMetrics();
+        log.info("启用SecureConversation令牌共享缓存，提前续期: {}", renewBefore);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (renewer != null) {
+            renewer.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 申请的令牌有效期（毫秒）
+     */
+    public long getLifetimeMillis() {
+        return lifetimeMillis;
+    }
+
+    /**
+     * 获取可用的令牌，没有可用令牌时握手（同一个键同时只握手一次）
+     *
+     * @param key 令牌键（后台地址等）
+     * @param handshake 握手方式，同时用于后台续期
+     */
+    public SecurityToken getToken(String key, Handshake handshake) {
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry(handshake));
+        long now = clock.getAsLong();
+        entry.lastUsed = now;
+        Slot slot = entry.slot;
+        if (slot != null && now < slot.expiresAt) {
+            return slot.token;
+        }
+        try {
+            return handshake(key, entry, false).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new WsdlServiceException("SecureConversation握手失败: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * 续期即将过期且在本次有效期内使用过的令牌（由后台线程按检查间隔调用）
+     */
+    void renewExpiring() {
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            Entry entry = e.getValue();
+            Slot slot = entry.slot;
+            if (slot == null || entry.lastUsed < slot.acquiredAt || !isExpiring(slot, clock.getAsLong())) {
+                continue;
+            }
+            try {
+                handshake(e.getKey(), entry, true).join();
+            } catch (CompletionException ex) {
+                log.warn("SecureConversation令牌续期失败，继续使用原令牌直到过期: {} - {}",
+                        e.getKey(), ex.getCause().getMessage());
+            }
+        }
+    }
+
+    private CompletableFuture<SecurityToken> handshake(String key, Entry entry, boolean renewal) {
+        return handshakes.execute(key, () -> {
+            // 等待期间其他线程可能已经完成了握手
+            Slot current = entry.slot;
+            long now = clock.getAsLong();
+            if (current != null && (renewal ? !isExpiring(current, now) : now < current.expiresAt)) {
+                return CompletableFuture.completedFuture(current.token);
+            }
+
+            try {
+                SecurityToken token = entry.handshake.issue();
+                long acquiredAt = clock.getAsLong();
+                long expiresAt = token.getExpires() != null
+                        ? token.getExpires().toEpochMilli() : acquiredAt + lifetimeMillis;
+                entry.slot = new Slot(token, acquiredAt, expiresAt);
+                handshakeSuccesses.increment();
+                if (renewal) {
+                    renewalSuccesses.increment();
+                }
+                log.info("SecureConversation握手完成（{}）: {}，有效期 {} 秒", renewal ? "续期" : "新建", key,
+                        TimeUnit.MILLISECONDS.toSeconds(expiresAt - acquiredAt));
+                return CompletableFuture.completedFuture(token);
+            } catch (Exception e) {
+                handshakeFailures.increment();
+                if (renewal) {
+                    renewalFailures.increment();
+                }
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+    }
+
+    private boolean isExpiring(Slot slot, long now) {
+        return now >= slot.expiresAt - renewBefore.toMillis();
+    }
+
+    long getHandshakeCount() {
+        return handshakeSuccesses.sum() + handshakeFailures.sum();
+    }
+
+    long getRenewalCount() {
+        return renewalSuccesses.sum();
+    }
+
+    /**
+     * 当前令牌中最老的已使用时长（秒）
+     */
+    double getOldestTokenAgeSeconds() {
+        long now = clock.getAsLong();
+        return entries.values().stream()
+                .map(entry -> entry.slot)
+                .filter(slot -> slot != null)
+                .mapToLong(slot -> now - slot.acquiredAt)
+                .max().orElse(0) / 1000.0;
+    }
+
+    /**
+     * 当前令牌中最近的剩余有效期（秒）
+     */
+    double getShortestRemainingSeconds() {
+        long now = clock.getAsLong();
+        return entries.values().stream()
+                .map(entry -> entry.slot)
+                .filter(slot -> slot != null)
+                .mapToLong(slot -> Math.max(0, slot.expiresAt - now))
+                .min().orElse(0) / 1000.0;
+    }
+
+    private void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+        registerCounter("wsdl.security.sc.handshakes", "SecureConversation握手次数", "success", handshakeSuccesses);
+        registerCounter("wsdl.security.sc.handshakes", "SecureConversation握手次数", "failure", handshakeFailures);
+        registerCounter("wsdl.security.sc.renewals", "SecureConversation令牌后台续期次数", "success", renewalSuccesses);
+        registerCounter("wsdl.security.sc.renewals", "SecureConversation令牌后台续期次数", "failure", renewalFailures);
+        FunctionCounter.builder("wsdl.security.sc.waits", handshakes, SingleFlight::getCoalescedCount)
+                .description("等待其他线程握手结果的次数")
+                .register(meterRegistry);
+        registerGauge("wsdl.security.sc.token.age", "当前令牌中最老的已使用时长",
+                SecureConversationTokenCache::getOldestTokenAgeSeconds);
+        registerGauge("wsdl.security.sc.token.remaining", "当前令牌中最近的剩余有效期",
+                SecureConversationTokenCache::getShortestRemainingSeconds);
+    }
+
+    private void registerCounter(String name, String description, String outcome, LongAdder counter) {
+        FunctionCounter.builder(name, counter, LongAdder::sum)
+                .description(description)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private void registerGauge(String name, String description, ToDoubleFunction<SecureConversationTokenCache> metric) {
+        Gauge.builder(name, this, metric)
+                .description(description)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 一个键的令牌和握手方式
+     */
+    private static class Entry {
+        final Handshake handshake;
+        volatile Slot slot;
+        volatile long lastUsed;
+
+        Entry(Handshake handshake) {
+            this.handshake = handshake;
+        }
+    }
+
+    /**
+     * 令牌及其获取和过期时间（不可变，整体替换）
+     */
+    private static class Slot {
+        final SecurityToken token;
+        final long acquiredAt;
+        final long expiresAt;
+
+        Slot(SecurityToken token, long acquiredAt, long expiresAt) {
+            this.token = token;
+            this.acquiredAt = acquiredAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.wsdlconverter.service;
+
+import org.apache.cxf.binding.soap.Soap11;
+import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageUtils;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.ws.policy.AssertionInfo;
+import org.apache.cxf.ws.policy.AssertionInfoMap;
+import org.apache.cxf.ws.security.SecurityConstants;
+import org.apache.cxf.ws.security.policy.PolicyUtils;
+import org.apache.cxf.ws.security.tokenstore.SecurityToken;
+import org.apache.cxf.ws.security.tokenstore.TokenStore;
+import org.apache.cxf.ws.security.tokenstore.TokenStoreException;
+import org.apache.cxf.ws.security.tokenstore.TokenStoreUtils;
+import org.apache.neethi.Policy;
+import org.apache.wss4j.policy.SPConstants;
+import org.apache.wss4j.policy.model.SecureConversationToken;
+
+import java.util.Collection;
+
+/**
+ * 为需要SecureConversation的请求提供共享缓存中的令牌
+ *
+ * 在CXF的SecureConversationOutInterceptor之前运行，把SecureConversationTokenCache中的令牌放入消息，
+ * CXF发现消息中已有令牌时不再自己握手。WSDL策略中没有SecureConversationToken的请求不做处理
+ */
+public class SecureConversationTokenInterceptor extends AbstractPhaseInterceptor<SoapMessage> {
+
+    private static final String CXF_SC_OUT_INTERCEPTOR =
+            "org.apache.cxf.ws.security.policy.interceptors.SecureConversationOutInterceptor";
+    private static final String WST_NS_05_02 = "http://schemas.xmlsoap.org/ws/2005/02/trust";
+    private static final String WST_NS_05_12 = "http://docs.oasis-open.org/ws-sx/ws-trust/200512";
+
+    private final SecureConversationTokenCache cache;
+    private final TokenRequester requester;
+
+    /**
+     * 向后台申请令牌（RST/RSTR握手）
+     */
+    @FunctionalInterface
+    public interface TokenRequester {
+        /**
+         * @param address 后台地址（同时作为AppliesTo）
+         * @param trustNamespace WS-Trust命名空间（与策略中的WS-SecurityPolicy版本对应）
+         * @param bootstrapPolicy 握手消息的安全策略，没有时为null
+         * @param soap11 是否为SOAP 1.1
+         */
+        SecurityToken request(String address, String trustNamespace, Policy bootstrapPolicy, boolean soap11)
+                throws Exception;
+    }
+
+    public SecureConversationTokenInterceptor(SecureConversationTokenCache cache, TokenRequester requester) {
+        super(Phase.PREPARE_SEND);
+        addBefore(CXF_SC_OUT_INTERCEPTOR);
+        this.cache = cache;
+        this.requester = requester;
+    }
+
+    @Override
+    public void handleMessage(SoapMessage message) throws Fault {
+        AssertionInfoMap aim = message.get(AssertionInfoMap.class);
+        if (aim == null || !MessageUtils.isRequestor(message) || message.getContextualProperty(SecurityConstants.TOKEN) != null) {
+            return;
+        }
+        Collection<AssertionInfo> ais = PolicyUtils.getAllAssertionsByLocalname(aim, SPConstants.SECURE_CONVERSATION_TOKEN);
+        if (ais.isEmpty()) {
+            return;
+        }
+
+        SecureConversationToken sct = (SecureConversationToken) ais.iterator().next().getAssertion();
+        String address = (String) message.get(Message.ENDPOINT_ADDRESS);
+        String trustNamespace = sct.getVersion() == SPConstants.SPVersion.SP11 ? WST_NS_05_02 : WST_NS_05_12;
+        Policy bootstrapPolicy = sct.getBootstrapPolicy() != null ? sct.getBootstrapPolicy().getPolicy() : null;
+        boolean soap11 = message.getVersion() instanceof Soap11;
+
+        SecurityToken token;
+        try {
+            token = cache.getToken(address + '|' + trustNamespace,
+                    () -> requester.request(address, trustNamespace, bootstrapPolicy, soap11));
+        } catch (RuntimeException e) {
+            throw new Fault(e);
+        }
+
+        message.put(SecurityConstants.TOKEN, token);
+        message.put(SecurityConstants.TOKEN_ID, token.getId());
+        try {
+            TokenStore store = TokenStoreUtils.getTokenStore(message);
+            if (store.getToken(token.getId()) == null) {
+                store.add(token);
+            }
+        } catch (TokenStoreException e) {
+            throw new Fault(e);
+        }
+    }
+}
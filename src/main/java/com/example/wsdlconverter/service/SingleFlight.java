@@ -0,0 +1,91 @@
+package com.example.wsdlconverter.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 合并相同的并发调用（single-flight）
+ *
+ * 同一个键同时只执行一次调用，调用期间到达的相同请求共享该调用的结果。
+ * 调用完成后立即移除，之后的请求会发起新的调用，因此不会返回过期结果。
+ *
+ * @param <K> 调用键类型（需正确实现equals/hashCode）
+ * @param <V> 结果类型
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executedCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final Consumer<K> coalescedListener;
+
+    public SingleFlight() {
+        this(key -> { });
+    }
+
+    /**
+     * @param coalescedListener 每次调用被合并时回调（用于按键统计）
+     */
+    public SingleFlight(Consumer<K> coalescedListener) {
+        this.coalescedListener = coalescedListener;
+    }
+
+    /**
+     * 执行调用，若相同键的调用正在进行则共享其结果
+     *
+     * @param key 调用键
+     * @param call 实际调用；同步调用可直接返回已完成的Future，此时由第一个调用者的线程执行
+     * @return 调用结果的Future
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            coalescedCount.increment();
+            coalescedListener.accept(key);
+            return existing;
+        }
+
+        executedCount.increment();
+        try {
+            call.get().whenComplete((value, error) -> {
+                // 先移除再完成，保证完成之后到达的请求发起新的调用
+                inFlight.remove(key, promise);
+                if (error != null) {
+                    promise.completeExceptionally(error);
+                } else {
+                    promise.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, promise);
+            promise.completeExceptionally(e);
+        }
+        return promise;
+    }
+
+    /**
+     * 当前正在进行的调用数量
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * 实际执行的调用次数
+     */
+    public long getExecutedCount() {
+        return executedCount.sum();
+    }
+
+    /**
+     * 被合并（未实际执行）的调用次数
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.wsdlconverter.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * 基于StAX的XML转JSON流式转换
+ *
+ * 边读边写，只保留当前元素的文本和属性，内存占用与报文大小无关。转换规则：
+ * 只有文本的元素输出为字符串（按XSD类型输出数值/布尔值），含子元素的元素输出为对象，
+ * XSD中maxOccurs > 1的连续同名子元素输出为数组，xsi:nil="true"输出为null，
+ * 属性以"@属性名"输出，同时含属性和文本的元素的文本以"value"输出。
+ */
+final class StaxJsonTranscoder {
+
+    static final String TEXT_FIELD = "value";
+    static final String ATTRIBUTE_PREFIX = "@";
+
+    private StaxJsonTranscoder() {
+    }
+
+    /**
+     * 将当前元素转换为JSON值
+     *
+     * @param reader 位于元素START_ELEMENT的读取器，返回时位于该元素的END_ELEMENT
+     */
+    static void writeElement(XMLStreamReader reader, JsonGenerator json, XmlElementShapes shapes)
+            throws XMLStreamException, IOException {
+        if (isNil(reader)) {
+            skipElement(reader);
+            json.writeNull();
+            return;
+        }
+
+        XmlElementShapes.ValueKind kind = shapes.valueKind(reader.getName());
+        String[] attributes = readAttributes(reader);
+        StringBuilder text = null;
+        while (true) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    // 含子元素：忽略子元素之间的空白文本
+                    json.writeStartObject();
+                    writeAttributes(json, attributes);
+                    writeChildren(reader, json, shapes);
+                    json.writeEndObject();
+                    return;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (text == null) {
+                        text = new StringBuilder();
+                    }
+                    text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    String value = text != null ? text.toString() : "";
+                    if (attributes == null) {
+                        writeScalar(json, value, kind);
+                    } else {
+                        json.writeStartObject();
+                        writeAttributes(json, attributes);
+                        json.writeFieldName(TEXT_FIELD);
+                        writeScalar(json, value, kind);
+                        json.writeEndObject();
+                    }
+                    return;
+                default:
+                    // 注释、处理指令等忽略
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 将父元素的所有子元素写为当前JSON对象的字段
+     *
+     * @param reader 位于第一个子元素START_ELEMENT的读取器，返回时位于父元素的END_ELEMENT
+     */
+    static void writeChildren(XMLStreamReader reader, JsonGenerator json, XmlElementShapes shapes)
+            throws XMLStreamException, IOException {
+        QName openArray = null;
+        int event = XMLStreamConstants.START_ELEMENT;
+        while (event != XMLStreamConstants.END_ELEMENT) {
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                QName name = reader.getName();
+                if (openArray != null && !openArray.equals(name)) {
+                    json.writeEndArray();
+                    openArray = null;
+                }
+                if (openArray == null) {
+                    json.writeFieldName(name.getLocalPart());
+                    if (shapes.isRepeated(name)) {
+                        json.writeStartArray();
+                        openArray = name;
+                    }
+                }
+                writeElement(reader, json, shapes);
+            }
+            event = reader.next();
+        }
+        if (openArray != null) {
+            json.writeEndArray();
+        }
+    }
+
+    /**
+     * 跳过当前元素及其所有子元素
+     *
+     * @param reader 位于元素START_ELEMENT的读取器，返回时位于该元素的END_ELEMENT
+     */
+    static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * 前进到下一个START_ELEMENT或END_ELEMENT
+     *
+     * @return 当前事件类型
+     */
+    static int toNextTag(XMLStreamReader reader) throws XMLStreamException {
+        int event = reader.getEventType();
+        while (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT
+                && event != XMLStreamConstants.END_DOCUMENT) {
+            event = reader.next();
+        }
+        return event;
+    }
+
+    private static boolean isNil(XMLStreamReader reader) {
+        String nil = reader.getAttributeValue(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "nil");
+        return "true".equals(nil) || "1".equals(nil);
+    }
+
+    /**
+     * 读取元素的属性（忽略xsi命名空间的属性），没有属性时返回null
+     *
+     * @return 名称和值交替排列的数组
+     */
+    private static String[] readAttributes(XMLStreamReader reader) {
+        int count = reader.getAttributeCount();
+        if (count == 0) {
+            return null;
+        }
+        String[] attributes = new String[count * 2];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI.equals(reader.getAttributeNamespace(i))) {
+                continue;
+            }
+            attributes[size++] = reader.getAttributeLocalName(i);
+            attributes[size++] = reader.getAttributeValue(i);
+        }
+        if (size == 0) {
+            return null;
+        }
+        return size == attributes.length ? attributes : Arrays.copyOf(attributes, size);
+    }
+
+    private static void writeAttributes(JsonGenerator json, String[] attributes) throws IOException {
+        if (attributes == null) {
+            return;
+        }
+        for (int i = 0; i < attributes.length; i += 2) {
+            json.writeStringField(ATTRIBUTE_PREFIX + attributes[i], attributes[i + 1]);
+        }
+    }
+
+    private static void writeScalar(JsonGenerator json, String value, XmlElementShapes.ValueKind kind)
+            throws IOException {
+        switch (kind) {
+            case NUMBER:
+                String number = value.trim();
+                if (number.isEmpty()) {
+                    json.writeNull();
+                    return;
+                }
+                BigDecimal parsed;
+                try {
+                    parsed = new BigDecimal(number);
+                } catch (NumberFormatException e) {
+                    // INF、NaN等JSON无法表示的值按字符串输出
+                    json.writeString(value);
+                    return;
+                }
+                json.writeNumber(parsed);
+                return;
+            case BOOLEAN:
+                String bool = value.trim();
+                if ("true".equals(bool) || "1".equals(bool)) {
+                    json.writeBoolean(true);
+                } else if ("false".equals(bool) || "0".equals(bool)) {
+                    json.writeBoolean(false);
+                } else if (bool.isEmpty()) {
+                    json.writeNull();
+                } else {
+                    json.writeString(value);
+                }
+                return;
+            default:
+                json.writeString(value);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.wsdlconverter.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageContentsList;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.service.model.BindingOperationInfo;
+import org.apache.cxf.wsdl.interceptors.DocLiteralInInterceptor;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 流式响应拦截器：将SOAP响应体直接转换为JSON写入输出流
+ *
+ * 在反序列化之前接管消息体的XMLStreamReader，边读边写出JSON，然后中止拦截器链，
+ * 响应不再反序列化为JAXB对象。只处理请求上下文中带有{@link Target}的调用，
+ * 其他调用原样放行。SOAP Fault在此之前已由CheckFaultInterceptor转入Fault处理链。
+ */
+class StreamingJsonInInterceptor extends AbstractPhaseInterceptor<Message> {
+
+    /** 请求上下文中流式输出目标的键 */
+    static final String TARGET_KEY = StreamingJsonInInterceptor.class.getName() + ".target";
+
+    private static final String RESULT_SUCCESS = "success";
+    private static final String RESULT_DATA = "data";
+
+    StreamingJsonInInterceptor() {
+        super(Phase.UNMARSHAL);
+        addBefore(DocLiteralInInterceptor.class.getName());
+    }
+
+    @Override
+    public void handleMessage(Message message) throws Fault {
+        Exchange exchange = message.getExchange();
+        // 请求上下文在发送时已复制到出站消息中
+        Message outMessage = exchange.getOutMessage();
+        Target target = outMessage != null ? (Target) outMessage.get(TARGET_KEY) : null;
+        XMLStreamReader reader = message.getContent(XMLStreamReader.class);
+        if (target == null || reader == null) {
+            return;
+        }
+
+        try {
+            writeResponse(reader, target, exchange.getBindingOperationInfo());
+        } catch (XMLStreamException | IOException e) {
+            throw new Fault(e);
+        }
+
+        // 结果已写出，返回占位结果（Dispatch调用要求至少一个结果）并跳过后续的反序列化
+        message.setContent(List.class, new MessageContentsList((Object) null));
+        message.getInterceptorChain().abort();
+    }
+
+    private static void writeResponse(XMLStreamReader reader, Target target, BindingOperationInfo operation)
+            throws XMLStreamException, IOException {
+        JsonGenerator json = target.getJson();
+        target.started = true;
+        json.writeStartObject();
+        json.writeBooleanField(RESULT_SUCCESS, true);
+        json.writeFieldName(RESULT_DATA);
+
+        // 此时读取器位于soap:Body开始标签之后
+        if (StaxJsonTranscoder.toNextTag(reader) != XMLStreamConstants.START_ELEMENT) {
+            json.writeNull();
+        } else if (target.singlePartWrapper != null ? target.singlePartWrapper : isSinglePartWrapper(operation)) {
+            // 包装风格且只有一个返回值：与常规调用一致，直接输出返回值本身
+            reader.next();
+            if (StaxJsonTranscoder.toNextTag(reader) == XMLStreamConstants.START_ELEMENT) {
+                StaxJsonTranscoder.writeElement(reader, json, target.getShapes());
+            } else {
+                json.writeNull();
+            }
+        } else {
+            StaxJsonTranscoder.writeElement(reader, json, target.getShapes());
+        }
+
+        json.writeEndObject();
+        json.flush();
+        target.completed = true;
+    }
+
+    private static boolean isSinglePartWrapper(BindingOperationInfo operation) {
+        if (operation == null) {
+            return false;
+        }
+        BindingOperationInfo unwrapped = operation.isUnwrapped() ? operation
+                : operation.isUnwrappedCapable() ? operation.getUnwrappedOperation() : null;
+        return unwrapped != null && unwrapped.getOperationInfo().getOutput() != null
+                && unwrapped.getOperationInfo().getOutput().getMessagePartsNumber() == 1;
+    }
+
+    /**
+     * 一次流式调用的输出目标
+     */
+    static final class Target {
+
+        private final JsonGenerator json;
+        private final XmlElementShapes shapes;
+        private volatile Boolean singlePartWrapper;
+        private volatile boolean started;
+        private volatile boolean completed;
+
+        Target(JsonGenerator json, XmlElementShapes shapes) {
+            this.json = json;
+            this.shapes = shapes;
+        }
+
+        JsonGenerator getJson() {
+            return json;
+        }
+
+        XmlElementShapes getShapes() {
+            return shapes;
+        }
+
+        /**
+         * 指定响应是否为只有一个返回值的包装元素；未指定时按交换中的绑定操作判断
+         */
+        void setSinglePartWrapper(boolean singlePartWrapper) {
+            this.singlePartWrapper = singlePartWrapper;
+        }
+
+        /**
+         * 是否已开始写出响应（之后失败时输出可能不完整）
+         */
+        boolean isStarted() {
+            return started;
+        }
+
+        /**
+         * 响应是否已完整写出
+         */
+        boolean isCompleted() {
+            return completed;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.wsdlconverter.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 虚拟线程支持工具
+ *
+ * 项目以Java 17为编译目标，虚拟线程（Java 21+）通过反射获取，
+ * 在不支持的JVM上返回空值，由调用方决定回退策略
+ */
+@Slf4j
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 当前JVM是否支持虚拟线程
+     */
+    public static boolean isSupported() {
+        return findFactoryMethod() != null;
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的执行器
+     *
+     * @return 执行器；JVM不支持虚拟线程时返回空
+     */
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        Method factoryMethod = findFactoryMethod();
+        if (factoryMethod == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((ExecutorService) factoryMethod.invoke(null));
+        } catch (ReflectiveOperationException e) {
+            // Java 19/20中虚拟线程为预览特性，未开启--enable-preview时调用会失败
+            log.warn("创建虚拟线程执行器失败: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static Method findFactoryMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -2,30 +2,59 @@ package com.example.wsdlconverter.service;
 
 import com.example.wsdlconverter.config.WsdlClientConfig;
 import com.example.wsdlconverter.config.PfsCompatibleSecurityConfig;
+import com.example.wsdlconverter.config.UsernameTokenSecurity;
+import com.example.wsdlconverter.exception.CallRejectedException;
+import com.example.wsdlconverter.exception.ClientPoolClosedException;
+import com.example.wsdlconverter.exception.ClientPoolExhaustedException;
 import com.example.wsdlconverter.exception.WsdlServiceException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.cxf.endpoint.Client;
+import org.apache.cxf.endpoint.ClientCallback;
+import org.apache.cxf.endpoint.ClientImpl;
 import org.apache.cxf.endpoint.dynamic.DynamicClientFactory;
-import org.apache.cxf.ext.logging.LoggingInInterceptor;
-import org.apache.cxf.ext.logging.LoggingOutInterceptor;
 import org.apache.cxf.jaxws.endpoint.dynamic.JaxWsDynamicClientFactory;
-import org.apache.cxf.ws.security.wss4j.WSS4JOutInterceptor;
-import org.apache.wss4j.dom.handler.WSHandlerConstants;
-import org.apache.wss4j.common.ext.WSPasswordCallback;
+import org.apache.cxf.service.model.BindingOperationInfo;
+import org.apache.cxf.service.model.MessagePartInfo;
+import org.apache.cxf.transport.http.asyncclient.AsyncHTTPConduit;
+import org.apache.cxf.transport.http.asyncclient.AsyncHTTPConduitFactory;
+import org.apache.cxf.ws.security.SecurityConstants;
+import org.apache.cxf.ws.security.tokenstore.SecurityToken;
+import org.apache.cxf.ws.security.trust.STSClient;
+import org.apache.cxf.wsdl.WSDLManager;
+import org.apache.neethi.Policy;
+import org.apache.ws.commons.schema.XmlSchemaElement;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 import javax.wsdl.Definition;
-import javax.wsdl.Message;
-import javax.wsdl.Operation;
-import javax.wsdl.Part;
-import javax.wsdl.PortType;
-import javax.wsdl.factory.WSDLFactory;
-import javax.wsdl.xml.WSDLReader;
 import javax.xml.namespace.QName;
-import java.lang.reflect.Method;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -43,6 +72,7 @@ public class WsdlServiceAdapter {
     private static final String METHOD_PING = "ping";
     private static final String RESULT_SUCCESS = "success";
     private static final String RESULT_DATA = "data";
+    private static final String ENGINE_DISPATCH = "dispatch";
 
     @Autowired
     private WsdlClientConfig wsdlClientConfig;
@@ -53,6 +83,42 @@ public class WsdlServiceAdapter {
     @Autowired
     private PfsCompatibleSecurityConfig pfsSecurityConfig;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private OperationResponseCache responseCache;
+
+    @Autowired(required = false)
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired(required = false)
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired(required = false)
+    private EndpointLoadBalancer loadBalancer;
+
+    @Autowired(required = false)
+    private JaxbSerializerRegistry serializerRegistry;
+
+    @Autowired(required = false)
+    private PayloadCaptureService payloadCapture;
+
+    @Autowired(required = false)
+    private InvocationMetrics invocationMetrics;
+
+    @Autowired(required = false)
+    private InvocationStats invocationStats;
+
+    @Autowired(required = false)
+    private SecureConversationTokenCache scTokenCache;
+
+    @Autowired(required = false)
+    private CompiledClientCache compiledClientCache;
+
     @Value("${wsdl.file.url:}")
     private String wsdlFileUrl;
 
@@ -71,6 +137,9 @@ public class WsdlServiceAdapter {
     @Value("${wsdl.security.use-pfs-compatible:true}")
     private boolean usePfsCompatible;
 
+    @Value("${wsdl.security.processing:dom}")
+    private String securityProcessing;
+
     @Value("${wsdl.security.pfs.client-id:DEFAULT}")
     private String pfsClientId;
 
@@ -80,36 +149,76 @@ public class WsdlServiceAdapter {
     @Value("${wsdl.security.pfs.change-password:false}")
     private boolean pfsChangePassword;
 
+    @Value("${wsdl.security.sc.lifetime:300000}")
+    private long scLifetime;
+
+    @Value("${wsdl.client.pool.min-size:1}")
+    private int poolMinSize;
+
+    @Value("${wsdl.client.pool.max-size:0}")
+    private int poolMaxSize;
+
+    // 未配置客户端池最大容量时，按可能同时阻塞在后台调用上的线程数确定
+    @Value("${server.tomcat.threads.max:200}")
+    private int requestThreads;
+
+    @Value("${wsdl.batch.threads:32}")
+    private int batchThreads;
+
+    @Value("${wsdl.client.pool.borrow-timeout:5000}")
+    private long poolBorrowTimeout;
+
+    @Value("${wsdl.client.pool.idle-timeout:60000}")
+    private long poolIdleTimeout;
+
+    @Value("${wsdl.coalescing.operations:}")
+    private String coalescingOperations;
+
+    @Value("${wsdl.invoke.engine:jaxb}")
+    private String invokeEngine;
+
+    // 原型客户端：持有WSDL编译生成的Endpoint，池中的客户端共享该Endpoint
     private org.apache.cxf.endpoint.Client dynamicClient;
-    private Definition wsdlDefinition;
+    private volatile DynamicClientPool clientPool;
+    // Dispatch调用引擎（wsdl.invoke.engine=dispatch时使用，替代JAXB动态客户端和客户端池）
+    private volatile PayloadDispatchEngine payloadEngine;
+    private final AtomicBoolean poolMetricsRegistered = new AtomicBoolean();
+    private final SingleFlight<InvocationKey, Object[]> singleFlight = new SingleFlight<>(this::onCoalesced);
+    private final StreamingJsonInInterceptor streamingInterceptor = new StreamingJsonInInterceptor();
+    // 池化客户端共享的SecureConversation令牌拦截器（首次配置安全时创建）
+    private volatile SecureConversationTokenInterceptor scTokenInterceptor;
+    private volatile XmlElementShapes elementShapes = XmlElementShapes.EMPTY;
+    private Set<String> coalescedOperations = Set.of();
+    private volatile String resolvedWsdlSource;
+    private volatile Map<String, Long> initTimings = Map.of();
     private List<String> availableMethods;
-    private Map<String, OperationInfo> operationInfoMap;
+    private volatile InvocationPlan.Registry invocationPlans = InvocationPlan.Registry.EMPTY;
+    private volatile ObjectMapper argumentMapper;
 
     /**
      * 初始化WSDL客户端
+     *
+     * WSDL只解析一次：客户端的服务模型（ServiceInfo）是可用方法、参数顺序和类型的唯一来源，
+     * 客户端创建后只读取服务模型的步骤并行执行，各步骤耗时见{@link #getServiceInfo()}的initTimings
      */
     @PostConstruct
     public void initializeWsdlClient() {
+        InitializationTimings timings = new InitializationTimings(meterRegistry);
         try {
             log.info("正在初始化WSDL客户端...");
             
-            // 确定WSDL源
-            String wsdlSource = determineWsdlSource();
+            coalescedOperations = parseOperationNames(coalescingOperations);
+            
+            // 确定WSDL源（复杂WSDL在这里合并为本地文件，之后不再访问原始URL）
+            String wsdlSource = timings.time("resolve", this::determineWsdlSource);
+            resolvedWsdlSource = wsdlSource;
             log.info("使用WSDL源: {}", wsdlSource);
             
-            // 尝试创建动态客户端
-            boolean clientCreated = tryCreateDynamicClient(wsdlSource);
+            boolean clientCreated = isDispatchEngine()
+                    ? tryCreatePayloadEngine(wsdlSource, timings)
+                    : tryCreateDynamicClient(wsdlSource, timings);
             
             if (clientCreated) {
-                // 解析WSDL定义
-                parseWsdlDefinition(wsdlSource);
-                
-                // 提取可用方法
-                extractAvailableMethods();
-                
-                // 解析操作信息
-                parseOperationInfos();
-                
                 log.info("WSDL客户端初始化完成，可用方法数量: {}", availableMethods.size());
             } else {
                 log.warn("WSDL客户端初始化失败，应用将以有限功能模式启动");
@@ -121,6 +230,9 @@ public class WsdlServiceAdapter {
             log.error("初始化WSDL客户端失败: {}", e.getMessage(), e);
             // 设置默认方法以支持基本操作
             setDefaultMethods();
+        } finally {
+            initTimings = timings.toMillis();
+            log.info("WSDL客户端初始化耗时（毫秒）: {}", initTimings);
         }
     }
 
@@ -188,31 +300,160 @@ public class WsdlServiceAdapter {
     /**
      * 尝试创建动态客户端
      * @param wsdlSource WSDL源
+     * @param timings 初始化各步骤耗时
      * @return 是否创建成功
      */
-    private boolean tryCreateDynamicClient(String wsdlSource) {
+    private boolean tryCreateDynamicClient(String wsdlSource, InitializationTimings timings) {
         if (wsdlSource == null) {
             log.warn("WSDL源为空，无法创建动态客户端");
             return false;
         }
         
+        org.apache.cxf.Bus bus = org.apache.cxf.BusFactory.getDefaultBus();
+        Client client;
         try {
-            createDynamicClient(wsdlSource);
-            return true;
+            evictCachedDefinition(bus, wsdlSource);
+            
+            // WSDL内容未变化时复用编译生成的类
+            String cacheKey = timings.time("cache-key",
+                    () -> compiledClientCache != null ? compiledClientCache.computeKey(wsdlSource) : null);
+            client = timings.time("client", () -> createDynamicClient(bus, wsdlSource, cacheKey));
         } catch (Exception e) {
             log.error("创建动态客户端失败: {}", e.getMessage());
             log.error("可能的原因: 1) WSDL URL无法访问 2) 本地WSDL文件不存在或格式错误 3) 网络连接问题");
+            discardClient();
             return false;
         }
+        
+        // 以下步骤都只读取原型客户端的服务模型，相互独立，并行构建各自的结果；
+        // 全部完成后才一起替换，调用不会看到新的调用计划配上旧的客户端池（或相反）
+        ExecutorService executor = newInitExecutor(4);
+        CompletableFuture<DynamicClientPool> pool = null;
+        try {
+            // 服务模型中的操作作为可用方法、参数定义和调用计划的来源
+            // JAXB动态客户端按展开后的参数绑定，复杂类型直接反序列化为生成的JAXB类
+            CompletableFuture<InvocationPlan.Registry> plans = supplyStep(timings, "operations",
+                    () -> compilePlans(parseClientOperationInfos(client)), executor);
+            // 为生成的JAXB响应类预编译序列化器，首次请求不再进行Bean内省
+            CompletableFuture<Map<Class<?>, JaxbSerializerRegistry.PrecompiledBeanSerializer>> serializers =
+                    supplyStep(timings, "serializers", () -> buildResponseSerializers(client), executor);
+            // 提取XSD中的元素形状，供流式响应转换使用
+            CompletableFuture<XmlElementShapes> shapes = supplyStep(timings, "shapes",
+                    () -> XmlElementShapes.from(client.getEndpoint().getService().getServiceInfos()), executor);
+            // 基于原型客户端的Endpoint创建客户端池
+            pool = supplyStep(timings, "pool", () -> newClientPool(bus, client), executor);
+            CompletableFuture.allOf(plans, serializers, shapes, pool).join();
+            
+            dynamicClient = client;
+            applyOperations(plans.join());
+            if (serializerRegistry != null) {
+                serializerRegistry.publish(serializers.join());
+            }
+            elementShapes = shapes.join();
+            log.debug("流式响应转换: {} 个重复元素", elementShapes.getRepeatedCount());
+            replaceClientPool(pool.join());
+            return true;
+        } catch (Exception e) {
+            log.error("初始化动态客户端失败: {}", InvocationDispatcher.unwrap(e).getMessage());
+            // 已创建但没有替换上去的客户端池不再使用
+            if (pool != null) {
+                pool.thenAccept(DynamicClientPool::close);
+            }
+            discardClient();
+            return false;
+        } finally {
+            executor.shutdown();
+        }
     }
 
     /**
-     * 创建动态客户端
+     * 初始化失败时丢弃已创建的客户端和客户端池，避免以默认方法列表报告客户端已初始化
      */
-    private void createDynamicClient(String wsdlSource) throws Exception {
-        // 获取或创建Bus
-        org.apache.cxf.Bus bus = org.apache.cxf.BusFactory.getDefaultBus();
+    private void discardClient() {
+        dynamicClient = null;
+        payloadEngine = null;
+        DynamicClientPool pool = clientPool;
+        clientPool = null;
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    /**
+     * 创建执行并行初始化步骤的线程池（守护线程，初始化结束后关闭）
+     */
+    private static ExecutorService newInitExecutor(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "wsdl-init-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 在线程池中执行一个初始化步骤并记录耗时
+     */
+    private static <T> CompletableFuture<T> supplyStep(InitializationTimings timings, String step,
+                                                       Callable<T> task, ExecutorService executor) {
+        return CompletableFuture.supplyAsync(() -> timings.time(step, task), executor);
+    }
+
+    private boolean isDispatchEngine() {
+        return invokeEngine != null && ENGINE_DISPATCH.equalsIgnoreCase(invokeEngine.trim());
+    }
+
+    /**
+     * 尝试创建Dispatch调用引擎
+     * @param wsdlSource WSDL源
+     * @param timings 初始化各步骤耗时
+     * @return 是否创建成功
+     */
+    private boolean tryCreatePayloadEngine(String wsdlSource, InitializationTimings timings) {
+        if (wsdlSource == null) {
+            log.warn("WSDL源为空，无法创建Dispatch调用引擎");
+            return false;
+        }
         
+        try {
+            // Dispatch引擎不生成JAXB类，需要先解析WSDL定义以确定服务和端口；
+            // 解析结果缓存在Bus的WSDLManager中，创建Dispatch时不再重复解析
+            org.apache.cxf.Bus bus = org.apache.cxf.BusFactory.getDefaultBus();
+            evictCachedDefinition(bus, wsdlSource);
+            Definition definition = timings.time("parse",
+                    () -> bus.getExtension(WSDLManager.class).getDefinition(toWsdlUrl(wsdlSource)));
+            
+            PayloadDispatchEngine engine = timings.time("client",
+                    () -> PayloadDispatchEngine.create(wsdlSource, definition, objectMapper));
+            Client client = engine.getClient();
+            wsdlClientConfig.configureHttpConduit(client);
+            client.getInInterceptors().add(streamingInterceptor);
+            addPayloadCapture(client);
+            addInvocationTiming(client);
+            if (securityEnabled) {
+                configureDynamicClientSecurity(client);
+            }
+            // 配置完成后请求上下文按线程隔离
+            engine.start();
+            
+            // Dispatch引擎按包装元素的子元素绑定参数
+            applyOperations(timings.time("operations", () -> compilePlans(engine.getOperationInfos())));
+            
+            elementShapes = engine.getShapes();
+            payloadEngine = engine;
+            log.info("Dispatch调用引擎创建成功");
+            return true;
+        } catch (Exception e) {
+            log.error("创建Dispatch调用引擎失败: {}", e.getMessage());
+            discardClient();
+            return false;
+        }
+    }
+
+    /**
+     * 创建动态客户端（原型客户端，持有WSDL编译生成的Endpoint和服务模型）
+     */
+    private Client createDynamicClient(org.apache.cxf.Bus bus, String wsdlSource, String cacheKey) {
         // 如果使用PFS兼容模式，启用SecureConversation但配置PFS认证
         if (usePfsCompatible) {
             log.info("启用SecureConversation支持，使用PFS认证");
@@ -220,95 +461,136 @@ public class WsdlServiceAdapter {
             // 但我们会在RST消息中使用PFS认证
         }
         
-        // 创建工厂并使用该Bus
-        DynamicClientFactory factory = JaxWsDynamicClientFactory.newInstance(bus);
+        // 创建工厂并使用该Bus（启用客户端缓存时编译结果从缓存读取）
+        DynamicClientFactory factory = compiledClientCache != null
+                ? compiledClientCache.createClientFactory(bus, cacheKey)
+                : JaxWsDynamicClientFactory.newInstance(bus);
         
         // 创建客户端
-        dynamicClient = factory.createClient(wsdlSource);
-        
-        // 配置安全设置（如果启用）
-        if (securityEnabled) {
-            configureDynamicClientSecurity();
-        }
-        
+        Client client = factory.createClient(wsdlSource);
         log.info("动态客户端创建成功");
+        return client;
     }
 
     /**
-     * 解析WSDL定义
+     * 移除Bus中缓存的WSDL定义
+     *
+     * CXF按URL缓存WSDL的解析结果，重新初始化时WSDL内容可能已经变化
      */
-    private void parseWsdlDefinition(String wsdlSource) {
-        try {
-            WSDLFactory wsdlFactory = WSDLFactory.newInstance();
-            WSDLReader reader = wsdlFactory.newWSDLReader();
-            
-            if (wsdlSource.startsWith("http")) {
-                wsdlDefinition = reader.readWSDL(wsdlSource);
-            } else {
-                wsdlDefinition = reader.readWSDL(new java.io.File(wsdlSource).toURI().toString());
-            }
-            
-            log.info("WSDL定义解析完成");
-        } catch (Exception e) {
-            log.warn("解析WSDL定义失败，将使用反射方式获取方法: {}", e.getMessage());
+    private static void evictCachedDefinition(org.apache.cxf.Bus bus, String wsdlSource) {
+        WSDLManager wsdlManager = bus.getExtension(WSDLManager.class);
+        Definition cached = wsdlManager.getDefinitions().get(toWsdlUrl(wsdlSource));
+        if (cached != null) {
+            wsdlManager.removeDefinition(cached);
         }
     }
 
+    private static String toWsdlUrl(String wsdlSource) {
+        return wsdlSource.startsWith("http") ? wsdlSource : new java.io.File(wsdlSource).toURI().toString();
+    }
+
     /**
-     * 提取可用方法列表
+     * 基于原型客户端的Endpoint创建客户端池并预先创建最小数量的客户端
+     *
+     * 同步调用在整个后台往返期间占用借出的客户端，因此默认容量为请求线程数与批量调用线程数之和，
+     * 每个可能阻塞在后台调用上的线程都能借到客户端；客户端按需创建，空闲时回收
      */
-    private void extractAvailableMethods() {
-        availableMethods = new ArrayList<>();
-        
+    private DynamicClientPool newClientPool(org.apache.cxf.Bus bus, Client prototype) {
+        int maxSize = poolMaxSize > 0 ? poolMaxSize : requestThreads + batchThreads;
+        org.apache.cxf.endpoint.Endpoint endpoint = prototype.getEndpoint();
+        DynamicClientPool newPool = new DynamicClientPool(
+                () -> createPooledClient(bus, endpoint), poolMinSize, maxSize, poolBorrowTimeout, poolIdleTimeout);
         try {
-            if (wsdlDefinition != null) {
-                // 从WSDL定义提取方法
-                extractMethodsFromWsdl();
-            } else {
-                // 从动态客户端提取方法
-                extractMethodsFromClient();
-            }
-        } catch (Exception e) {
-            log.error("提取可用方法失败: {}", e.getMessage(), e);
-            availableMethods = List.of(METHOD_GET_VERSION, METHOD_PING, "echo"); // 默认方法
+            newPool.prefill();
+        } catch (RuntimeException e) {
+            newPool.close();
+            throw e;
+        }
+        return newPool;
+    }
+
+    /**
+     * 替换并关闭旧的客户端池
+     */
+    private void replaceClientPool(DynamicClientPool newPool) {
+        DynamicClientPool oldPool = clientPool;
+        clientPool = newPool;
+        if (oldPool != null) {
+            oldPool.close();
         }
         
-        log.info("提取到的方法: {}", availableMethods);
+        registerPoolMetrics();
     }
 
     /**
-     * 从WSDL定义提取方法
+     * 创建一个完整配置的池化客户端（共享Endpoint，独立的拦截器、请求上下文和Conduit）
      */
-    private void extractMethodsFromWsdl() {
-        Map<?, ?> portTypes = wsdlDefinition.getPortTypes();
-        for (Object portTypeObj : portTypes.values()) {
-            PortType portType = (PortType) portTypeObj;
-            List<?> operations = portType.getOperations();
-            
-            for (Object operationObj : operations) {
-                Operation operation = (Operation) operationObj;
-                availableMethods.add(operation.getName());
-            }
+    private Client createPooledClient(org.apache.cxf.Bus bus, org.apache.cxf.endpoint.Endpoint endpoint) {
+        Client client = new ClientImpl(bus, endpoint);
+        
+        // 配置HTTP连接和接收超时
+        wsdlClientConfig.configureHttpConduit(client);
+        
+        // 流式调用时直接将响应体转换为JSON（其他调用不受影响）
+        client.getInInterceptors().add(streamingInterceptor);
+        
+        // 按需抓取SOAP报文（未开启时不复制报文）
+        addPayloadCapture(client);
+        
+        // 记录调用各阶段耗时和报文大小
+        addInvocationTiming(client);
+        
+        // 配置安全设置（如果启用）
+        if (securityEnabled) {
+            configureDynamicClientSecurity(client);
+        }
+        
+        return client;
+    }
+
+    private void addPayloadCapture(Client client) {
+        if (payloadCapture != null) {
+            client.getOutInterceptors().add(payloadCapture.getOutInterceptor());
+            client.getInInterceptors().add(payloadCapture.getInInterceptor());
+        }
+    }
+
+    private void addInvocationTiming(Client client) {
+        if (invocationMetrics != null) {
+            invocationMetrics.instrument(client);
         }
     }
 
     /**
-     * 从动态客户端提取方法
+     * 注册客户端池的监控指标（只注册一次，指标始终读取当前的客户端池）
      */
-    private void extractMethodsFromClient() {
-        if (dynamicClient != null && dynamicClient.getEndpoint() != null) {
-            // 通过反射获取客户端方法
-            Class<?> clientClass = dynamicClient.getClass();
-            Method[] methods = clientClass.getMethods();
-            
-            availableMethods = Arrays.stream(methods)
-                    .map(Method::getName)
-                    .filter(name -> !name.startsWith("get") && !name.startsWith("set") 
-                            && !name.equals("toString") && !name.equals("hashCode") 
-                            && !name.equals("equals") && !name.equals("getClass"))
-                    .distinct()
-                    .collect(Collectors.toList());
+    private void registerPoolMetrics() {
+        if (meterRegistry == null || !poolMetricsRegistered.compareAndSet(false, true)) {
+            return;
         }
+        
+        registerPoolGauge("wsdl.client.pool.size", "客户端池当前客户端数量", DynamicClientPool::getTotalCount);
+        registerPoolGauge("wsdl.client.pool.active", "借出中的客户端数量", DynamicClientPool::getBorrowedCount);
+        registerPoolGauge("wsdl.client.pool.idle", "空闲客户端数量", DynamicClientPool::getIdleCount);
+        registerPoolGauge("wsdl.client.pool.pending", "等待借用客户端的线程数", DynamicClientPool::getWaitingCount);
+        registerPoolGauge("wsdl.client.pool.max", "客户端池最大容量", DynamicClientPool::getMaxSize);
+        registerPoolGauge("wsdl.client.pool.utilization", "客户端池利用率", DynamicClientPool::getUtilization);
+        
+        FunctionCounter.builder("wsdl.client.pool.borrow.timeouts", this,
+                        adapter -> adapter.poolMetric(DynamicClientPool::getBorrowTimeoutCount))
+                .description("借用客户端等待超时次数")
+                .register(meterRegistry);
+    }
+
+    private void registerPoolGauge(String name, String description, ToDoubleFunction<DynamicClientPool> metric) {
+        Gauge.builder(name, this, adapter -> adapter.poolMetric(metric))
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private double poolMetric(ToDoubleFunction<DynamicClientPool> metric) {
+        DynamicClientPool pool = clientPool;
+        return pool != null ? metric.applyAsDouble(pool) : 0;
     }
 
     /**
@@ -319,18 +601,31 @@ public class WsdlServiceAdapter {
      * @return 调用结果
      */
     public Object invokeMethod(String methodName, Map<String, Object> parameters) throws Exception {
-        if (dynamicClient == null) {
+        log.debug("调用WSDL方法: {}, 参数: {}", methodName, parameters);
+        
+        // 准备调用参数
+        InvocationTimeline timeline = startTimeline(methodName);
+        return invokeWithArguments(methodName, bindMethodArguments(methodName, parameters, timeline), timeline);
+    }
+
+    /**
+     * 使用已绑定的参数调用WSDL服务方法
+     * 
+     * @param methodName 方法名
+     * @param args 按WSDL参数顺序排列的参数（见{@link #readMethodArguments}）
+     * @param timeline 本次调用的分阶段耗时记录（见{@link #startTimeline}）
+     * @return 调用结果
+     */
+    public Object invokeWithArguments(String methodName, Object[] args, InvocationTimeline timeline)
+            throws Exception {
+        DynamicClientPool pool = clientPool;
+        if (!isClientReady(pool)) {
             throw new IllegalStateException("WSDL客户端未初始化");
         }
 
         try {
-            log.info("调用WSDL方法: {}, 参数: {}", methodName, parameters);
-            
-            // 准备调用参数
-            Object[] args = prepareMethodArguments(methodName, parameters);
-            
-            // 调用方法
-            Object[] results = dynamicClient.invoke(methodName, args);
+            // 调用方法（可缓存的操作先查缓存，可合并的操作与正在进行的相同调用共享结果）
+            Object[] results = awaitResult(execute(pool, methodName, args, true, timeline));
             
             // 处理返回结果
             Object result = processMethodResult(results);
@@ -338,25 +633,509 @@ public class WsdlServiceAdapter {
             log.info("WSDL方法调用成功: {}", methodName);
             return result;
             
+        } catch (CallRejectedException e) {
+            log.warn("WSDL方法调用被拒绝: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
-            log.error("调用WSDL方法失败: {}, 错误: {}", methodName, e.getMessage(), e);
+            // 堆栈由调用方（控制器）记录，这里只记录摘要，避免同一异常重复输出堆栈
+            log.error("调用WSDL方法失败: {}, 错误: {}", methodName, e.getMessage());
             throw new WsdlServiceException("调用WSDL方法失败: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * 异步调用WSDL服务方法
+     * 
+     * 使用CXF异步客户端API发送请求，请求发出后立即归还池化客户端，
+     * 响应由异步HTTP传输（HttpAsyncClient）回调处理，不占用调用线程
+     * 
+     * @param methodName 方法名
+     * @param parameters 参数
+     * @return 调用结果的Future
+     */
+    public CompletableFuture<Object> invokeMethodAsync(String methodName, Map<String, Object> parameters) {
+        log.debug("异步调用WSDL方法: {}, 参数: {}", methodName, parameters);
+        
+        // 准备调用参数
+        InvocationTimeline timeline = startTimeline(methodName);
+        return invokeWithArgumentsAsync(methodName, bindMethodArguments(methodName, parameters, timeline), timeline);
+    }
+
+    /**
+     * 开始记录一次调用的分阶段耗时（未配置调用指标时只在返回的对象中累计）
+     */
+    public InvocationTimeline startTimeline(String methodName) {
+        return invocationMetrics != null ? invocationMetrics.start(methodName) : InvocationTimeline.detached(methodName);
+    }
+
+    /**
+     * 使用已绑定的参数异步调用WSDL服务方法
+     * 
+     * @param methodName 方法名
+     * @param args 按WSDL参数顺序排列的参数（见{@link #readMethodArguments}）
+     * @param timeline 本次调用的分阶段耗时记录（见{@link #startTimeline}）
+     * @return 调用结果的Future
+     */
+    public CompletableFuture<Object> invokeWithArgumentsAsync(String methodName, Object[] args,
+                                                              InvocationTimeline timeline) {
+        DynamicClientPool pool = clientPool;
+        if (!isClientReady(pool)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("WSDL客户端未初始化"));
+        }
+
+        CompletableFuture<Object[]> responseFuture;
+        try {
+            responseFuture = execute(pool, methodName, args, false, timeline);
+        } catch (Exception e) {
+            responseFuture = CompletableFuture.failedFuture(e);
+        }
+
+        return responseFuture.handle((results, error) -> {
+            if (error != null) {
+                Throwable cause = InvocationDispatcher.unwrap(error);
+                if (cause instanceof CallRejectedException) {
+                    log.warn("WSDL方法调用被拒绝: {}", cause.getMessage());
+                    throw (CallRejectedException) cause;
+                }
+                log.error("异步调用WSDL方法失败: {}, 错误: {}", methodName, cause.getMessage());
+                throw new WsdlServiceException("调用WSDL方法失败: " + cause.getMessage(), cause);
+            }
+            
+            log.debug("WSDL方法异步调用成功: {}", methodName);
+            return processMethodResult(results);
+        });
+    }
+
+    /**
+     * 流式调用WSDL服务方法
+     * 
+     * 响应体不反序列化为JAXB对象，而是由StAX边读边转换为JSON直接写入输出流，
+     * 内存占用与响应大小无关。结果不在内存中保留，因此不使用响应缓存和调用合并，
+     * 仍受舱壁、熔断器和负载均衡控制
+     * 
+     * @param methodName 方法名
+     * @param args 按WSDL参数顺序排列的参数（见{@link #readMethodArguments}）
+     * @param out JSON输出流（调用方负责关闭）
+     * @param timeline 本次调用的分阶段耗时记录，响应边读边转换的时间计入反序列化阶段
+     */
+    public void invokeMethodStreaming(String methodName, Object[] args, OutputStream out,
+                                      InvocationTimeline timeline) throws Exception {
+        DynamicClientPool pool = clientPool;
+        if (!isClientReady(pool)) {
+            throw new IllegalStateException("WSDL客户端未初始化");
+        }
+
+        // 失败时不自动补全JSON结构，避免不完整的响应看起来像完整的结果
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            StreamingJsonInInterceptor.Target target = new StreamingJsonInInterceptor.Target(json, elementShapes);
+            PayloadDispatchEngine engine = payloadEngine;
+            if (engine != null) {
+                target.setSinglePartWrapper(engine.isSinglePartWrapper(methodName));
+            }
+            Map<String, Object> requestProperties = Map.of(StreamingJsonInInterceptor.TARGET_KEY, target,
+                    InvocationTimeline.KEY, timeline);
+            Object[] results = awaitResult(recordStats(guard(methodName,
+                    () -> completeBlocking(pool, methodName, args, requestProperties), true).get(), timeline));
+            
+            if (!target.isCompleted()) {
+                // 响应未经过流式转换（如非SOAP绑定），按常规方式输出
+                long start = System.nanoTime();
+                json.writeObject(processMethodResult(results));
+                json.flush();
+                timeline.recordSince(InvocationTimeline.Phase.SERIALIZE, start);
+            }
+            
+            log.debug("WSDL方法流式调用成功: {}", methodName);
+            
+        } catch (CallRejectedException e) {
+            log.warn("WSDL方法调用被拒绝: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("流式调用WSDL方法失败: {}, 错误: {}", methodName, e.getMessage());
+            throw new WsdlServiceException("调用WSDL方法失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 按调用管道执行：响应缓存 -> 合并相同的并发调用 -> 操作舱壁 -> 熔断器 -> 池化客户端调用
+     *
+     * @param blocking true时在当前线程同步调用，false时使用异步传输
+     * @param timeline 分阶段耗时记录（命中缓存或合并到其他调用时没有后台调用阶段）
+     */
+    private CompletableFuture<Object[]> execute(DynamicClientPool pool, String methodName, Object[] args,
+                                                boolean blocking, InvocationTimeline timeline) {
+        // 缓存的后台刷新使用自己的timeline，因此按timeline创建客户端调用
+        Function<InvocationTimeline, Supplier<CompletableFuture<Object[]>>> call = callTimeline ->
+                guard(methodName, blocking
+                        ? () -> completeBlocking(pool, methodName, args, Map.of(InvocationTimeline.KEY, callTimeline))
+                        : () -> invokeNonBlocking(pool, methodName, args, callTimeline), blocking);
+
+        boolean coalescing = isCoalescingEnabled(methodName);
+        boolean caching = isCacheEnabled(methodName);
+        if (!coalescing && !caching) {
+            return recordStats(call.apply(timeline).get(), timeline);
+        }
+
+        InvocationKey key = invocationKey(methodName, args);
+        if (key == null) {
+            return recordStats(call.apply(timeline).get(), timeline);
+        }
+        Function<InvocationTimeline, CompletableFuture<Object[]>> backend = coalescing
+                ? callTimeline -> singleFlight.execute(key, call.apply(callTimeline))
+                : callTimeline -> call.apply(callTimeline).get();
+        return recordStats(caching ? responseCache.get(key, backend, timeline) : backend.apply(timeline), timeline);
+    }
+
+    /**
+     * 调用完成时记录到实时调用统计（耗时从创建InvocationTimeline开始计算，包括参数绑定）
+     */
+    private <T> CompletableFuture<T> recordStats(CompletableFuture<T> future, InvocationTimeline timeline) {
+        InvocationStats stats = invocationStats;
+        if (stats == null || !stats.isEnabled()) {
+            return future;
+        }
+        return future.whenComplete((results, error) ->
+                stats.recordCall(timeline.getOperation(), timeline.getElapsedNanos(), error));
+    }
+
+    /**
+     * 是否已创建可用的客户端（JAXB动态客户端池或Dispatch引擎）
+     */
+    private boolean isClientReady(DynamicClientPool pool) {
+        return payloadEngine != null || (dynamicClient != null && pool != null);
+    }
+
+    /**
+     * 为客户端调用加上操作舱壁和熔断器保护
+     */
+    private Supplier<CompletableFuture<Object[]>> guard(String methodName,
+                                                       Supplier<CompletableFuture<Object[]>> clientCall,
+                                                       boolean blocking) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry != null ? circuitBreakerRegistry.get(methodName) : null;
+        Supplier<CompletableFuture<Object[]>> backendCall = circuitBreaker != null
+                ? () -> circuitBreaker.execute(clientCall)
+                : clientCall;
+        Bulkhead bulkhead = bulkheadRegistry != null ? bulkheadRegistry.get(methodName) : null;
+        return bulkhead != null
+                ? () -> bulkhead.execute(backendCall, blocking)
+                : backendCall;
+    }
+
+    /**
+     * 借用池化客户端同步调用
+     *
+     * @param requestProperties 仅对本次调用生效的请求上下文属性
+     */
+    private Object[] invokeBlocking(DynamicClientPool pool, String methodName, Object[] args,
+                                    Map<String, Object> requestProperties) throws Exception {
+        PayloadDispatchEngine engine = payloadEngine;
+        if (engine != null) {
+            return invokeDispatch(engine, methodName, args, requestProperties);
+        }
+        
+        DynamicClientPool.PooledClient pooled = borrowClient(pool, methodName);
+        Map<String, Object> requestContext = pooled.getClient().getRequestContext();
+        requestContext.putAll(requestProperties);
+        BackendEndpoint endpoint = routeToEndpoint(requestContext);
+        long start = System.nanoTime();
+        try {
+            Object[] results = pooled.getClient().invoke(methodName, args);
+            onEndpointComplete(endpoint, start, null);
+            return results;
+        } catch (Exception e) {
+            onEndpointComplete(endpoint, start, e);
+            throw e;
+        } finally {
+            markResponseComplete(requestProperties);
+            requestContext.keySet().removeAll(requestProperties.keySet());
+            pool.release(pooled);
+        }
+    }
+
+    /**
+     * 使用Dispatch引擎同步调用（请求上下文为当前线程独有）
+     */
+    private Object[] invokeDispatch(PayloadDispatchEngine engine, String methodName, Object[] args,
+                                    Map<String, Object> requestProperties) throws Exception {
+        Map<String, Object> requestContext = engine.getRequestContext();
+        requestContext.putAll(requestProperties);
+        BackendEndpoint endpoint = routeToEndpoint(requestContext);
+        long start = System.nanoTime();
+        try {
+            Object[] results = engine.invoke(methodName, args);
+            onEndpointComplete(endpoint, start, null);
+            return results;
+        } catch (Exception e) {
+            onEndpointComplete(endpoint, start, e);
+            throw e;
+        } finally {
+            markResponseComplete(requestProperties);
+            requestContext.keySet().removeAll(requestProperties.keySet());
+        }
+    }
+
+    /**
+     * 在当前线程同步调用（同步模式的请求线程或虚拟线程模式的虚拟线程）
+     *
+     * 同步调用固定使用HttpURLConnection传输，不交给异步HTTP传输后在synchronized中等待响应：
+     * 在Java 21+中HttpURLConnection内部使用可重入锁，虚拟线程等待网络I/O时可以让出载体线程
+     */
+    private CompletableFuture<Object[]> completeBlocking(DynamicClientPool pool, String methodName, Object[] args,
+                                                         Map<String, Object> requestProperties) {
+        Map<String, Object> properties = new HashMap<>(requestProperties);
+        properties.put(AsyncHTTPConduit.USE_ASYNC, AsyncHTTPConduitFactory.UseAsyncPolicy.NEVER);
+        try {
+            return CompletableFuture.completedFuture(invokeBlocking(pool, methodName, args, properties));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 借用池化客户端异步调用，请求发出后立即归还客户端
+     */
+    private CompletableFuture<Object[]> invokeNonBlocking(DynamicClientPool pool, String methodName, Object[] args,
+                                                         InvocationTimeline timeline) {
+        PayloadDispatchEngine engine = payloadEngine;
+        if (engine != null) {
+            Map<String, Object> requestContext = engine.getRequestContext();
+            BackendEndpoint endpoint = routeToEndpoint(requestContext);
+            long start = System.nanoTime();
+            CompletableFuture<Object[]> responseFuture;
+            requestContext.put(InvocationTimeline.KEY, timeline);
+            try {
+                responseFuture = engine.invokeAsync(methodName, args);
+            } finally {
+                requestContext.remove(InvocationTimeline.KEY);
+            }
+            return responseFuture.whenComplete((results, error) -> {
+                timeline.markResponseComplete();
+                onEndpointComplete(endpoint, start, error);
+            });
+        }
+        
+        CompletableFuture<Object[]> responseFuture = new CompletableFuture<>();
+        try {
+            DynamicClientPool.PooledClient pooled = borrowClient(pool, methodName);
+            Map<String, Object> requestContext = pooled.getClient().getRequestContext();
+            BackendEndpoint endpoint = routeToEndpoint(requestContext);
+            long start = System.nanoTime();
+            responseFuture.whenComplete((results, error) -> {
+                timeline.markResponseComplete();
+                onEndpointComplete(endpoint, start, error);
+            });
+            requestContext.put(InvocationTimeline.KEY, timeline);
+            try {
+                pooled.getClient().invoke(new FutureClientCallback(responseFuture), methodName, args);
+            } finally {
+                // 请求上下文已复制到消息中，客户端可以立即归还
+                requestContext.remove(InvocationTimeline.KEY);
+                pool.release(pooled);
+            }
+        } catch (Exception e) {
+            responseFuture.completeExceptionally(e);
+        }
+        return responseFuture;
+    }
+
+    /**
+     * 从客户端池借用客户端
+     *
+     * 等待期间客户端被重新初始化（旧池关闭）时，改用当前的客户端池重试一次
+     */
+    private DynamicClientPool.PooledClient borrowClient(DynamicClientPool pool, String methodName) {
+        try {
+            return pool.borrow(methodName);
+        } catch (ClientPoolClosedException e) {
+            DynamicClientPool current = clientPool;
+            if (current == null || current == pool) {
+                throw e;
+            }
+            log.debug("客户端池已被替换，使用新的客户端池重试: {}", methodName);
+            return current.borrow(methodName);
+        }
+    }
+
+    /**
+     * 调用返回时记录响应处理阶段（流式调用中止了入站拦截器链，不能依赖链尾的拦截器）
+     */
+    private static void markResponseComplete(Map<String, Object> requestProperties) {
+        Object timeline = requestProperties.get(InvocationTimeline.KEY);
+        if (timeline instanceof InvocationTimeline) {
+            ((InvocationTimeline) timeline).markResponseComplete();
+        }
+    }
+
+    /**
+     * 配置了多个后台服务实例时，为本次调用选择实例并设置请求上下文中的服务地址
+     *
+     * @return 选择的实例；未启用负载均衡时返回null（使用WSDL中的服务地址）
+     */
+    private BackendEndpoint routeToEndpoint(Map<String, Object> requestContext) {
+        if (loadBalancer == null || !loadBalancer.isEnabled()) {
+            return null;
+        }
+        BackendEndpoint endpoint = loadBalancer.choose();
+        requestContext.put(org.apache.cxf.message.Message.ENDPOINT_ADDRESS, endpoint.getAddress());
+        return endpoint;
+    }
+
+    private void onEndpointComplete(BackendEndpoint endpoint, long startNanos, Throwable error) {
+        if (endpoint != null) {
+            loadBalancer.onComplete(endpoint, startNanos, error);
+        }
+    }
+
+    /**
+     * 等待Future结果，并还原原始异常
+     */
+    private static <T> T awaitResult(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = InvocationDispatcher.unwrap(e);
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 判断操作是否允许合并相同的并发调用（仅限配置为安全的只读操作）
+     */
+    private boolean isCoalescingEnabled(String methodName) {
+        return !coalescedOperations.isEmpty() && coalescedOperations.contains(methodName.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 判断操作是否配置了响应缓存
+     */
+    private boolean isCacheEnabled(String methodName) {
+        return responseCache != null && responseCache.isEnabled(methodName);
+    }
+
+    /**
+     * 创建缓存和调用合并使用的键（操作名使用WSDL中的写法，与其他指标一致）
+     *
+     * @return 调用键，参数无法序列化时为null（本次调用不缓存也不合并）
+     */
+    private InvocationKey invocationKey(String methodName, Object[] args) {
+        InvocationPlan plan = invocationPlans.find(methodName);
+        String operation = plan != null ? plan.getOperationName() : methodName;
+        try {
+            return InvocationKey.of(operation, args, objectMapper.writer(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS));
+        } catch (JsonProcessingException e) {
+            log.debug("无法生成调用键，跳过缓存和调用合并: {}, 错误: {}", methodName, e.getMessage());
+            return null;
+        }
+    }
+
+    private void onCoalesced(InvocationKey key) {
+        if (meterRegistry != null) {
+            meterRegistry.counter("wsdl.invoke.coalesced", "operation", key.getOperationName()).increment();
+        }
+    }
+
+    /**
+     * 解析逗号分隔的操作名列表（不区分大小写）
+     */
+    private static Set<String> parseOperationNames(String operationNames) {
+        if (operationNames == null || operationNames.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(operationNames.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * 从JSON请求体直接绑定方法调用参数（不构建中间的Map）
+     * 
+     * 绑定在调用线程中完成，之后可以按任意调用模式使用参数数组
+     * 
+     * @param methodName 方法名
+     * @param body JSON请求体，应为对象；为空或null时不传参数
+     * @param timeline 本次调用的分阶段耗时记录，读取和绑定的时间计入参数准备阶段
+     * @return 按WSDL参数顺序排列的参数
+     */
+    public Object[] readMethodArguments(String methodName, InputStream body, InvocationTimeline timeline)
+            throws IOException {
+        long start = System.nanoTime();
+        try {
+            return readMethodArguments(methodName, body);
+        } finally {
+            timeline.recordSince(InvocationTimeline.Phase.PREPARE, start);
+        }
+    }
+
+    private Object[] readMethodArguments(String methodName, InputStream body) throws IOException {
+        try (JsonParser parser = argumentMapper().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) {
+                return InvocationPlan.NO_ARGUMENTS;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "请求参数必须是JSON对象");
+            }
+            
+            // 使用初始化时编译的调用计划确定参数顺序和类型
+            InvocationPlan plan = invocationPlans.find(methodName);
+            if (plan != null && plan.getParameterCount() > 0) {
+                return plan.bind(parser);
+            }
+            
+            log.debug("未找到方法 {} 的WSDL定义，使用默认参数顺序", methodName);
+            return InvocationPlan.bindInOrder(parser);
+        }
+    }
+
+    /**
+     * 按操作的参数定义把参数Map绑定为调用参数
+     * 
+     * @param methodName 方法名
+     * @param parameters 参数，为空或null时不传参数
+     * @param timeline 本次调用的分阶段耗时记录，绑定的时间计入参数准备阶段
+     * @return 按WSDL参数顺序排列的参数
+     */
+    public Object[] bindMethodArguments(String methodName, Map<String, Object> parameters,
+                                        InvocationTimeline timeline) {
+        long start = System.nanoTime();
+        Object[] args = prepareMethodArguments(methodName, parameters);
+        timeline.recordSince(InvocationTimeline.Phase.PREPARE, start);
+        return args;
+    }
+
+    /**
+     * 绑定请求参数使用的ObjectMapper：JAXB属性名不区分大小写（XML元素名通常首字母大写）
+     */
+    private ObjectMapper argumentMapper() {
+        ObjectMapper mapper = argumentMapper;
+        if (mapper == null) {
+            mapper = objectMapper.copy();
+            mapper.setConfig(mapper.getDeserializationConfig().with(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES));
+            argumentMapper = mapper;
+        }
+        return mapper;
+    }
+
     /**
      * 准备方法调用参数
      */
     private Object[] prepareMethodArguments(String methodName, Map<String, Object> parameters) {
         if (parameters == null || parameters.isEmpty()) {
-            return new Object[0];
+            return InvocationPlan.NO_ARGUMENTS;
         }
 
         try {
-            // 根据WSDL定义和方法名来确定参数顺序和类型
-            OperationInfo operationInfo = getOperationInfo(methodName);
-            if (operationInfo != null && !operationInfo.getInputParameters().isEmpty()) {
-                return prepareOrderedArguments(operationInfo, parameters);
+            // 使用初始化时编译的调用计划确定参数顺序和类型
+            InvocationPlan plan = invocationPlans.find(methodName);
+            if (plan != null && plan.getParameterCount() > 0) {
+                return plan.bind(parameters);
             }
             
             // 回退到原始方式
@@ -372,19 +1151,23 @@ public class WsdlServiceAdapter {
     /**
      * 处理方法调用结果
      */
-    private Object processMethodResult(Object[] results) {
+    static Object processMethodResult(Object[] results) {
+        // 返回值可能为null，不能使用Map.of
+        Map<String, Object> resultMap = new HashMap<>();
+        resultMap.put(RESULT_SUCCESS, true);
+        
         if (results == null || results.length == 0) {
-            return Map.of(RESULT_SUCCESS, true, RESULT_DATA, null);
+            resultMap.put(RESULT_DATA, null);
+            return resultMap;
         }
         
         if (results.length == 1) {
-            return Map.of(RESULT_SUCCESS, true, RESULT_DATA, results[0]);
+            resultMap.put(RESULT_DATA, results[0]);
+            return resultMap;
         }
         
         // 多个返回值
-        Map<String, Object> resultMap = new HashMap<>();
-        resultMap.put(RESULT_SUCCESS, true);
-        
+
         for (int i = 0; i < results.length; i++) {
             resultMap.put("result" + i, results[i]);
         }
@@ -399,9 +1182,35 @@ public class WsdlServiceAdapter {
         Map<String, Object> info = new HashMap<>();
         info.put("serviceUrl", wsdlClientConfig.getServiceUrl());
         info.put("namespace", wsdlClientConfig.getServiceNamespace());
-        info.put("wsdlSource", determineWsdlSource());
-        info.put("clientInitialized", dynamicClient != null);
+        info.put("wsdlSource", resolvedWsdlSource);
+        info.put("clientInitialized", dynamicClient != null || payloadEngine != null);
+        info.put("invokeEngine", payloadEngine != null ? ENGINE_DISPATCH : "jaxb");
         info.put("availableMethodsCount", availableMethods != null ? availableMethods.size() : 0);
+        info.put("initTimings", initTimings);
+        if (serializerRegistry != null) {
+            info.put("precompiledSerializers", serializerRegistry.size());
+        }
+        DynamicClientPool pool = clientPool;
+        if (pool != null) {
+            info.put("clientPool", pool.getStatistics());
+        }
+        info.put("coalescing", Map.of(
+                "operations", coalescedOperations,
+                "executed", singleFlight.getExecutedCount(),
+                "coalesced", singleFlight.getCoalescedCount(),
+                "inFlight", singleFlight.getInFlightCount()));
+        if (responseCache != null) {
+            info.put("responseCache", responseCache.getStatistics());
+        }
+        if (bulkheadRegistry != null) {
+            info.put("bulkheads", bulkheadRegistry.getStatistics());
+        }
+        if (circuitBreakerRegistry != null) {
+            info.put("circuitBreakers", circuitBreakerRegistry.getStatistics());
+        }
+        if (loadBalancer != null && loadBalancer.isEnabled()) {
+            info.put("endpoints", loadBalancer.getStatistics());
+        }
         info.put("timestamp", System.currentTimeMillis());
         
         return info;
@@ -419,7 +1228,7 @@ public class WsdlServiceAdapter {
      */
     public boolean isServiceHealthy() {
         try {
-            if (dynamicClient == null) {
+            if (dynamicClient == null && payloadEngine == null) {
                 return false;
             }
             
@@ -439,12 +1248,22 @@ public class WsdlServiceAdapter {
         }
     }
 
+    /**
+     * 获取各操作熔断器的状态
+     */
+    public Map<String, String> getCircuitBreakerStates() {
+        return circuitBreakerRegistry != null ? circuitBreakerRegistry.getStates() : Map.of();
+    }
+
     /**
      * 重新初始化客户端
      */
     public void reinitializeClient() {
         log.info("重新初始化WSDL客户端...");
         initializeWsdlClient();
+        if (responseCache != null) {
+            responseCache.clear();
+        }
     }
 
     /**
@@ -454,267 +1273,124 @@ public class WsdlServiceAdapter {
         availableMethods = new ArrayList<>();
         availableMethods.add("GetVersion");
         availableMethods.add("Echo");
-        availableMethods.add("Ping");
         log.info("设置默认可用方法: {}", availableMethods);
     }
 
     /**
-     * 解析WSDL操作信息
+     * 从动态客户端的服务模型解析操作（包装风格的操作按展开后的参数，附带生成的JAXB类型），按操作名排序
      */
-    private void parseOperationInfos() {
-        operationInfoMap = new HashMap<>();
-        
-        if (wsdlDefinition == null) {
-            log.warn("WSDL定义为空，无法解析操作信息");
-            return;
-        }
-        
+    private List<OperationInfo> parseClientOperationInfos(Client client) {
+        List<OperationInfo> operations = new ArrayList<>();
         try {
-            Map<?, ?> portTypes = wsdlDefinition.getPortTypes();
-            for (Object portTypeObj : portTypes.values()) {
-                PortType portType = (PortType) portTypeObj;
-                List<?> operations = portType.getOperations();
-                
-                for (Object operationObj : operations) {
-                    Operation operation = (Operation) operationObj;
-                    OperationInfo operationInfo = parseOperationInfo(operation);
-                    if (operationInfo != null) {
-                        operationInfoMap.put(operation.getName(), operationInfo);
-                        log.debug("解析操作信息: {} - 输入参数数量: {}", 
-                                operation.getName(), operationInfo.getInputParameters().size());
-                    }
+            for (BindingOperationInfo bindingOperation
+                    : client.getEndpoint().getEndpointInfo().getBinding().getOperations()) {
+                BindingOperationInfo invoked = bindingOperation.isUnwrappedCapable()
+                        ? bindingOperation.getUnwrappedOperation() : bindingOperation;
+                OperationInfo operationInfo = new OperationInfo(bindingOperation.getName().getLocalPart());
+                if (invoked.getInput() != null) {
+                    toParameterInfos(invoked.getInput().getMessageParts()).forEach(operationInfo::addInputParameter);
+                }
+                if (invoked.getOutput() != null) {
+                    toParameterInfos(invoked.getOutput().getMessageParts()).forEach(operationInfo::addOutputParameter);
                 }
+                operations.add(operationInfo);
             }
-            
-            log.info("成功解析 {} 个操作的参数信息", operationInfoMap.size());
-            
         } catch (Exception e) {
-            log.error("解析WSDL操作信息失败: {}", e.getMessage(), e);
-            operationInfoMap = new HashMap<>();
+            log.warn("解析动态客户端的操作参数失败: {}", e.getMessage());
+            return List.of();
         }
+        operations.sort(Comparator.comparing(OperationInfo::getOperationName));
+        return operations;
     }
 
-    /**
-     * 解析单个操作的信息
-     */
-    private OperationInfo parseOperationInfo(Operation operation) {
-        try {
-            OperationInfo operationInfo = new OperationInfo(operation.getName());
-            
-            // 解析输入参数
-            if (operation.getInput() != null && operation.getInput().getMessage() != null) {
-                Message inputMessage = operation.getInput().getMessage();
-                parseMessageParameters(inputMessage, operationInfo, true);
-            }
-            
-            // 解析输出参数
-            if (operation.getOutput() != null && operation.getOutput().getMessage() != null) {
-                Message outputMessage = operation.getOutput().getMessage();
-                parseMessageParameters(outputMessage, operationInfo, false);
-            }
-            
-            return operationInfo;
-            
-        } catch (Exception e) {
-            log.warn("解析操作 {} 的信息失败: {}", operation.getName(), e.getMessage());
-            return null;
+    private List<ParameterInfo> toParameterInfos(List<MessagePartInfo> parts) {
+        List<ParameterInfo> parameters = new ArrayList<>(parts.size());
+        int order = 0;
+        for (MessagePartInfo part : parts) {
+            // 集合参数的元素类型在服务模型中不可见，仍按Map/List传递
+            Class<?> javaType = part.getTypeClass() != null
+                    && !Collection.class.isAssignableFrom(part.getTypeClass()) ? part.getTypeClass() : null;
+            parameters.add(new ParameterInfo(part.getName().getLocalPart(), partType(part), true, order++, javaType));
         }
+        return parameters;
     }
 
     /**
-     * 解析消息参数
+     * 为服务模型中的操作编译调用计划（同名操作以最后一个为准）
      */
-    private void parseMessageParameters(Message message, OperationInfo operationInfo, boolean isInput) {
-        try {
-            Map<?, ?> parts = message.getParts();
-            int order = 0;
-            
-            for (Object partObj : parts.values()) {
-                Part part = (Part) partObj;
-                
-                // 获取参数名称
-                String paramName = part.getName();
-                
-                // 获取参数类型
-                QName paramType = null;
-                if (part.getTypeName() != null) {
-                    paramType = part.getTypeName();
-                } else if (part.getElementName() != null) {
-                    paramType = part.getElementName();
-                }
-                
-                // 创建参数信息
-                ParameterInfo paramInfo = new ParameterInfo(
-                    paramName, 
-                    paramType, 
-                    true, // 默认为必需参数
-                    order++
-                );
-                
-                if (isInput) {
-                    operationInfo.addInputParameter(paramInfo);
-                } else {
-                    operationInfo.addOutputParameter(paramInfo);
-                }
-                
-                log.debug("解析参数: {} - 类型: {} - 顺序: {}", 
-                        paramName, paramType, order - 1);
-            }
-            
-        } catch (Exception e) {
-            log.warn("解析消息 {} 的参数失败: {}", message.getQName(), e.getMessage());
-        }
+    private static InvocationPlan.Registry compilePlans(List<OperationInfo> operations) {
+        Map<String, OperationInfo> infos = new LinkedHashMap<>();
+        operations.forEach(operation -> infos.put(operation.getOperationName(), operation));
+        return infos.isEmpty() ? InvocationPlan.Registry.EMPTY : new InvocationPlan.Registry(infos.values());
     }
 
     /**
-     * 获取操作信息
+     * 以调用计划中的操作作为可用方法，并为每个操作配置舱壁、熔断器和调用指标
      */
-    private OperationInfo getOperationInfo(String methodName) {
-        if (operationInfoMap == null) {
-            return null;
-        }
+    private void applyOperations(InvocationPlan.Registry plans) {
+        Set<String> operationNames = plans.operationNames();
+        availableMethods = new ArrayList<>(operationNames);
+        invocationPlans = plans;
+        log.info("服务模型中的操作: {}", availableMethods);
         
-        // 直接匹配
-        OperationInfo operationInfo = operationInfoMap.get(methodName);
-        if (operationInfo != null) {
-            return operationInfo;
+        if (bulkheadRegistry != null) {
+            bulkheadRegistry.configure(operationNames);
         }
-        
-        // 尝试不区分大小写匹配
-        for (Map.Entry<String, OperationInfo> entry : operationInfoMap.entrySet()) {
-            if (entry.getKey().equalsIgnoreCase(methodName)) {
-                return entry.getValue();
-            }
+        if (circuitBreakerRegistry != null) {
+            circuitBreakerRegistry.configure(operationNames);
+        }
+        if (invocationMetrics != null) {
+            invocationMetrics.configure(operationNames);
         }
-        
-        return null;
     }
 
     /**
-     * 根据WSDL定义准备有序参数
+     * 收集所有操作的返回类型（包装类和展开后的返回值类型），构建预编译序列化器
      */
-    private Object[] prepareOrderedArguments(OperationInfo operationInfo, Map<String, Object> parameters) {
-        List<ParameterInfo> inputParams = operationInfo.getInputParameters();
-        
-        // 如果没有定义输入参数，返回空数组
-        if (inputParams.isEmpty()) {
-            return new Object[0];
+    private Map<Class<?>, JaxbSerializerRegistry.PrecompiledBeanSerializer> buildResponseSerializers(Client client) {
+        if (serializerRegistry == null) {
+            return Map.of();
         }
-        
-        // 按照WSDL定义的顺序准备参数
-        Object[] orderedArgs = new Object[inputParams.size()];
-        
-        for (int i = 0; i < inputParams.size(); i++) {
-            ParameterInfo paramInfo = inputParams.get(i);
-            String paramName = paramInfo.getName();
-            
-            // 尝试多种方式匹配参数名
-            Object paramValue = findParameterValue(parameters, paramName);
-            
-            if (paramValue != null) {
-                // 尝试类型转换
-                orderedArgs[i] = convertParameterType(paramValue, paramInfo.getType());
-            } else if (paramInfo.isRequired()) {
-                log.warn("缺少必需参数: {}", paramName);
-                orderedArgs[i] = null;
-            } else {
-                orderedArgs[i] = null;
+        try {
+            Set<Class<?>> outputTypes = new LinkedHashSet<>();
+            for (BindingOperationInfo bindingOperation
+                    : client.getEndpoint().getEndpointInfo().getBinding().getOperations()) {
+                collectOutputTypes(bindingOperation, outputTypes);
+                if (bindingOperation.isUnwrappedCapable()) {
+                    collectOutputTypes(bindingOperation.getUnwrappedOperation(), outputTypes);
+                }
             }
+            return serializerRegistry.build(outputTypes, objectMapper);
+        } catch (Exception e) {
+            log.warn("预编译响应序列化器失败，使用Jackson默认序列化: {}", e.getMessage());
+            return Map.of();
         }
-        
-        log.debug("准备有序参数完成，参数数量: {}", orderedArgs.length);
-        return orderedArgs;
     }
 
-    /**
-     * 查找参数值（支持多种匹配方式）
-     */
-    private Object findParameterValue(Map<String, Object> parameters, String paramName) {
-        // 直接匹配
-        if (parameters.containsKey(paramName)) {
-            return parameters.get(paramName);
-        }
-        
-        // 不区分大小写匹配
-        for (Map.Entry<String, Object> entry : parameters.entrySet()) {
-            if (entry.getKey().equalsIgnoreCase(paramName)) {
-                return entry.getValue();
-            }
+    private static void collectOutputTypes(BindingOperationInfo bindingOperation, Set<Class<?>> outputTypes) {
+        if (bindingOperation.getOutput() == null) {
+            return;
         }
-        
-        // 去掉命名空间前缀匹配
-        String simpleParamName = paramName.contains(":") ? 
-            paramName.substring(paramName.lastIndexOf(":") + 1) : paramName;
-        
-        for (Map.Entry<String, Object> entry : parameters.entrySet()) {
-            String simpleKey = entry.getKey().contains(":") ? 
-                entry.getKey().substring(entry.getKey().lastIndexOf(":") + 1) : entry.getKey();
-            
-            if (simpleKey.equalsIgnoreCase(simpleParamName)) {
-                return entry.getValue();
+        for (MessagePartInfo part : bindingOperation.getOutput().getMessageParts()) {
+            if (part.getTypeClass() != null) {
+                outputTypes.add(part.getTypeClass());
             }
         }
-        
-        return null;
     }
 
-    /**
-     * 转换参数类型
-     */
-    private Object convertParameterType(Object value, QName targetType) {
-        if (value == null || targetType == null) {
-            return value;
-        }
-        
-        try {
-            String localPart = targetType.getLocalPart().toLowerCase();
-            
-            // 基本类型转换
-            switch (localPart) {
-                case "string":
-                    return value.toString();
-                case "int":
-                case "integer":
-                    if (value instanceof Number) {
-                        return ((Number) value).intValue();
-                    }
-                    return Integer.parseInt(value.toString());
-                case "long":
-                    if (value instanceof Number) {
-                        return ((Number) value).longValue();
-                    }
-                    return Long.parseLong(value.toString());
-                case "double":
-                    if (value instanceof Number) {
-                        return ((Number) value).doubleValue();
-                    }
-                    return Double.parseDouble(value.toString());
-                case "float":
-                    if (value instanceof Number) {
-                        return ((Number) value).floatValue();
-                    }
-                    return Float.parseFloat(value.toString());
-                case "boolean":
-                    if (value instanceof Boolean) {
-                        return value;
-                    }
-                    return Boolean.parseBoolean(value.toString());
-                default:
-                    // 对于复杂类型，保持原值
-                    return value;
-            }
-            
-        } catch (Exception e) {
-            log.warn("类型转换失败，参数值: {}, 目标类型: {}, 错误: {}", 
-                    value, targetType, e.getMessage());
-            return value;
+    private static QName partType(MessagePartInfo part) {
+        if (part.getTypeQName() != null) {
+            return part.getTypeQName();
         }
+        return part.getXmlSchema() instanceof XmlSchemaElement
+                ? ((XmlSchemaElement) part.getXmlSchema()).getSchemaTypeName()
+                : null;
     }
 
     /**
      * 配置SecureConversation使用PFS认证
      */
-    private void configureSecureConversationWithPfs() {
+    private void configureSecureConversationWithPfs(Client client) {
         try {
             log.info("配置SecureConversation使用PFS认证...");
             
@@ -722,7 +1398,7 @@ public class WsdlServiceAdapter {
             // 我们需要在SecureConversation拦截器之后添加PFS拦截器
             
             // 为RST请求配置PFS认证
-            Map<String, Object> requestContext = dynamicClient.getRequestContext();
+            Map<String, Object> requestContext = client.getRequestContext();
             
             // 配置用户名和密码（SecureConversation会使用）
             requestContext.put("ws-security.username", securityUsername);
@@ -730,7 +1406,12 @@ public class WsdlServiceAdapter {
             requestContext.put("ws-security.password.type", "PasswordText");
             
             // 配置SecureConversation生命周期
-            requestContext.put("ws-security.sc.lifetime", "300000"); // 5分钟
+            requestContext.put("ws-security.sc.lifetime", String.valueOf(scLifetime));
+            
+            // 所有池化客户端共享同一个令牌，由后台线程在过期前续期
+            if (scTokenCache != null && scTokenCache.isEnabled()) {
+                client.getOutInterceptors().add(getScTokenInterceptor());
+            }
             
             log.info("SecureConversation配置完成");
             
@@ -739,17 +1420,52 @@ public class WsdlServiceAdapter {
         }
     }
     
+    private SecureConversationTokenInterceptor getScTokenInterceptor() {
+        SecureConversationTokenInterceptor interceptor = scTokenInterceptor;
+        if (interceptor == null) {
+            interceptor = new SecureConversationTokenInterceptor(scTokenCache, this::requestSecureConversationToken);
+            scTokenInterceptor = interceptor;
+        }
+        return interceptor;
+    }
+    
+    /**
+     * 向后台申请SecurityContextToken（与CXF自带的握手相同：按WSDL中的引导策略发送RST，并附加PFS认证头）
+     */
+    private SecurityToken requestSecureConversationToken(String address, String trustNamespace,
+                                                         Policy bootstrapPolicy, boolean soap11) throws Exception {
+        STSClient sts = new STSClient(org.apache.cxf.BusFactory.getDefaultBus());
+        sts.setLocation(address);
+        sts.setSecureConv(true);
+        sts.setNamespace(trustNamespace);
+        sts.setSoap11(soap11);
+        sts.setAddressingNamespace("http://www.w3.org/2005/08/addressing");
+        sts.setTtl((int) (scLifetime / 1000));
+        if (bootstrapPolicy != null) {
+            sts.setPolicy(bootstrapPolicy);
+        }
+        
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(SecurityConstants.USERNAME, securityUsername);
+        properties.put(SecurityConstants.PASSWORD, securityPassword);
+        sts.setProperties(properties);
+        sts.getOutInterceptors().add(pfsSecurityConfig.createPfsInterceptor(
+                securityUsername, securityPassword, pfsClientId, pfsWindowsAuthentication, pfsChangePassword));
+        
+        return sts.requestSecurityToken(address);
+    }
+    
     /**
      * 配置动态客户端的安全设置
      */
-    private void configureDynamicClientSecurity() {
+    private void configureDynamicClientSecurity(Client client) {
         try {
             if (usePfsCompatible) {
                 // 使用PFS兼容的安全配置
-                configurePfsCompatibleDynamicSecurity();
+                configurePfsCompatibleDynamicSecurity(client);
             } else {
                 // 使用标准的WS-Security配置
-                configureStandardDynamicSecurity();
+                configureStandardDynamicSecurity(client);
             }
             
         } catch (Exception e) {
@@ -760,26 +1476,17 @@ public class WsdlServiceAdapter {
     /**
      * 配置PFS兼容的动态客户端安全设置（支持SecureConversation）
      */
-    private void configurePfsCompatibleDynamicSecurity() {
+    private void configurePfsCompatibleDynamicSecurity(Client client) {
         try {
-            // 添加日志拦截器（用于调试）
-            dynamicClient.getOutInterceptors().add(new LoggingOutInterceptor());
-            dynamicClient.getInInterceptors().add(new LoggingInInterceptor());
-            
             // 首先配置SecureConversation的基本认证
             // 这会用于RST握手消息
-            configureSecureConversationWithPfs();
+            configureSecureConversationWithPfs(client);
             
             // 然后配置标准的WS-Security（用于RST请求）
-            // SecureConversation会自动使用这些凭据进行RST握手
-            Map<String, Object> properties = new HashMap<>();
-            properties.put(WSHandlerConstants.ACTION, WSHandlerConstants.USERNAME_TOKEN);
-            properties.put(WSHandlerConstants.USER, securityUsername);
-            properties.put(WSHandlerConstants.PASSWORD_TYPE, "PasswordText");
-            properties.put(WSHandlerConstants.PW_CALLBACK_REF, new ClientPasswordCallback(securityPassword));
-            
-            WSS4JOutInterceptor wssOut = new WSS4JOutInterceptor(properties);
-            dynamicClient.getOutInterceptors().add(wssOut);
+            // SecureConversation会自动使用这些凭据进行RST握手。
+            // 固定使用DOM处理：PFS拦截器通过消息的头列表替换安全头，流式处理写出的安全头不在头列表中
+            client.getOutInterceptors().add(UsernameTokenSecurity.createOutInterceptor(
+                    securityUsername, securityPassword, UsernameTokenSecurity.PROCESSING_DOM));
             
             // 最后添加PFS拦截器（用于业务消息，在SecureConversation之后）
             // 注意：这个拦截器的Phase应该在SecureConversation之后
@@ -793,9 +1500,9 @@ public class WsdlServiceAdapter {
                 );
             
             // PFS拦截器添加到后面，这样SecureConversation会先处理
-            dynamicClient.getOutInterceptors().add(pfsInterceptor);
+            client.getOutInterceptors().add(pfsInterceptor);
             
-            log.info("动态客户端SecureConversation+PFS配置完成 - ClientID: {}, WindowsAuth: {}, ChangePassword: {}", 
+            log.debug("动态客户端SecureConversation+PFS配置完成 - ClientID: {}, WindowsAuth: {}, ChangePassword: {}", 
                     pfsClientId, pfsWindowsAuthentication, pfsChangePassword);
             
         } catch (Exception e) {
@@ -807,48 +1514,41 @@ public class WsdlServiceAdapter {
     /**
      * 配置标准的动态客户端安全设置
      */
-    private void configureStandardDynamicSecurity() {
-        Map<String, Object> properties = new HashMap<>();
-        
-        // 配置WSS4J出站安全
-        properties.put(WSHandlerConstants.ACTION, WSHandlerConstants.USERNAME_TOKEN);
-        properties.put(WSHandlerConstants.USER, securityUsername);
-        properties.put(WSHandlerConstants.PASSWORD_TYPE, "PasswordText");
-        properties.put(WSHandlerConstants.PW_CALLBACK_REF, new ClientPasswordCallback(securityPassword));
-        
-        // 创建WSS4J出站拦截器
-        WSS4JOutInterceptor wssOut = new WSS4JOutInterceptor(properties);
-        dynamicClient.getOutInterceptors().add(wssOut);
+    private void configureStandardDynamicSecurity(Client client) {
+        // 按配置选择DOM或StAX流式处理的WSS4J出站拦截器
+        client.getOutInterceptors().add(
+                UsernameTokenSecurity.createOutInterceptor(securityUsername, securityPassword, securityProcessing));
         
-        log.info("动态客户端标准安全配置完成");
+        log.debug("动态客户端标准安全配置完成，处理方式: {}", securityProcessing);
     }
 
     /**
-     * 密码回调处理器
+     * 将CXF异步回调结果转交给CompletableFuture
      */
-    private static class ClientPasswordCallback implements javax.security.auth.callback.CallbackHandler {
-        private final String password;
+    private static class FutureClientCallback extends ClientCallback {
+        private final CompletableFuture<Object[]> future;
 
-        public ClientPasswordCallback(String password) {
-            this.password = password;
+        FutureClientCallback(CompletableFuture<Object[]> future) {
+            this.future = future;
         }
 
         @Override
-        public void handle(javax.security.auth.callback.Callback[] callbacks) 
-                throws java.io.IOException, javax.security.auth.callback.UnsupportedCallbackException {
-            for (javax.security.auth.callback.Callback callback : callbacks) {
-                if (callback instanceof WSPasswordCallback) {
-                    WSPasswordCallback pc = (WSPasswordCallback) callback;
-                    pc.setPassword(password);
-                }
-            }
+        public void handleResponse(Map<String, Object> ctx, Object[] res) {
+            super.handleResponse(ctx, res);
+            future.complete(res);
+        }
+
+        @Override
+        public void handleException(Map<String, Object> ctx, Throwable ex) {
+            super.handleException(ctx, ex);
+            future.completeExceptionally(ex);
         }
     }
 
     /**
      * 操作信息类，用于存储WSDL操作的参数信息
      */
-    private static class OperationInfo {
+    static class OperationInfo {
         private final String operationName;
         private final List<ParameterInfo> inputParameters;
         private final List<ParameterInfo> outputParameters;
@@ -883,17 +1583,24 @@ public class WsdlServiceAdapter {
     /**
      * 参数信息类，用于存储参数的名称、类型等信息
      */
-    private static class ParameterInfo {
+    static class ParameterInfo {
         private final String name;
         private final QName type;
         private final boolean required;
         private final int order;
+        // 动态客户端生成的JAXB参数类型，未知时为null
+        private final Class<?> javaType;
 
         public ParameterInfo(String name, QName type, boolean required, int order) {
+            this(name, type, required, order, null);
+        }
+
+        public ParameterInfo(String name, QName type, boolean required, int order, Class<?> javaType) {
             this.name = name;
             this.type = type;
             this.required = required;
             this.order = order;
+            this.javaType = javaType;
         }
 
         public String getName() {
@@ -911,5 +1618,9 @@ public class WsdlServiceAdapter {
         public int getOrder() {
             return order;
         }
+
+        public Class<?> getJavaType() {
+            return javaType;
+        }
     }
 }
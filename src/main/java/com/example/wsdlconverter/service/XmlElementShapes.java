@@ -0,0 +1,193 @@
+package com.example.wsdlconverter.service;
+
+import org.apache.cxf.service.model.SchemaInfo;
+import org.apache.cxf.service.model.ServiceInfo;
+import org.apache.ws.commons.schema.XmlSchema;
+import org.apache.ws.commons.schema.XmlSchemaAll;
+import org.apache.ws.commons.schema.XmlSchemaChoice;
+import org.apache.ws.commons.schema.XmlSchemaComplexContentExtension;
+import org.apache.ws.commons.schema.XmlSchemaComplexContentRestriction;
+import org.apache.ws.commons.schema.XmlSchemaComplexType;
+import org.apache.ws.commons.schema.XmlSchemaContent;
+import org.apache.ws.commons.schema.XmlSchemaElement;
+import org.apache.ws.commons.schema.XmlSchemaGroupRef;
+import org.apache.ws.commons.schema.XmlSchemaParticle;
+import org.apache.ws.commons.schema.XmlSchemaSequence;
+import org.apache.ws.commons.schema.XmlSchemaSimpleType;
+import org.apache.ws.commons.schema.XmlSchemaSimpleTypeRestriction;
+import org.apache.ws.commons.schema.XmlSchemaType;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 从XSD中提取的元素形状信息（不可变），供流式XML转JSON使用
+ *
+ * 流式转换无法回头修改已写出的内容，因此需要事先知道哪些元素是重复元素（maxOccurs > 1，
+ * 输出为JSON数组），以及哪些元素是数值或布尔类型（输出为JSON数值/布尔值）。
+ * 按元素在报文中的限定名索引；同名元素在不同类型中定义不一致时，只要有一处重复即视为重复，
+ * 值类型不一致时按字符串输出。
+ */
+final class XmlElementShapes {
+
+    static final XmlElementShapes EMPTY = new XmlElementShapes(Set.of(), Map.of());
+
+    enum ValueKind {
+        STRING, NUMBER, BOOLEAN
+    }
+
+    private static final Set<String> NUMBER_TYPES = Set.of(
+            "int", "integer", "long", "short", "byte", "decimal", "double", "float",
+            "unsignedInt", "unsignedLong", "unsignedShort", "unsignedByte",
+            "positiveInteger", "negativeInteger", "nonPositiveInteger", "nonNegativeInteger");
+
+    private final Set<QName> repeated;
+    private final Map<QName, ValueKind> valueKinds;
+
+    XmlElementShapes(Set<QName> repeated, Map<QName, ValueKind> valueKinds) {
+        this.repeated = repeated;
+        this.valueKinds = valueKinds;
+    }
+
+    /**
+     * 从服务模型的所有Schema中提取元素形状
+     */
+    static XmlElementShapes from(Collection<ServiceInfo> serviceInfos) {
+        Builder builder = new Builder();
+        for (ServiceInfo serviceInfo : serviceInfos) {
+            for (SchemaInfo schemaInfo : serviceInfo.getSchemas()) {
+                if (schemaInfo.getSchema() != null) {
+                    builder.visitSchema(schemaInfo.getSchema());
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    boolean isRepeated(QName elementName) {
+        return repeated.contains(elementName);
+    }
+
+    ValueKind valueKind(QName elementName) {
+        return valueKinds.getOrDefault(elementName, ValueKind.STRING);
+    }
+
+    int getRepeatedCount() {
+        return repeated.size();
+    }
+
+    private static final class Builder {
+
+        private final Set<QName> repeated = new HashSet<>();
+        private final Map<QName, ValueKind> valueKinds = new HashMap<>();
+        private final Set<XmlSchemaType> visitedTypes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        void visitSchema(XmlSchema schema) {
+            for (XmlSchemaElement element : schema.getElements().values()) {
+                visitElement(element, false);
+            }
+            for (XmlSchemaType type : schema.getSchemaTypes().values()) {
+                visitType(type);
+            }
+        }
+
+        private void visitElement(XmlSchemaElement element, boolean inRepeatedGroup) {
+            XmlSchemaElement target = element;
+            QName wireName = element.getWireName();
+            if (element.isRef()) {
+                target = element.getRef().getTarget();
+                wireName = element.getRef().getTargetQName();
+            }
+            if (wireName == null) {
+                return;
+            }
+            if (inRepeatedGroup || element.getMaxOccurs() > 1) {
+                repeated.add(wireName);
+            }
+            if (target == null) {
+                return;
+            }
+
+            ValueKind kind = valueKindOf(target.getSchemaTypeName(), target.getSchemaType());
+            ValueKind existing = valueKinds.putIfAbsent(wireName, kind);
+            if (existing != null && existing != kind) {
+                valueKinds.put(wireName, ValueKind.STRING);
+            }
+            if (target.getSchemaType() != null) {
+                visitType(target.getSchemaType());
+            }
+        }
+
+        private void visitType(XmlSchemaType type) {
+            if (!(type instanceof XmlSchemaComplexType) || !visitedTypes.add(type)) {
+                return;
+            }
+            XmlSchemaComplexType complexType = (XmlSchemaComplexType) type;
+            XmlSchemaParticle particle = complexType.getParticle();
+            if (particle == null && complexType.getContentModel() != null) {
+                XmlSchemaContent content = complexType.getContentModel().getContent();
+                if (content instanceof XmlSchemaComplexContentExtension) {
+                    particle = ((XmlSchemaComplexContentExtension) content).getParticle();
+                } else if (content instanceof XmlSchemaComplexContentRestriction) {
+                    particle = ((XmlSchemaComplexContentRestriction) content).getParticle();
+                }
+            }
+            visitParticle(particle, false);
+        }
+
+        private void visitParticle(Object particle, boolean inRepeatedGroup) {
+            if (particle instanceof XmlSchemaElement) {
+                visitElement((XmlSchemaElement) particle, inRepeatedGroup);
+                return;
+            }
+            if (!(particle instanceof XmlSchemaParticle)) {
+                return;
+            }
+            // 可重复的sequence/choice/all中的所有元素都可能重复出现
+            boolean repeatedGroup = inRepeatedGroup || ((XmlSchemaParticle) particle).getMaxOccurs() > 1;
+            if (particle instanceof XmlSchemaSequence) {
+                visitMembers(((XmlSchemaSequence) particle).getItems(), repeatedGroup);
+            } else if (particle instanceof XmlSchemaChoice) {
+                visitMembers(((XmlSchemaChoice) particle).getItems(), repeatedGroup);
+            } else if (particle instanceof XmlSchemaAll) {
+                visitMembers(((XmlSchemaAll) particle).getItems(), repeatedGroup);
+            } else if (particle instanceof XmlSchemaGroupRef) {
+                visitParticle(((XmlSchemaGroupRef) particle).getParticle(), repeatedGroup);
+            }
+        }
+
+        private void visitMembers(List<?> members, boolean inRepeatedGroup) {
+            for (Object member : members) {
+                visitParticle(member, inRepeatedGroup);
+            }
+        }
+
+        private static ValueKind valueKindOf(QName typeName, XmlSchemaType type) {
+            // 匿名或自定义的简单类型按其限制的基础类型判断
+            if ((typeName == null || !XMLConstants.W3C_XML_SCHEMA_NS_URI.equals(typeName.getNamespaceURI()))
+                    && type instanceof XmlSchemaSimpleType
+                    && ((XmlSchemaSimpleType) type).getContent() instanceof XmlSchemaSimpleTypeRestriction) {
+                typeName = ((XmlSchemaSimpleTypeRestriction) ((XmlSchemaSimpleType) type).getContent()).getBaseTypeName();
+            }
+            if (typeName == null || !XMLConstants.W3C_XML_SCHEMA_NS_URI.equals(typeName.getNamespaceURI())) {
+                return ValueKind.STRING;
+            }
+            if ("boolean".equals(typeName.getLocalPart())) {
+                return ValueKind.BOOLEAN;
+            }
+            return NUMBER_TYPES.contains(typeName.getLocalPart()) ? ValueKind.NUMBER : ValueKind.STRING;
+        }
+
+        XmlElementShapes build() {
+            return new XmlElementShapes(Set.copyOf(repeated), Map.copyOf(valueKinds));
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.wsdlconverter;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
 
 /**
  * WSDL转换器应用程序测试类
@@ -11,6 +16,15 @@ import org.springframework.test.context.ActiveProfiles;
 @ActiveProfiles("test")
 class WsdlConverterApplicationTests {
 
+    @TempDir
+    static Path clientCacheDir;
+
+    @DynamicPropertySource
+    static void clientCacheProperties(DynamicPropertyRegistry registry) {
+        // 编译结果缓存写到临时目录，不在工作目录中留下文件
+        registry.add("wsdl.client.cache.dir", clientCacheDir::toString);
+    }
+
     @Test
     void contextLoads() {
         // 测试Spring Boot应用程序上下文是否能够正常加载
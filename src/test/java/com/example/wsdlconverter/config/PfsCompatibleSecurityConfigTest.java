@@ -0,0 +1,99 @@
+package com.example.wsdlconverter.config;
+
+import org.apache.cxf.binding.soap.Soap11;
+import org.apache.cxf.binding.soap.SoapHeader;
+import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.headers.Header;
+import org.apache.cxf.helpers.DOMUtils;
+import org.apache.cxf.staxutils.StaxUtils;
+import org.apache.cxf.staxutils.W3CDOMStreamWriter;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PfsWsSecurityInterceptor的单元测试（预先序列化的安全头）
+ */
+class PfsCompatibleSecurityConfigTest {
+
+    private static final String SOAP_NS = "http://schemas.xmlsoap.org/soap/envelope/";
+    private static final String WSSE_NS = "http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-secext-1.0.xsd";
+    private static final String PFS_NS = "http://pfs.com";
+
+    private final PfsCompatibleSecurityConfig.PfsWsSecurityInterceptor interceptor = new PfsCompatibleSecurityConfig()
+            .createPfsInterceptor("user<1>", "p&ss", null, true, true);
+
+    @Test
+    void testHandleMessageReplacesExistingSecurityHeader() {
+        SoapMessage message = new SoapMessage(Soap11.getInstance());
+        QName security = new QName(WSSE_NS, "Security");
+        message.getHeaders().add(new SoapHeader(security, DOMUtils.createDocument().createElementNS(WSSE_NS, "Security")));
+
+        interceptor.handleMessage(message);
+        interceptor.handleMessage(message);
+
+        List<Header> headers = message.getHeaders();
+        assertEquals(1, headers.size());
+        assertSame(interceptor.getSecurityHeader(), headers.get(0));
+        assertEquals(security, headers.get(0).getName());
+    }
+
+    @Test
+    void testTemplateWrittenToStreamMatchesPfsFormat() throws Exception {
+        StringWriter xml = new StringWriter();
+        XMLStreamWriter writer = StaxUtils.createXMLStreamWriter(xml);
+        writer.writeStartElement("soap", "Header", SOAP_NS);
+        writer.writeNamespace("soap", SOAP_NS);
+        writeHeader(writer);
+        writer.writeEndElement();
+        writer.close();
+
+        Document document = StaxUtils.read(new StringReader(xml.toString()));
+        assertPfsHeader((Element) document.getDocumentElement().getFirstChild());
+    }
+
+    @Test
+    void testTemplateReplayedOnNonWoodstoxWriter() throws Exception {
+        W3CDOMStreamWriter writer = new W3CDOMStreamWriter();
+        writer.writeStartElement("soap", "Header", SOAP_NS);
+        writer.writeNamespace("soap", SOAP_NS);
+        writeHeader(writer);
+        writer.writeEndElement();
+
+        assertPfsHeader((Element) writer.getDocument().getDocumentElement().getFirstChild());
+    }
+
+    private void writeHeader(XMLStreamWriter writer) {
+        Header header = interceptor.getSecurityHeader();
+        header.getDataBinding().createWriter(XMLStreamWriter.class).write(header.getObject(), writer);
+    }
+
+    private static void assertPfsHeader(Element security) {
+        assertEquals(WSSE_NS, security.getNamespaceURI());
+        assertEquals("Security", security.getLocalName());
+        assertEquals("1", security.getAttribute("mustUnderstand"));
+        assertEquals("DEFAULT", pfsText(security, "PfsClientID"));
+        assertEquals("user<1>", pfsText(security, "PfsUserName"));
+        assertEquals("p&ss", pfsText(security, "PfsUserPassword"));
+        assertEquals("p&ss", pfsText(security, "PfsUserNewPassword"));
+        assertEquals("", pfsText(security, "PfsKeyData"));
+        assertEquals("true", pfsText(security, "PfsWindowsAuthentication"));
+        assertEquals("true", pfsText(security, "PfsChangePassword"));
+        assertEquals("", pfsText(security, "PfsToken"));
+        assertEquals(8, DOMUtils.getChildrenWithNamespace(security, PFS_NS).size());
+    }
+
+    private static String pfsText(Element security, String localName) {
+        Element element = DOMUtils.getFirstChildWithName(security, PFS_NS, localName);
+        assertNotNull(element, localName);
+        return element.getTextContent();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.wsdlconverter.config;
+
+import com.example.wsdl.generated.ServiceSoap;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.cxf.helpers.DOMUtils;
+import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
+import org.apache.cxf.staxutils.StaxUtils;
+import org.apache.cxf.ws.security.wss4j.WSS4JOutInterceptor;
+import org.apache.cxf.ws.security.wss4j.WSS4JStaxOutInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UsernameTokenSecurity的单元测试：DOM和StAX两种处理方式发送的UsernameToken一致
+ */
+class UsernameTokenSecurityTest {
+
+    private static final String SOAP_NS = "http://schemas.xmlsoap.org/soap/envelope/";
+    private static final String WSSE_NS = "http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-secext-1.0.xsd";
+    private static final String PASSWORD_TEXT =
+            "http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-username-token-profile-1.0#PasswordText";
+    private static final byte[] RESPONSE = ("<soap:Envelope xmlns:soap='http://schemas.xmlsoap.org/soap/envelope/'>"
+            + "<soap:Body><EchoResponse xmlns='http://tempuri.org/'><EchoResult>pong</EchoResult></EchoResponse>"
+            + "</soap:Body></soap:Envelope>").getBytes(StandardCharsets.UTF_8);
+
+    private final List<byte[]> requests = new ArrayList<>();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/service", exchange -> {
+            synchronized (requests) {
+                requests.add(exchange.getRequestBody().readAllBytes());
+            }
+            exchange.getResponseHeaders().add("Content-Type", "text/xml; charset=utf-8");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(RESPONSE);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testProcessingSelectsInterceptor() {
+        assertTrue(UsernameTokenSecurity.createOutInterceptor("u", "p", "streaming") instanceof WSS4JStaxOutInterceptor);
+        assertTrue(UsernameTokenSecurity.createOutInterceptor("u", "p", " Streaming ") instanceof WSS4JStaxOutInterceptor);
+        assertTrue(UsernameTokenSecurity.createOutInterceptor("u", "p", "dom") instanceof WSS4JOutInterceptor);
+        assertTrue(UsernameTokenSecurity.createOutInterceptor("u", "p", null) instanceof WSS4JOutInterceptor);
+    }
+
+    @Test
+    void testDomAndStreamingSendSameUsernameToken() throws Exception {
+        Element domToken = sendAndReadUsernameToken(UsernameTokenSecurity.PROCESSING_DOM);
+        Element streamingToken = sendAndReadUsernameToken(UsernameTokenSecurity.PROCESSING_STREAMING);
+
+        for (Element token : List.of(domToken, streamingToken)) {
+            assertEquals("alice", DOMUtils.getFirstChildWithName(token, WSSE_NS, "Username").getTextContent());
+            Element password = DOMUtils.getFirstChildWithName(token, WSSE_NS, "Password");
+            assertEquals("s3cret&<", password.getTextContent());
+            assertEquals(PASSWORD_TEXT, password.getAttribute("Type"));
+        }
+        assertEquals(childNames(domToken), childNames(streamingToken));
+    }
+
+    private Element sendAndReadUsernameToken(String processing) throws Exception {
+        JaxWsProxyFactoryBean factory = new JaxWsProxyFactoryBean();
+        factory.setServiceClass(ServiceSoap.class);
+        factory.setAddress("http://127.0.0.1:" + server.getAddress().getPort() + "/service");
+        factory.getOutInterceptors().add(UsernameTokenSecurity.createOutInterceptor("alice", "s3cret&<", processing));
+        ServiceSoap client = (ServiceSoap) factory.create();
+
+        assertEquals("pong", client.echo("ping"));
+
+        byte[] request;
+        synchronized (requests) {
+            request = requests.remove(requests.size() - 1);
+        }
+        Element envelope = StaxUtils.read(new ByteArrayInputStream(request)).getDocumentElement();
+        Element header = DOMUtils.getFirstChildWithName(envelope, SOAP_NS, "Header");
+        assertNotNull(header, processing);
+        Element security = DOMUtils.getFirstChildWithName(header, WSSE_NS, "Security");
+        assertNotNull(security, processing);
+        Element token = DOMUtils.getFirstChildWithName(security, WSSE_NS, "UsernameToken");
+        assertNotNull(token, processing);
+        return token;
+    }
+
+    private static List<String> childNames(Element element) {
+        List<String> names = new ArrayList<>();
+        for (Element child : DOMUtils.getChildrenWithNamespace(element, WSSE_NS)) {
+            names.add(child.getLocalName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.exception.WsdlServiceException;
+import com.example.wsdlconverter.model.BatchInvokeItem;
+import com.example.wsdlconverter.model.BatchInvokeResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * BatchInvocationService的单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchInvocationServiceTest {
+
+    @Mock
+    private InvocationDispatcher invocationDispatcher;
+
+    @InjectMocks
+    private BatchInvocationService batchInvocationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(batchInvocationService, "maxParallelism", 2);
+        ReflectionTestUtils.setField(batchInvocationService, "maxItems", 10);
+        ReflectionTestUtils.setField(batchInvocationService, "batchThreads", 4);
+        batchInvocationService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchInvocationService.shutdown();
+    }
+
+    @Test
+    void testResultsKeepRequestOrderWithPerItemErrors() {
+        when(invocationDispatcher.getMode()).thenReturn(InvocationDispatcher.InvocationMode.SYNC);
+        when(invocationDispatcher.dispatch(anyString(), any())).thenAnswer(invocation -> {
+            String methodName = invocation.getArgument(0);
+            if ("Fail".equals(methodName)) {
+                return CompletableFuture.failedFuture(new WsdlServiceException("后台错误"));
+            }
+            return CompletableFuture.completedFuture(methodName + "-result");
+        });
+
+        List<BatchInvokeResult> results = batchInvocationService.invokeBatch(List.of(
+                new BatchInvokeItem("GetVersion", null),
+                new BatchInvokeItem("Fail", Map.of()),
+                new BatchInvokeItem("Echo", Map.of("message", "hi")))).join();
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("GetVersion-result", results.get(0).getResult());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("后台错误", results.get(1).getError());
+        assertEquals(2, results.get(2).getIndex());
+        assertEquals("Echo-result", results.get(2).getResult());
+    }
+
+    @Test
+    void testParallelismIsBounded() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(invocationDispatcher.getMode()).thenReturn(InvocationDispatcher.InvocationMode.SYNC);
+        when(invocationDispatcher.dispatch(anyString(), any())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return CompletableFuture.completedFuture("ok");
+        });
+
+        List<BatchInvokeItem> items = List.of(
+                new BatchInvokeItem("A", null), new BatchInvokeItem("B", null),
+                new BatchInvokeItem("C", null), new BatchInvokeItem("D", null),
+                new BatchInvokeItem("E", null));
+        List<BatchInvokeResult> results = batchInvocationService.invokeBatch(items).join();
+
+        assertEquals(5, results.size());
+        assertTrue(results.stream().allMatch(BatchInvokeResult::isSuccess));
+        assertTrue(maxInFlight.get() <= 2);
+    }
+
+    @Test
+    void testRejectsOversizedBatch() {
+        List<BatchInvokeItem> items = java.util.Collections.nCopies(11, new BatchInvokeItem("A", null));
+
+        assertThrows(IllegalArgumentException.class, () -> batchInvocationService.invokeBatch(items));
+        assertThrows(IllegalArgumentException.class, () -> batchInvocationService.invokeBatch(List.of()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.exception.BulkheadFullException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulkhead的单元测试
+ */
+class BulkheadTest {
+
+    @Test
+    void testQueuedCallRunsWhenPermitIsReleased() {
+        Bulkhead bulkhead = new Bulkhead("GetReport", 1, 1, 5000);
+        CompletableFuture<String> slowCall = new CompletableFuture<>();
+
+        CompletableFuture<String> first = bulkhead.execute(() -> slowCall, false);
+        CompletableFuture<String> queued = bulkhead.execute(() -> CompletableFuture.completedFuture("second"), false);
+
+        assertEquals(1, bulkhead.getActiveCalls());
+        assertEquals(1, bulkhead.getQueuedCalls());
+        assertFalse(queued.isDone());
+
+        slowCall.complete("first");
+
+        assertEquals("first", first.join());
+        assertEquals("second", queued.join());
+        assertEquals(0, bulkhead.getActiveCalls());
+        assertEquals(0, bulkhead.getQueuedCalls());
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() {
+        Bulkhead bulkhead = new Bulkhead("GetReport", 1, 0, 5000);
+        bulkhead.execute(CompletableFuture::new, false);
+
+        CompletableFuture<Object> rejected = bulkhead.execute(() -> CompletableFuture.completedFuture("x"), false);
+
+        CompletionException e = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(BulkheadFullException.class, e.getCause());
+        assertEquals(1, bulkhead.getRejectedCount());
+    }
+
+    @Test
+    void testQueuedBlockingCallTimesOut() {
+        Bulkhead bulkhead = new Bulkhead("GetReport", 1, 1, 50);
+        bulkhead.execute(CompletableFuture::new, false);
+
+        CompletableFuture<Object> timedOut = bulkhead.execute(() -> CompletableFuture.completedFuture("x"), true);
+
+        assertTrue(timedOut.isCompletedExceptionally());
+        assertEquals(0, bulkhead.getQueuedCalls());
+        assertEquals(1, bulkhead.getRejectedCount());
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.config.CircuitBreakerProperties;
+import com.example.wsdlconverter.exception.BulkheadFullException;
+import com.example.wsdlconverter.exception.CircuitBreakerOpenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CircuitBreaker的单元测试
+ */
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private CircuitBreakerProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CircuitBreakerProperties();
+        properties.setSlidingWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setSlowCallDuration(Duration.ofSeconds(1));
+        properties.setWaitDurationInOpenState(Duration.ofSeconds(30));
+        properties.setPermittedCallsInHalfOpenState(2);
+    }
+
+    @Test
+    void testOpensOnFailureRateAndFailsFast() {
+        CircuitBreaker breaker = new CircuitBreaker("GetReport", properties, clock::get);
+        succeed(breaker);
+        succeed(breaker);
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        AtomicInteger backendCalls = new AtomicInteger();
+        CompletableFuture<Object> rejected = breaker.execute(() -> {
+            backendCalls.incrementAndGet();
+            return CompletableFuture.completedFuture("x");
+        });
+        CompletionException e = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(CircuitBreakerOpenException.class, e.getCause());
+        assertEquals(0, backendCalls.get());
+        assertEquals(1, breaker.getRejectedCount());
+    }
+
+    @Test
+    void testOpensOnSlowCallRate() {
+        properties.setSlowCallRateThreshold(75);
+        CircuitBreaker breaker = new CircuitBreaker("GetReport", properties, clock::get);
+        succeed(breaker);
+        for (int i = 0; i < 3; i++) {
+            breaker.execute(() -> {
+                clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+                return CompletableFuture.completedFuture("slow");
+            }).join();
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(75f, breaker.getSlowCallRate());
+    }
+
+    @Test
+    void testHalfOpenProbesCloseTheBreaker() {
+        CircuitBreaker breaker = openBreaker();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+
+        CompletableFuture<Object> probe1 = new CompletableFuture<>();
+        CompletableFuture<Object> probe2 = new CompletableFuture<>();
+        breaker.execute(() -> probe1);
+        breaker.execute(() -> probe2);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        // 探测名额已用完，其他调用继续快速失败
+        assertTrue(breaker.execute(() -> CompletableFuture.completedFuture("x")).isCompletedExceptionally());
+
+        probe1.complete("ok");
+        probe2.complete("ok");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testFailedHalfOpenProbesReopenTheBreaker() {
+        CircuitBreaker breaker = openBreaker();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+
+        fail(breaker);
+        fail(breaker);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void testCallsIssuedBeforeOpeningAreNotProbeResults() {
+        CircuitBreaker breaker = new CircuitBreaker("GetReport", properties, clock::get);
+        CompletableFuture<Object> straggler = new CompletableFuture<>();
+        breaker.execute(() -> straggler);
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+
+        CompletableFuture<Object> probe = new CompletableFuture<>();
+        breaker.execute(() -> probe);
+        // 打开前发出的调用在半开状态下失败，不计为探测结果
+        straggler.completeExceptionally(new IOException("接收超时"));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        probe.complete("ok");
+        succeed(breaker);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testStaleRejectedCallDoesNotReturnProbePermit() {
+        CircuitBreaker breaker = new CircuitBreaker("GetReport", properties, clock::get);
+        CompletableFuture<Object> straggler = new CompletableFuture<>();
+        breaker.execute(() -> straggler);
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        breaker.execute(CompletableFuture::new);
+        breaker.execute(CompletableFuture::new);
+
+        straggler.completeExceptionally(new BulkheadFullException("GetReport", "舱壁已满"));
+
+        assertTrue(breaker.execute(() -> CompletableFuture.completedFuture("x")).isCompletedExceptionally());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    private CircuitBreaker openBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker("GetReport", properties, clock::get);
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        return breaker;
+    }
+
+    private static void succeed(CircuitBreaker breaker) {
+        breaker.execute(() -> CompletableFuture.completedFuture("ok")).join();
+    }
+
+    private static void fail(CircuitBreaker breaker) {
+        breaker.execute(() -> CompletableFuture.failedFuture(new IOException("连接超时"))).exceptionally(e -> null);
+    }
+}
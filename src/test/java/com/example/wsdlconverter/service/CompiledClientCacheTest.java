@@ -0,0 +1,102 @@
+package com.example.wsdlconverter.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CompiledClientCache的单元测试
+ */
+class CompiledClientCacheTest {
+
+    private static final List<String> SOURCES = List.of("org/tempuri/Echo.java", "org/tempuri/ObjectFactory.java");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testKeyFollowsWsdlContent() throws Exception {
+        CompiledClientCache cache = new CompiledClientCache(tempDir.resolve("cache"));
+        Path wsdl = tempDir.resolve("service.wsdl");
+        Files.writeString(wsdl, "<definitions/>");
+        String key = cache.computeKey(wsdl.toString());
+
+        assertNotNull(key);
+        assertEquals(key, cache.computeKey(wsdl.toString()));
+        Files.writeString(wsdl, "<definitions name='v2'/>");
+        assertNotEquals(key, cache.computeKey(wsdl.toString()));
+        assertNull(cache.computeKey(tempDir.resolve("missing.wsdl").toString()));
+
+        ReflectionTestUtils.setField(cache, "enabled", false);
+        assertNull(cache.computeKey(wsdl.toString()));
+    }
+
+    @Test
+    void testClassesRestoredOnlyForSameSources() throws Exception {
+        CompiledClientCache cache = new CompiledClientCache(tempDir.resolve("cache"));
+        Path compiled = tempDir.resolve("compiled");
+        Files.createDirectories(compiled.resolve("org/tempuri"));
+        Files.write(compiled.resolve("org/tempuri/Echo.class"), new byte[] {1, 2, 3});
+
+        Path miss = tempDir.resolve("miss");
+        assertFalse(cache.restoreClasses("k1", SOURCES, miss));
+        cache.storeClasses("k1", SOURCES, compiled);
+
+        Path dest = tempDir.resolve("dest");
+        assertTrue(cache.restoreClasses("k1", SOURCES, dest));
+        assertArrayEquals(new byte[] {1, 2, 3}, Files.readAllBytes(dest.resolve("org/tempuri/Echo.class")));
+        assertFalse(cache.restoreClasses("k1", List.of("org/tempuri/Echo.java"), tempDir.resolve("other")));
+    }
+
+    @Test
+    void testSourcesDescribedByContent() throws Exception {
+        Path first = tempDir.resolve("1-src/org/tempuri/Echo.java");
+        Path second = tempDir.resolve("2-src/org/tempuri/Echo.java");
+        Files.createDirectories(first.getParent());
+        Files.createDirectories(second.getParent());
+        Files.writeString(first, "public class Echo { protected String value; }");
+        Files.writeString(second, "public class Echo { protected String value; }");
+
+        List<String> sources = CompiledClientCache.describeSources(List.of(first.toFile()));
+        assertEquals(sources, CompiledClientCache.describeSources(List.of(second.toFile())));
+        assertTrue(sources.get(0).startsWith("org/tempuri/Echo.java "));
+
+        // 引用的XSD变化只体现在生成的源文件内容中，文件名不变
+        Files.writeString(second, "public class Echo { protected String value; protected int count; }");
+        List<String> changed = CompiledClientCache.describeSources(List.of(second.toFile()));
+        assertNotEquals(sources, changed);
+
+        CompiledClientCache cache = new CompiledClientCache(tempDir.resolve("cache"));
+        Path compiled = tempDir.resolve("compiled");
+        Files.createDirectories(compiled);
+        Files.write(compiled.resolve("Echo.class"), new byte[] {1});
+        cache.storeClasses("k1", sources, compiled);
+        assertFalse(cache.restoreClasses("k1", changed, tempDir.resolve("dest")));
+    }
+
+    @Test
+    void testOldEntriesEvicted() throws Exception {
+        CompiledClientCache cache = new CompiledClientCache(tempDir.resolve("cache"));
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        Path compiled = tempDir.resolve("compiled");
+        Files.createDirectories(compiled);
+        Files.write(compiled.resolve("A.class"), new byte[] {1});
+
+        cache.storeClasses("k1", SOURCES, compiled);
+        Files.setLastModifiedTime(tempDir.resolve("cache/k1"),
+                FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+        cache.storeClasses("k2", SOURCES, compiled);
+        cache.storeClasses("k3", SOURCES, compiled);
+
+        assertFalse(Files.exists(tempDir.resolve("cache/k1")));
+        assertTrue(Files.exists(tempDir.resolve("cache/k2")));
+        assertTrue(Files.exists(tempDir.resolve("cache/k3")));
+    }
+}
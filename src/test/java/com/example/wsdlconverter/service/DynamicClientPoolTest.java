@@ -0,0 +1,136 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.exception.ClientPoolClosedException;
+import com.example.wsdlconverter.exception.ClientPoolExhaustedException;
+import org.apache.cxf.endpoint.Client;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * DynamicClientPool的单元测试
+ */
+class DynamicClientPoolTest {
+
+    private final AtomicInteger createdClients = new AtomicInteger();
+
+    private DynamicClientPool createPool(int minSize, int maxSize, long borrowTimeout, long idleTimeout) {
+        return new DynamicClientPool(() -> {
+            createdClients.incrementAndGet();
+            return mock(Client.class);
+        }, minSize, maxSize, borrowTimeout, idleTimeout);
+    }
+
+    @Test
+    void testPrefillCreatesMinimumClients() {
+        DynamicClientPool pool = createPool(2, 4, 100, 60000);
+        pool.prefill();
+
+        assertEquals(2, pool.getTotalCount());
+        assertEquals(2, pool.getIdleCount());
+        assertEquals(0, pool.getBorrowedCount());
+    }
+
+    @Test
+    void testBorrowReusesReleasedClient() {
+        DynamicClientPool pool = createPool(1, 4, 100, 60000);
+        pool.prefill();
+
+        DynamicClientPool.PooledClient first = pool.borrow("Echo");
+        pool.release(first);
+        DynamicClientPool.PooledClient second = pool.borrow("Echo");
+
+        assertSame(first.getClient(), second.getClient());
+        assertEquals(1, createdClients.get());
+        assertEquals(1, pool.getBorrowedCount());
+    }
+
+    @Test
+    void testPoolGrowsUpToMaxSizeAndTimesOut() {
+        DynamicClientPool pool = createPool(0, 2, 50, 60000);
+
+        DynamicClientPool.PooledClient first = pool.borrow("Echo");
+        DynamicClientPool.PooledClient second = pool.borrow("Echo");
+
+        assertNotSame(first.getClient(), second.getClient());
+        assertEquals(2, pool.getTotalCount());
+        assertEquals(1.0, pool.getUtilization());
+
+        ClientPoolExhaustedException e = assertThrows(ClientPoolExhaustedException.class, () -> pool.borrow("Echo"));
+        assertEquals("Echo", e.getOperationName());
+        assertFalse(BackendFailures.isBackendFailure(e));
+        assertEquals(1, pool.getBorrowTimeoutCount());
+    }
+
+    @Test
+    void testIdleClientsAboveMinimumAreTrimmed() throws InterruptedException {
+        DynamicClientPool pool = createPool(1, 3, 100, 20);
+
+        DynamicClientPool.PooledClient first = pool.borrow("Echo");
+        DynamicClientPool.PooledClient second = pool.borrow("Echo");
+        pool.release(first);
+        Thread.sleep(40);
+        pool.release(second);
+
+        assertEquals(1, pool.getTotalCount());
+        verify(first.getClient()).destroy();
+    }
+
+    @Test
+    void testCloseDestroysIdleAndReturnedClients() {
+        DynamicClientPool pool = createPool(1, 2, 100, 60000);
+        pool.prefill();
+        DynamicClientPool.PooledClient borrowed = pool.borrow("Echo");
+        DynamicClientPool.PooledClient extra = pool.borrow("Echo");
+        pool.release(extra);
+
+        pool.close();
+        pool.release(borrowed);
+
+        assertEquals(0, pool.getTotalCount());
+        assertThrows(ClientPoolClosedException.class, () -> pool.borrow("Echo"));
+    }
+
+    @Test
+    void testCloseWakesWaitingBorrowers() throws Exception {
+        DynamicClientPool pool = createPool(0, 1, 60000, 60000);
+        DynamicClientPool.PooledClient borrowed = pool.borrow("Echo");
+        List<CompletableFuture<DynamicClientPool.PooledClient>> waiters = List.of(
+                CompletableFuture.supplyAsync(() -> pool.borrow("Echo")),
+                CompletableFuture.supplyAsync(() -> pool.borrow("Echo")));
+        while (pool.getWaitingCount() < 2) {
+            Thread.sleep(5);
+        }
+
+        pool.close();
+
+        for (CompletableFuture<DynamicClientPool.PooledClient> waiter : waiters) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> waiter.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(ClientPoolClosedException.class, e.getCause());
+        }
+        assertEquals(0, pool.getBorrowTimeoutCount());
+        pool.release(borrowed);
+        assertEquals(0, pool.getTotalCount());
+    }
+
+    @Test
+    void testClientReleasedToOwningPool() {
+        DynamicClientPool oldPool = createPool(0, 1, 100, 60000);
+        DynamicClientPool newPool = createPool(0, 1, 100, 60000);
+        DynamicClientPool.PooledClient pooled = newPool.borrow("Echo");
+
+        oldPool.release(pooled);
+
+        assertEquals(0, newPool.getBorrowedCount());
+        assertEquals(1, newPool.getIdleCount());
+        assertEquals(0, oldPool.getBorrowedCount());
+    }
+}
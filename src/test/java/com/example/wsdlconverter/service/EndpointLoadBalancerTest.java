@@ -0,0 +1,97 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.config.LoadBalancerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EndpointLoadBalancer的单元测试
+ */
+class EndpointLoadBalancerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private EndpointLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        LoadBalancerProperties properties = new LoadBalancerProperties();
+        properties.setEndpoints(List.of("http://a/service", "http://b/service"));
+        properties.setConsecutiveFailures(2);
+        properties.setBaseEjectionTime(Duration.ofSeconds(10));
+
+        loadBalancer = new EndpointLoadBalancer(clock::get);
+        ReflectionTestUtils.setField(loadBalancer, "properties", properties);
+        loadBalancer.init();
+    }
+
+    @Test
+    void testPrefersLowerLatencyEndpoint() {
+        BackendEndpoint fast = call(null, "http://a/service", 10);
+        BackendEndpoint slow = call(null, "http://b/service", 200);
+
+        for (int i = 0; i < 20; i++) {
+            BackendEndpoint chosen = loadBalancer.choose();
+            assertSame(fast, chosen);
+            loadBalancer.onComplete(chosen, clock.get(), null);
+        }
+        assertEquals(0, slow.getInFlight());
+    }
+
+    @Test
+    void testSpreadsLoadWhenRequestsPileUp() {
+        BackendEndpoint fast = call(null, "http://a/service", 10);
+        BackendEndpoint slow = call(null, "http://b/service", 50);
+
+        // 进行中的请求计入代价，较快实例积压后请求转向另一个实例
+        for (int i = 0; i < 10; i++) {
+            loadBalancer.choose();
+        }
+        assertTrue(fast.getInFlight() > 0);
+        assertTrue(slow.getInFlight() > 0);
+    }
+
+    @Test
+    void testEjectsFailingEndpointAndReadmitsAfterRecovery() {
+        call(null, "http://a/service", 500);
+        BackendEndpoint failing = call(new IOException("连接被拒绝"), "http://b/service", 5);
+        call(new IOException("连接被拒绝"), "http://b/service", 5);
+
+        for (int i = 0; i < 20; i++) {
+            BackendEndpoint chosen = loadBalancer.choose();
+            assertNotSame(failing, chosen);
+            loadBalancer.onComplete(chosen, clock.get(), null);
+        }
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        call(null, "http://b/service", 5);
+        assertEquals("HEALTHY", loadBalancer.getStatistics().get(1).get("state"));
+    }
+
+    /**
+     * 选出指定实例并以给定的耗时和结果完成调用（指定实例须为代价较低的一方）
+     */
+    private BackendEndpoint call(Throwable error, String address, long millis) {
+        BackendEndpoint endpoint;
+        for (int attempt = 0; ; attempt++) {
+            endpoint = loadBalancer.choose();
+            if (endpoint.getAddress().equals(address)) {
+                break;
+            }
+            loadBalancer.onComplete(endpoint, clock.get(), null);
+            assertTrue(attempt < 100, "未能选中实例: " + address);
+        }
+        long start = clock.get();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        loadBalancer.onComplete(endpoint, start, error);
+        return endpoint;
+    }
+}
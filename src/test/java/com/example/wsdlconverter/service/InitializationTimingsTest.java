@@ -0,0 +1,72 @@
+package com.example.wsdlconverter.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InitializationTimings的单元测试（使用可控时钟）
+ */
+class InitializationTimingsTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final InitializationTimings timings = new InitializationTimings(registry, clock::get);
+
+    private void advance(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    void testStepsRecordedInCompletionOrder() {
+        String source = timings.time("resolve", () -> {
+            advance(30);
+            return "service.wsdl";
+        });
+        timings.run("client", () -> advance(1200));
+        advance(5);
+
+        assertEquals("service.wsdl", source);
+        Map<String, Long> millis = timings.toMillis();
+        assertEquals(List.of("resolve", "client", "total"), List.copyOf(millis.keySet()));
+        assertEquals(30L, millis.get("resolve"));
+        assertEquals(1200L, millis.get("client"));
+        assertEquals(1235L, millis.get("total"));
+
+        Timer timer = registry.get("wsdl.client.init").tag("step", "client").timer();
+        assertEquals(1, timer.count());
+        assertEquals(1200.0, timer.totalTime(TimeUnit.MILLISECONDS), 1e-9);
+    }
+
+    @Test
+    void testFailedStepIsTimedAndCheckedExceptionWrapped() {
+        CompletionException e = assertThrows(CompletionException.class, () -> timings.time("parse", () -> {
+            advance(40);
+            throw new IOException("unreachable");
+        }));
+        assertInstanceOf(IOException.class, e.getCause());
+        assertThrows(IllegalStateException.class, () -> timings.run("pool", () -> {
+            throw new IllegalStateException("no bus");
+        }));
+
+        Map<String, Long> millis = timings.toMillis();
+        assertEquals(40L, millis.get("parse"));
+        assertEquals(0L, millis.get("pool"));
+    }
+
+    @Test
+    void testWorksWithoutMeterRegistry() {
+        InitializationTimings plain = new InitializationTimings(null, clock::get);
+        plain.run("resolve", () -> advance(10));
+        assertEquals(10L, plain.toMillis().get("resolve"));
+    }
+}
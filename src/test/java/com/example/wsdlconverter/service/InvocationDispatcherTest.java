@@ -0,0 +1,79 @@
+package com.example.wsdlconverter.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * InvocationDispatcher的单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class InvocationDispatcherTest {
+
+    @Mock
+    private WsdlServiceAdapter wsdlServiceAdapter;
+
+    @InjectMocks
+    private InvocationDispatcher invocationDispatcher;
+
+    @AfterEach
+    void tearDown() {
+        invocationDispatcher.shutdown();
+    }
+
+    @Test
+    void testVirtualModeInvokesBlockingOrFallsBackToSync() throws Exception {
+        ReflectionTestUtils.setField(invocationDispatcher, "invokeMode", "virtual");
+        invocationDispatcher.init();
+
+        AtomicReference<Thread> caller = new AtomicReference<>();
+        when(wsdlServiceAdapter.invokeWithArguments(eq("Echo"), any(), any())).thenAnswer(invocation -> {
+            caller.set(Thread.currentThread());
+            return "echo";
+        });
+
+        InvocationTimeline timeline = InvocationTimeline.detached("Echo");
+        Object result = invocationDispatcher.dispatchArguments("Echo", new Object[]{"x"}, timeline).join();
+
+        assertEquals("echo", result);
+        // 虚拟线程中直接执行同步调用，不再通过异步传输
+        verify(wsdlServiceAdapter, never()).invokeWithArgumentsAsync(anyString(), any(), any());
+        if (VirtualThreads.isSupported()) {
+            assertEquals(InvocationDispatcher.InvocationMode.VIRTUAL, invocationDispatcher.getMode());
+            assertNotSame(Thread.currentThread(), caller.get());
+        } else {
+            assertEquals(InvocationDispatcher.InvocationMode.SYNC, invocationDispatcher.getMode());
+            assertSame(Thread.currentThread(), caller.get());
+        }
+    }
+
+    @Test
+    void testVirtualModeFailureCompletesExceptionally() throws Exception {
+        ReflectionTestUtils.setField(invocationDispatcher, "invokeMode", "virtual");
+        invocationDispatcher.init();
+        IllegalStateException failure = new IllegalStateException("WSDL客户端未初始化");
+        when(wsdlServiceAdapter.invokeMethod(eq("Echo"), any())).thenThrow(failure);
+
+        CompletableFuture<Object> future = invocationDispatcher.dispatch("Echo", Map.of());
+
+        Exception e = assertThrows(Exception.class, future::join);
+        assertSame(failure, InvocationDispatcher.unwrap(e));
+        verify(wsdlServiceAdapter, never()).invokeMethodAsync(anyString(), any());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.wsdlconverter.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InvocationKey的单元测试
+ */
+class InvocationKeyTest {
+
+    private final ObjectWriter writer = new ObjectMapper().writer(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    @Test
+    void testGeneratedTypesWithoutEqualsCompareByContent() throws Exception {
+        InvocationKey first = InvocationKey.of("GetOrder", new Object[]{new OrderRequest("A-1", 2), 7L}, writer);
+        InvocationKey second = InvocationKey.of("getorder", new Object[]{new OrderRequest("A-1", 2), 7L}, writer);
+        InvocationKey other = InvocationKey.of("GetOrder", new Object[]{new OrderRequest("A-2", 2), 7L}, writer);
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, other);
+        assertEquals("GetOrder", first.getOperationName());
+    }
+
+    @Test
+    void testMapEntryOrderAndMissingArgumentsIgnored() throws Exception {
+        Map<String, Object> ab = new LinkedHashMap<>();
+        ab.put("a", 1);
+        ab.put("b", "x");
+        Map<String, Object> ba = new LinkedHashMap<>();
+        ba.put("b", "x");
+        ba.put("a", 1);
+
+        assertEquals(InvocationKey.of("Echo", new Object[]{ab}, writer), InvocationKey.of("Echo", new Object[]{ba}, writer));
+        assertEquals(InvocationKey.of("GetVersion", null, writer), InvocationKey.of("GetVersion", new Object[0], writer));
+    }
+
+    /** 模拟动态客户端生成的JAXB类型（没有equals/hashCode） */
+    public static class OrderRequest {
+        private final String orderId;
+        private final int quantity;
+
+        OrderRequest(String orderId, int quantity) {
+            this.orderId = orderId;
+            this.quantity = quantity;
+        }
+
+        public String getOrderId() {
+            return orderId;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+    }
+}
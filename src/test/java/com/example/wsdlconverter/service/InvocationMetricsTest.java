@@ -0,0 +1,152 @@
+package com.example.wsdlconverter.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.wsdl.Definition;
+import javax.wsdl.factory.WSDLFactory;
+import javax.xml.ws.BindingProvider;
+import java.io.File;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InvocationMetrics和阶段边界拦截器的单元测试（使用本地HTTP服务模拟SOAP后台）
+ */
+class InvocationMetricsTest {
+
+    private static final byte[] RESPONSE = ("<soap:Envelope xmlns:soap='http://schemas.xmlsoap.org/soap/envelope/'>"
+            + "<soap:Body><EchoResponse xmlns='http://tempuri.org/'><EchoResult>pong</EchoResult></EchoResponse>"
+            + "</soap:Body></soap:Envelope>").getBytes(StandardCharsets.UTF_8);
+
+    private SimpleMeterRegistry registry;
+    private InvocationMetrics metrics;
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new SimpleMeterRegistry();
+        metrics = new InvocationMetrics();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", registry);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/service", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "text/xml; charset=utf-8");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(RESPONSE);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testTimelinePublishesPhasesPerOperation() {
+        metrics.configure(List.of("Echo"));
+
+        InvocationTimeline timeline = metrics.start("Echo");
+        timeline.record(InvocationTimeline.Phase.PREPARE, 1_000);
+        timeline.record(InvocationTimeline.Phase.PREPARE, 2_000);
+        timeline.record(InvocationTimeline.Phase.SERIALIZE, -1);
+        metrics.start("../etc/passwd").record(InvocationTimeline.Phase.PREPARE, 5_000);
+        InvocationTimeline.detached("Echo").record(InvocationTimeline.Phase.PREPARE, 7_000);
+        // 与调用计划一样不区分操作名大小写
+        InvocationTimeline lowerCase = metrics.start("echo");
+        lowerCase.record(InvocationTimeline.Phase.PREPARE, 4_000);
+
+        assertEquals("Echo", lowerCase.getOperation());
+        assertEquals(3_000, timeline.getDuration(InvocationTimeline.Phase.PREPARE));
+        assertEquals(0, timeline.getDuration(InvocationTimeline.Phase.SERIALIZE));
+        Timer prepare = phaseTimer("Echo", "prepare");
+        assertEquals(3, prepare.count());
+        assertEquals(7_000, prepare.totalTime(TimeUnit.NANOSECONDS));
+        assertEquals(1, phaseTimer(InvocationMetrics.UNKNOWN_OPERATION, "prepare").count());
+        assertNull(registry.find("wsdl.invoke.phase").tag("phase", "serialize").timer());
+    }
+
+    @Test
+    void testServerTimingListsRecordedPhases() {
+        InvocationTimeline timeline = InvocationTimeline.detached("Echo");
+        timeline.record(InvocationTimeline.Phase.PREPARE, 120_000);
+        timeline.record(InvocationTimeline.Phase.NETWORK, 12_345_678);
+        timeline.record(InvocationTimeline.Phase.SERIALIZE, 5_000);
+        timeline.setCacheStatus(InvocationTimeline.CACHE_MISS);
+
+        String header = timeline.toServerTiming();
+
+        assertTrue(header.startsWith("prepare;dur=0.120, network;dur=12.345, serialize;dur=0.005, "
+                + "cache;desc=miss, total;dur="), header);
+        assertFalse(header.contains("marshal"));
+        assertTrue(InvocationTimeline.detached("Echo").toServerTiming().startsWith("total;dur="));
+    }
+
+    @Test
+    void testInterceptorsRecordBackendPhasesAndSizes() throws Exception {
+        File wsdl = new File(getClass().getResource("/wsdl/service.wsdl").toURI());
+        Definition definition = WSDLFactory.newInstance().newWSDLReader().readWSDL(wsdl.toURI().toString());
+        PayloadDispatchEngine engine = PayloadDispatchEngine.create(wsdl.getPath(), definition, new ObjectMapper());
+        metrics.instrument(engine.getClient());
+        engine.start();
+        Map<String, Object> requestContext = engine.getRequestContext();
+        requestContext.put(BindingProvider.ENDPOINT_ADDRESS_PROPERTY,
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/service");
+
+        // 没有关联耗时记录的调用不记录任何指标
+        engine.invoke("Echo", new Object[]{"untimed"});
+        assertTrue(registry.getMeters().isEmpty());
+
+        InvocationTimeline timeline = metrics.start("Echo");
+        requestContext.put(InvocationTimeline.KEY, timeline);
+        try {
+            engine.invoke("Echo", new Object[]{"ping"});
+        } finally {
+            requestContext.remove(InvocationTimeline.KEY);
+        }
+        timeline.markResponseComplete();
+        timeline.markResponseComplete();
+
+        assertTrue(timeline.getDuration(InvocationTimeline.Phase.NETWORK) >= TimeUnit.MILLISECONDS.toNanos(50));
+        for (String phase : List.of("marshal", "security", "network", "unmarshal")) {
+            assertEquals(1, phaseTimer("Echo", phase).count(), phase);
+        }
+        assertTrue(payloadSize("request").totalAmount() > 0);
+        assertEquals(RESPONSE.length, payloadSize("response").totalAmount());
+    }
+
+    private Timer phaseTimer(String operation, String phase) {
+        Timer timer = registry.find("wsdl.invoke.phase").tags("operation", operation, "phase", phase).timer();
+        assertNotNull(timer, operation + " " + phase);
+        return timer;
+    }
+
+    private DistributionSummary payloadSize(String direction) {
+        DistributionSummary summary = registry.find("wsdl.invoke.payload.size")
+                .tags("operation", "Echo", "direction", direction).summary();
+        assertNotNull(summary, direction);
+        return summary;
+    }
+}
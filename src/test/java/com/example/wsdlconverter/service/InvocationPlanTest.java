@@ -0,0 +1,152 @@
+package com.example.wsdlconverter.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.namespace.QName;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InvocationPlan的单元测试
+ */
+class InvocationPlanTest {
+
+    private static final String XSD = "http://www.w3.org/2001/XMLSchema";
+
+    private static InvocationPlan plan(String operationName, Object... nameTypePairs) {
+        WsdlServiceAdapter.OperationInfo operation = new WsdlServiceAdapter.OperationInfo(operationName);
+        for (int i = 0; i < nameTypePairs.length; i += 2) {
+            operation.addInputParameter(new WsdlServiceAdapter.ParameterInfo(
+                    (String) nameTypePairs[i], new QName(XSD, (String) nameTypePairs[i + 1]), true, i / 2));
+        }
+        return InvocationPlan.compile(operation);
+    }
+
+    @Test
+    void testBindsArgumentsInWsdlOrderWithConversion() {
+        InvocationPlan plan = plan("Search", "keyword", "string", "pageSize", "int", "exact", "boolean");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("EXACT", "true");
+        parameters.put("pagesize", "20");
+        parameters.put("ns:keyword", 42);
+
+        Object[] args = plan.bind(parameters);
+
+        assertArrayEquals(new Object[]{"42", 20, true}, args);
+    }
+
+    @Test
+    void testExactMatchTakesPrecedenceOverIgnoreCaseAndPrefix() {
+        InvocationPlan plan = plan("Echo", "message", "string");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("tns:message", "prefixed");
+        parameters.put("MESSAGE", "ignore-case");
+        parameters.put("message", "exact");
+
+        assertArrayEquals(new Object[]{"exact"}, plan.bind(parameters));
+
+        parameters.remove("message");
+        assertArrayEquals(new Object[]{"ignore-case"}, plan.bind(parameters));
+    }
+
+    @Test
+    void testMissingAndUnconvertibleArguments() {
+        InvocationPlan plan = plan("GetOrder", "orderId", "long", "detail", "OrderDetail");
+        Map<String, Object> detail = Map.of("lines", List.of());
+
+        Object[] args = plan.bind(Map.of("orderId", "not-a-number"));
+        assertArrayEquals(new Object[]{"not-a-number", null}, args);
+
+        args = plan.bind(Map.of("orderId", 7, "detail", detail));
+        assertArrayEquals(new Object[]{7L, detail}, args);
+    }
+
+    private static Object[] bindJson(InvocationPlan plan, String json) throws Exception {
+        ObjectMapper mapper = JsonMapper.builder().enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES).build();
+        try (JsonParser parser = mapper.createParser(json)) {
+            parser.nextToken();
+            return plan != null ? plan.bind(parser) : InvocationPlan.bindInOrder(parser);
+        }
+    }
+
+    /** 模拟动态客户端生成的JAXB类型 */
+    public static class OrderLine {
+        private String sku;
+        private BigDecimal price;
+        private List<String> tags;
+
+        public String getSku() {
+            return sku;
+        }
+
+        public void setSku(String sku) {
+            this.sku = sku;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+
+    @Test
+    void testStreamingBindConvertsScalarsAndSkipsUnknownFields() throws Exception {
+        InvocationPlan plan = plan("Search", "keyword", "string", "pageSize", "int", "exact", "boolean");
+
+        Object[] args = bindJson(plan, "{\"unknown\":{\"deep\":[1,2]},\"EXACT\":\"true\","
+                + "\"pagesize\":\"20\",\"ns:keyword\":42,\"keyword\":\"exact\"}");
+
+        assertArrayEquals(new Object[]{"exact", 20, true}, args);
+        assertSame(InvocationPlan.NO_ARGUMENTS, bindJson(plan, "{}"));
+        assertArrayEquals(new Object[]{"a", Map.of("b", 1)}, bindJson(null, "{\"x\":\"a\",\"y\":{\"b\":1}}"));
+    }
+
+    @Test
+    void testStreamingBindDeserializesComplexTypes() throws Exception {
+        WsdlServiceAdapter.OperationInfo operation = new WsdlServiceAdapter.OperationInfo("AddLine");
+        operation.addInputParameter(new WsdlServiceAdapter.ParameterInfo(
+                "orderId", new QName(XSD, "long"), true, 0, long.class));
+        operation.addInputParameter(new WsdlServiceAdapter.ParameterInfo(
+                "line", new QName("http://tempuri.org/", "OrderLine"), true, 1, OrderLine.class));
+        operation.addInputParameter(new WsdlServiceAdapter.ParameterInfo(
+                "extra", new QName("http://tempuri.org/", "Extra"), true, 2));
+
+        Object[] args = bindJson(InvocationPlan.compile(operation), "{\"orderId\":7,"
+                + "\"line\":{\"Sku\":\"A1\",\"Price\":\"9.50\",\"Tags\":[\"x\",\"y\"]},\"extra\":{\"k\":[true]}}");
+
+        assertEquals(7L, args[0]);
+        OrderLine line = (OrderLine) args[1];
+        assertEquals("A1", line.getSku());
+        assertEquals(new BigDecimal("9.50"), line.getPrice());
+        assertEquals(List.of("x", "y"), line.getTags());
+        assertEquals(Map.of("k", List.of(true)), args[2]);
+    }
+
+    @Test
+    void testRegistryFindsPlansIgnoringCase() {
+        WsdlServiceAdapter.OperationInfo operation = new WsdlServiceAdapter.OperationInfo("GetVersion");
+        InvocationPlan.Registry registry = new InvocationPlan.Registry(List.of(operation));
+
+        assertEquals("GetVersion", registry.find("getversion").getOperationName());
+        assertNull(registry.find("Unknown"));
+    }
+}
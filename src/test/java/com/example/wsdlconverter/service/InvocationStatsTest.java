@@ -0,0 +1,138 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.exception.BulkheadFullException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InvocationStats的单元测试（使用可控时钟，手动封存时间片）
+ */
+class InvocationStatsTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final InvocationStats stats = new InvocationStats(clock::get);
+
+    @Test
+    void testWindowReportsPercentilesErrorsAndPayloads() {
+        for (int i = 1; i <= 100; i++) {
+            stats.recordCall("Echo", TimeUnit.MILLISECONDS.toNanos(i), null);
+        }
+        stats.recordCall("Echo", TimeUnit.MILLISECONDS.toNanos(5), new RuntimeException("backend"));
+        stats.recordCall("Echo", TimeUnit.MILLISECONDS.toNanos(1),
+                new CompletionException(new BulkheadFullException("Echo", "full")));
+        stats.recordPayload("Echo", InvocationStats.DIRECTION_REQUEST, 300);
+        stats.recordPayload("Echo", InvocationStats.DIRECTION_RESPONSE, 40_000);
+        stats.recordPayload("Echo", InvocationStats.DIRECTION_RESPONSE, 1_000);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        Map<String, Object> window = window(stats.getSnapshot(), "Echo", "1m");
+        assertEquals(102L, window.get("calls"));
+        assertEquals(2L, window.get("errors"));
+        assertEquals(1L, window.get("rejected"));
+        assertEquals(2.0 / 102, (double) window.get("errorRate"), 1e-9);
+        assertEquals(102 / 60.0, (double) window.get("throughputPerSecond"), 1e-9);
+        assertEquals(300L, window.get("maxRequestBytes"));
+        assertEquals(40_000L, window.get("maxResponseBytes"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> latency = (Map<String, Object>) window.get("latencyMs");
+        assertEquals(50.0, (double) latency.get("p50"), 1.0);
+        assertEquals(99.0, (double) latency.get("p99"), 1.5);
+        assertEquals(100.0, (double) latency.get("max"), 1.0);
+    }
+
+    @Test
+    void testOldSlicesLeaveShorterWindows() {
+        stats.recordCall("Echo", TimeUnit.MILLISECONDS.toNanos(10), null);
+        stats.recordPayload("Echo", InvocationStats.DIRECTION_RESPONSE, 5_000);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        stats.rotate();
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        stats.recordCall("Echo", TimeUnit.MILLISECONDS.toNanos(20), null);
+        stats.rotate();
+
+        Map<String, Object> snapshot = stats.getSnapshot();
+        assertEquals(1L, window(snapshot, "Echo", "1m").get("calls"));
+        assertEquals(0L, window(snapshot, "Echo", "1m").get("maxResponseBytes"));
+        assertEquals(2L, window(snapshot, "Echo", "5m").get("calls"));
+        assertEquals(5_000L, window(snapshot, "Echo", "5m").get("maxResponseBytes"));
+
+        // 超出最长窗口的时间片被丢弃，历史最大报文保留
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(16));
+        stats.rotate();
+        snapshot = stats.getSnapshot();
+        assertEquals(0L, window(snapshot, "Echo", "15m").get("calls"));
+        assertNull(window(snapshot, "Echo", "15m").get("latencyMs"));
+        assertEquals(5_000L, operation(snapshot, "Echo").get("largestResponseBytes"));
+    }
+
+    @Test
+    void testConcurrentRecordingIsNotLost() throws Exception {
+        int threads = 4;
+        int callsPerThread = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread writer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < callsPerThread; i++) {
+                    stats.recordCall("Echo", 1_000_000, null);
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        // 写入期间反复切换采集区和封存时间片
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                stats.getSnapshot();
+                stats.rotate();
+            }
+        });
+        reader.start();
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        running.set(false);
+        reader.join();
+
+        assertEquals((long) threads * callsPerThread, window(stats.getSnapshot(), "Echo", "1m").get("calls"));
+    }
+
+    @Test
+    void testDisabledStatsRecordNothing() {
+        InvocationStats disabled = new InvocationStats(clock::get);
+        ReflectionTestUtils.setField(disabled, "enabled", false);
+        disabled.recordCall("Echo", 1_000, null);
+
+        assertTrue(((Map<?, ?>) disabled.getSnapshot().get("operations")).isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> operation(Map<String, Object> snapshot, String name) {
+        return (Map<String, Object>) ((Map<String, Object>) snapshot.get("operations")).get(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> window(Map<String, Object> snapshot, String name, String window) {
+        return (Map<String, Object>) ((Map<String, Object>) operation(snapshot, name).get("windows")).get(window);
+    }
+}
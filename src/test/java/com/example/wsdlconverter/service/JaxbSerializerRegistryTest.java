@@ -0,0 +1,146 @@
+package com.example.wsdlconverter.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JaxbSerializerRegistry的单元测试：预编译序列化器的输出必须与Jackson默认序列化一致
+ */
+class JaxbSerializerRegistryTest {
+
+    /** 模拟动态客户端生成的JAXB类 */
+    public static class BaseResult {
+        protected String code;
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+    }
+
+    public static class OrderResult extends BaseResult {
+        protected long orderId;
+        protected Boolean paid;
+        protected boolean urgent;
+        protected List<OrderLine> lines;
+        protected Map<String, Object> extra;
+
+        public long getOrderId() {
+            return orderId;
+        }
+
+        public void setOrderId(long orderId) {
+            this.orderId = orderId;
+        }
+
+        // JAXB为可选布尔值生成Boolean isXxx()，Jackson默认不识别
+        public Boolean isPaid() {
+            return paid;
+        }
+
+        public void setPaid(Boolean paid) {
+            this.paid = paid;
+        }
+
+        public boolean isUrgent() {
+            return urgent;
+        }
+
+        public void setUrgent(boolean urgent) {
+            this.urgent = urgent;
+        }
+
+        public List<OrderLine> getLines() {
+            return lines;
+        }
+
+        public Map<String, Object> getExtra() {
+            return extra;
+        }
+    }
+
+    public static class OrderLine {
+        protected String sku;
+        protected BigDecimal price;
+
+        public String getSku() {
+            return sku;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+    }
+
+    private static OrderResult sample() {
+        OrderLine first = new OrderLine();
+        first.sku = "A1";
+        first.price = new BigDecimal("9.50");
+        OrderLine second = new OrderLine();
+        second.sku = "B2";
+        OrderResult result = new OrderResult();
+        result.code = "OK";
+        result.orderId = 42;
+        result.paid = true;
+        result.lines = Arrays.asList(first, second);
+        result.extra = Map.of();
+        return result;
+    }
+
+    private static ObjectMapper mapper(JsonInclude.Include inclusion, JaxbSerializerRegistry registry) {
+        ObjectMapper mapper = new ObjectMapper().setSerializationInclusion(inclusion);
+        if (registry != null) {
+            mapper.registerModule(registry);
+        }
+        return mapper;
+    }
+
+    @Test
+    void testOutputMatchesDefaultSerialization() throws Exception {
+        for (JsonInclude.Include inclusion : List.of(JsonInclude.Include.ALWAYS, JsonInclude.Include.NON_NULL,
+                JsonInclude.Include.NON_EMPTY)) {
+            JaxbSerializerRegistry registry = new JaxbSerializerRegistry();
+            ObjectMapper precompiled = mapper(inclusion, registry);
+
+            assertEquals(2, registry.register(List.of(OrderResult.class, String.class), precompiled));
+            assertTrue(registry.isRegistered(OrderResult.class));
+            assertTrue(registry.isRegistered(OrderLine.class));
+            assertEquals(mapper(inclusion, null).writeValueAsString(sample()), precompiled.writeValueAsString(sample()),
+                    inclusion.toString());
+        }
+    }
+
+    @Test
+    void testClassesFromSeparateClassLoaderUseHandleAccessors() throws Exception {
+        URL classes = OrderLine.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes}, null)) {
+            Class<?> lineType = loader.loadClass(OrderLine.class.getName());
+            assertNotSame(OrderLine.class, lineType);
+            Object line = lineType.getDeclaredConstructor().newInstance();
+            Field sku = lineType.getDeclaredField("sku");
+            sku.setAccessible(true);
+            sku.set(line, "C3");
+
+            JaxbSerializerRegistry registry = new JaxbSerializerRegistry();
+            ObjectMapper precompiled = mapper(JsonInclude.Include.NON_NULL, registry);
+            registry.register(List.of(lineType), precompiled);
+
+            assertTrue(registry.isRegistered(lineType));
+            assertEquals("{\"sku\":\"C3\"}", precompiled.writeValueAsString(line));
+        }
+    }
+}
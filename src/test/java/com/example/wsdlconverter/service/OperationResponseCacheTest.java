@@ -0,0 +1,161 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.config.ResponseCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OperationResponseCache的单元测试
+ */
+class OperationResponseCacheTest {
+
+    private OperationResponseCache cache;
+
+    private void createCache(Duration ttl, Duration staleWhileRevalidate, int maxEntries) {
+        ResponseCacheProperties.OperationCache settings = new ResponseCacheProperties.OperationCache();
+        settings.setTtl(ttl);
+        settings.setStaleWhileRevalidate(staleWhileRevalidate);
+        settings.setMaxEntries(maxEntries);
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        properties.getOperations().put("GetVersion", settings);
+
+        cache = new OperationResponseCache();
+        ReflectionTestUtils.setField(cache, "properties", properties);
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper());
+        cache.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void testFreshEntryIsServedFromCache() {
+        createCache(Duration.ofMinutes(1), Duration.ZERO, 10);
+        AtomicInteger loads = new AtomicInteger();
+        InvocationKey key = new InvocationKey("getversion", "[]");
+
+        InvocationTimeline missed = InvocationTimeline.detached("GetVersion");
+        InvocationTimeline hit = InvocationTimeline.detached("GetVersion");
+        Object[] first = cache.get(key, callTimeline -> load(loads, "1.0"), missed).join();
+        Object[] second = cache.get(new InvocationKey("GetVersion", "[]"), callTimeline -> load(loads, "2.0"), hit)
+                .join();
+
+        assertTrue(cache.isEnabled("GETVERSION"));
+        assertFalse(cache.isEnabled("Echo"));
+        assertArrayEquals(new Object[]{"1.0"}, first);
+        assertArrayEquals(new Object[]{"1.0"}, second);
+        assertEquals(1, loads.get());
+        assertEquals(InvocationTimeline.CACHE_MISS, missed.getCacheStatus());
+        assertEquals(InvocationTimeline.CACHE_HIT, hit.getCacheStatus());
+    }
+
+    @Test
+    void testStaleEntryIsServedWhileRefreshing() throws Exception {
+        createCache(Duration.ofMillis(1), Duration.ofMinutes(1), 10);
+        AtomicInteger loads = new AtomicInteger();
+        InvocationKey key = new InvocationKey("GetVersion", "[]");
+
+        cache.get(key, () -> load(loads, "1.0")).join();
+        TimeUnit.MILLISECONDS.sleep(5);
+
+        CompletableFuture<Object[]> refresh = new CompletableFuture<>();
+        AtomicReference<InvocationTimeline> refreshTimeline = new AtomicReference<>();
+        InvocationTimeline request = InvocationTimeline.detached("GetVersion");
+        Object[] stale = cache.get(key, callTimeline -> {
+            loads.incrementAndGet();
+            refreshTimeline.set(callTimeline);
+            return refresh;
+        }, request).join();
+        // 刷新进行中，再次读取仍返回旧值且不触发第二次刷新
+        Object[] staleAgain = cache.get(key, () -> load(loads, "unexpected")).join();
+
+        assertArrayEquals(new Object[]{"1.0"}, stale);
+        assertArrayEquals(new Object[]{"1.0"}, staleAgain);
+        assertEquals(InvocationTimeline.CACHE_STALE, request.getCacheStatus());
+        waitFor(() -> refreshTimeline.get() != null);
+        assertNotNull(refreshTimeline.get());
+        assertNotSame(request, refreshTimeline.get());
+
+        refresh.complete(new Object[]{"2.0"});
+        waitFor(() -> "2.0".equals(cache.get(key, () -> load(loads, "2.0")).join()[0]));
+        Map<String, Object> stats = statistics();
+        assertEquals(1L, stats.get("misses"));
+        assertEquals("2.0", cache.get(key, () -> load(loads, "2.0")).join()[0]);
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        createCache(Duration.ofMinutes(1), Duration.ZERO, 2);
+        AtomicInteger loads = new AtomicInteger();
+        InvocationKey a = new InvocationKey("GetVersion", "[\"a\"]");
+        InvocationKey b = new InvocationKey("GetVersion", "[\"b\"]");
+        InvocationKey c = new InvocationKey("GetVersion", "[\"c\"]");
+
+        cache.get(a, () -> load(loads, "a")).join();
+        cache.get(b, () -> load(loads, "b")).join();
+        cache.get(a, () -> load(loads, "a")).join();
+        cache.get(c, () -> load(loads, "c")).join();
+        cache.get(b, () -> load(loads, "b")).join();
+
+        assertEquals(4, loads.get());
+        assertEquals(2, statistics().get("entries"));
+        assertEquals(2L, statistics().get("evictions"));
+    }
+
+    @Test
+    void testEntrySizeUsesRecordedResponseBytes() {
+        createCache(Duration.ofMinutes(1), Duration.ZERO, 10);
+        InvocationTimeline timeline = InvocationTimeline.detached("GetVersion");
+
+        cache.get(new InvocationKey("GetVersion", "[]"), callTimeline -> {
+            callTimeline.recordResponseBytes(512);
+            return CompletableFuture.completedFuture(new Object[]{"1.0"});
+        }, timeline).join();
+        // 没有统计到报文大小时按JSON估算：["2.0"]
+        cache.get(new InvocationKey("GetVersion", "[\"x\"]"), () -> load(new AtomicInteger(), "2.0")).join();
+
+        assertEquals(512L + 7L, statistics().get("bytes"));
+    }
+
+    @Test
+    void testDisabledByDefault() {
+        cache = new OperationResponseCache();
+        ReflectionTestUtils.setField(cache, "properties", new ResponseCacheProperties());
+        cache.init();
+
+        assertFalse(cache.isEnabled("GetVersion"));
+        assertTrue(cache.getStatistics().isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> statistics() {
+        return (Map<String, Object>) cache.getStatistics().get("GetVersion");
+    }
+
+    private static CompletableFuture<Object[]> load(AtomicInteger loads, String value) {
+        loads.incrementAndGet();
+        return CompletableFuture.completedFuture(new Object[]{value});
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.config.PayloadCaptureProperties;
+import com.example.wsdlconverter.config.PfsCompatibleSecurityConfig;
+import com.example.wsdlconverter.model.CapturedPayload;
+import org.apache.cxf.binding.soap.Soap11;
+import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.headers.Header;
+import org.apache.cxf.staxutils.StaxUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PayloadCaptureService和抓取流的单元测试
+ */
+class PayloadCaptureServiceTest {
+
+    private PayloadCaptureService service;
+    private PayloadCaptureProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PayloadCaptureProperties();
+        properties.setHistorySize(2);
+        service = new PayloadCaptureService();
+        ReflectionTestUtils.setField(service, "properties", properties);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testSamplingFollowsRuntimeSettings() {
+        assertFalse(service.shouldCapture("Echo"));
+
+        service.update(true, null, List.of("echo"), null);
+        assertTrue(service.shouldCapture("Echo"));
+        assertFalse(service.shouldCapture("GetVersion"));
+        assertFalse(service.shouldCapture(null));
+
+        service.update(null, 0.0, List.of(), 128);
+        assertFalse(service.shouldCapture("GetVersion"));
+        assertEquals(128, service.getMaxPayloadBytes());
+
+        assertThrows(IllegalArgumentException.class, () -> service.update(null, 1.5, null, null));
+        assertThrows(IllegalArgumentException.class, () -> service.update(null, null, null, 0));
+        assertEquals(0.0, service.getStatus().get("sampleRate"));
+    }
+
+    @Test
+    void testRecordMasksPasswordsAndKeepsBoundedHistory() {
+        String envelope = "<wsse:UsernameToken><wsse:Username>u</wsse:Username>"
+                + "<wsse:Password Type=\"PasswordText\">secret</wsse:Password></wsse:UsernameToken>";
+        byte[] bytes = envelope.getBytes(StandardCharsets.UTF_8);
+
+        service.record(new PayloadCaptureService.RawCapture("REQUEST", "Echo", "http://a", 1L, bytes, bytes.length + 10));
+        service.record(new PayloadCaptureService.RawCapture("RESPONSE", "Echo", "http://a", 2L, new byte[0], 0));
+        service.record(new PayloadCaptureService.RawCapture("REQUEST", "Ping", "http://a", 3L, new byte[0], 0));
+
+        List<CapturedPayload> recent = service.getRecent(10);
+        assertEquals(2, recent.size());
+        assertEquals("Ping", recent.get(0).getOperation());
+        assertEquals(3L, service.getStatus().get("captured"));
+
+        service.clear();
+        service.record(new PayloadCaptureService.RawCapture("REQUEST", "Echo", "http://a", 1L, bytes, bytes.length + 10));
+        CapturedPayload captured = service.getRecent(1).get(0);
+        assertTrue(captured.isTruncated());
+        assertTrue(captured.getPayload().contains("<wsse:Password Type=\"PasswordText\">***</wsse:Password>"));
+        assertFalse(captured.getPayload().contains("secret"));
+    }
+
+    @Test
+    void testRecordMasksPfsHeaderPasswords() throws Exception {
+        SoapMessage message = new SoapMessage(Soap11.getInstance());
+        new PfsCompatibleSecurityConfig().createPfsInterceptor("alice", "s3cret", null, true, true)
+                .handleMessage(message);
+        Header header = message.getHeaders().get(0);
+        StringWriter xml = new StringWriter();
+        XMLStreamWriter writer = StaxUtils.createXMLStreamWriter(xml);
+        writer.writeStartElement("soap", "Header", "http://schemas.xmlsoap.org/soap/envelope/");
+        writer.writeNamespace("soap", "http://schemas.xmlsoap.org/soap/envelope/");
+        header.getDataBinding().createWriter(XMLStreamWriter.class).write(header.getObject(), writer);
+        writer.writeEndElement();
+        writer.close();
+        byte[] bytes = xml.toString().getBytes(StandardCharsets.UTF_8);
+
+        service.record(new PayloadCaptureService.RawCapture("REQUEST", "Echo", "http://a", 1L, bytes, bytes.length));
+
+        String payload = service.getRecent(1).get(0).getPayload();
+        assertTrue(payload.contains("<pfs:PfsUserPassword>***</pfs:PfsUserPassword>"), payload);
+        assertTrue(payload.contains("<pfs:PfsUserNewPassword>***</pfs:PfsUserNewPassword>"), payload);
+        assertTrue(payload.contains("<pfs:PfsUserName>alice</pfs:PfsUserName>"), payload);
+        assertFalse(payload.contains("s3cret"));
+    }
+
+    @Test
+    void testCaptureStreamsCopyCappedPrefixOnce() throws Exception {
+        AtomicReference<byte[]> copied = new AtomicReference<>();
+        AtomicLong size = new AtomicLong();
+        AtomicInteger completions = new AtomicInteger();
+        PayloadCaptureInterceptors.CaptureCallback callback = (bytes, total) -> {
+            copied.set(bytes);
+            size.set(total);
+            completions.incrementAndGet();
+        };
+
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        OutputStream out = new PayloadCaptureInterceptors.CaptureOutputStream(target, 4, callback);
+        out.write("<a>".getBytes(StandardCharsets.UTF_8));
+        out.write('x');
+        out.write("</a>".getBytes(StandardCharsets.UTF_8));
+        out.close();
+        out.close();
+
+        assertEquals("<a>x</a>", target.toString(StandardCharsets.UTF_8));
+        assertEquals("<a>x", new String(copied.get(), StandardCharsets.UTF_8));
+        assertEquals(8, size.get());
+        assertEquals(1, completions.get());
+
+        InputStream in = new PayloadCaptureInterceptors.CaptureInputStream(
+                new ByteArrayInputStream("<b>ok</b>".getBytes(StandardCharsets.UTF_8)), 64, callback);
+        assertEquals("<b>ok</b>", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        in.close();
+
+        assertEquals("<b>ok</b>", new String(copied.get(), StandardCharsets.UTF_8));
+        assertEquals(2, completions.get());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.wsdlconverter.service;
+
+import com.example.wsdlconverter.config.PayloadCaptureProperties;
+import com.example.wsdlconverter.model.CapturedPayload;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.wsdl.Definition;
+import javax.wsdl.factory.WSDLFactory;
+import javax.xml.ws.BindingProvider;
+import java.io.File;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PayloadDispatchEngine的单元测试（使用本地HTTP服务模拟SOAP后台）
+ */
+class PayloadDispatchEngineTest {
+
+    private final AtomicReference<String> lastRequest = new AtomicReference<>();
+    private final AtomicReference<String> lastSoapAction = new AtomicReference<>();
+    private HttpServer server;
+    private PayloadDispatchEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/service", exchange -> {
+            lastRequest.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            lastSoapAction.set(exchange.getRequestHeaders().getFirst("SOAPAction"));
+            byte[] response = ("<soap:Envelope xmlns:soap='http://schemas.xmlsoap.org/soap/envelope/'><soap:Body>"
+                    + "<EchoResponse xmlns='http://tempuri.org/'><EchoResult>pong</EchoResult></EchoResponse>"
+                    + "</soap:Body></soap:Envelope>").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/xml; charset=utf-8");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+
+        File wsdl = new File(getClass().getResource("/wsdl/service.wsdl").toURI());
+        Definition definition = WSDLFactory.newInstance().newWSDLReader().readWSDL(wsdl.toURI().toString());
+        engine = PayloadDispatchEngine.create(wsdl.getPath(), definition, new ObjectMapper());
+        engine.start();
+        engine.getRequestContext().put(BindingProvider.ENDPOINT_ADDRESS_PROPERTY,
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/service");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testPlansBindWrapperChildren() {
+        InvocationPlan plan = engine.getInvocationPlans().find("echo");
+
+        assertNotNull(plan);
+        assertArrayEquals(new Object[]{"ping"}, plan.bind(Map.of("message", "ping")));
+        assertEquals(0, engine.getInvocationPlans().find("GetVersion").getParameterCount());
+        assertTrue(engine.isSinglePartWrapper("Echo"));
+    }
+
+    @Test
+    void testInvokeWritesPayloadAndReadsResult() throws Exception {
+        Object[] results = engine.invoke("Echo", new Object[]{"ping"});
+
+        assertEquals(1, results.length);
+        assertEquals("pong", ((JsonNode) results[0]).asText());
+        assertTrue(lastRequest.get().contains(":Echo xmlns:ns1=\"http://tempuri.org/\"><ns1:message>ping</ns1:message>"),
+                lastRequest.get());
+        assertEquals("\"http://tempuri.org/Echo\"", lastSoapAction.get());
+    }
+
+    @Test
+    void testInvokeAsyncAndUnknownOperation() throws Exception {
+        Object[] results = engine.invokeAsync("Echo", new Object[]{null}).get();
+        assertEquals("pong", ((JsonNode) results[0]).asText());
+
+        assertThrows(IllegalArgumentException.class, () -> engine.invoke("Missing", new Object[0]));
+    }
+
+    @Test
+    void testPayloadCaptureInterceptorsRecordSampledCall() throws Exception {
+        PayloadCaptureService capture = new PayloadCaptureService();
+        ReflectionTestUtils.setField(capture, "properties", new PayloadCaptureProperties());
+        capture.init();
+        try {
+            engine.getClient().getOutInterceptors().add(capture.getOutInterceptor());
+            engine.getClient().getInInterceptors().add(capture.getInInterceptor());
+            engine.invoke("Echo", new Object[]{"not-captured"});
+
+            capture.update(true, null, List.of("Echo"), null);
+            engine.invoke("Echo", new Object[]{"captured"});
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (capture.getRecent(10).size() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            List<CapturedPayload> payloads = capture.getRecent(10);
+            assertEquals(2, payloads.size());
+            assertEquals("RESPONSE", payloads.get(0).getDirection());
+            assertTrue(payloads.get(0).getPayload().contains("<EchoResult>pong</EchoResult>"));
+            assertEquals("REQUEST", payloads.get(1).getDirection());
+            assertEquals("Echo", payloads.get(1).getOperation());
+            assertTrue(payloads.get(1).getPayload().contains(">captured<"));
+        } finally {
+            capture.shutdown();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.wsdlconverter.service;
+
+import org.apache.cxf.ws.security.tokenstore.SecurityToken;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SecureConversationTokenCache的单元测试（使用可控时钟，手动触发续期检查）
+ */
+class SecureConversationTokenCacheTest {
+
+    private static final long LIFETIME_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.DAYS.toMillis(1));
+    private final SecureConversationTokenCache cache = new SecureConversationTokenCache(clock::get);
+    private final AtomicInteger issued = new AtomicInteger();
+
+    private SecurityToken issue() {
+        Instant now = Instant.ofEpochMilli(clock.get());
+        return new SecurityToken("sct-" + issued.incrementAndGet(), now, now.plusMillis(LIFETIME_MILLIS));
+    }
+
+    @Test
+    void testConcurrentCallersShareOneHandshake() throws Exception {
+        int threads = 8;
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<SecurityToken>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> cache.getToken("backend", () -> {
+                    release.await();
+                    return issue();
+                })));
+            }
+            // 等所有线程都到达后再完成握手
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<SecurityToken> result : results) {
+                assertEquals("sct-1", result.get(5, TimeUnit.SECONDS).getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, issued.get());
+        assertEquals(1, cache.getHandshakeCount());
+    }
+
+    @Test
+    void testUsedTokenIsRenewedBeforeExpiry() {
+        assertEquals("sct-1", cache.getToken("backend", this::issue).getId());
+
+        // 还未进入续期窗口
+        clock.addAndGet(TimeUnit.MINUTES.toMillis(3));
+        cache.renewExpiring();
+        assertEquals(0, cache.getRenewalCount());
+        assertEquals(180.0, cache.getOldestTokenAgeSeconds(), 1e-9);
+
+        // 过期前60秒内续期，调用线程拿到新令牌而不用等待握手
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(70));
+        cache.getToken("backend", this::issue);
+        cache.renewExpiring();
+        assertEquals(1, cache.getRenewalCount());
+        assertEquals("sct-2", cache.getToken("backend", this::issue).getId());
+        assertEquals(2, issued.get());
+        assertEquals(300.0, cache.getShortestRemainingSeconds(), 1e-9);
+    }
+
+    @Test
+    void testUnusedTokenIsNotRenewed() {
+        cache.getToken("backend", this::issue);
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(250));
+        cache.renewExpiring();
+
+        // 续期后的令牌在有效期内没有被使用
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(250));
+        cache.renewExpiring();
+        assertEquals(1, cache.getRenewalCount());
+        assertEquals(2, issued.get());
+    }
+
+    @Test
+    void testFailedRenewalKeepsTokenUntilExpiry() {
+        AtomicInteger calls = new AtomicInteger();
+        SecureConversationTokenCache.Handshake flaky = () -> {
+            if (calls.incrementAndGet() > 1 && calls.get() < 4) {
+                throw new IllegalStateException("backend unavailable");
+            }
+            return issue();
+        };
+        assertEquals("sct-1", cache.getToken("backend", flaky).getId());
+
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(250));
+        cache.renewExpiring();
+        assertEquals("sct-1", cache.getToken("backend", flaky).getId());
+
+        // 过期后由调用线程握手，失败时抛出异常
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(60));
+        assertThrows(IllegalStateException.class, () -> cache.getToken("backend", flaky));
+        assertEquals("sct-2", cache.getToken("backend", flaky).getId());
+        assertEquals(4, cache.getHandshakeCount());
+        assertEquals(0, cache.getRenewalCount());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.wsdlconverter.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SingleFlight的单元测试
+ */
+class SingleFlightTest {
+
+    @Test
+    void testConcurrentIdenticalCallsShareOneExecution() {
+        List<String> coalescedKeys = new ArrayList<>();
+        SingleFlight<InvocationKey, String> singleFlight = new SingleFlight<>(key -> coalescedKeys.add(key.getOperationName()));
+        CompletableFuture<String> backend = new CompletableFuture<>();
+        AtomicInteger executions = new AtomicInteger();
+
+        CompletableFuture<String> first = singleFlight.execute(new InvocationKey("GetVersion", "[]"), () -> {
+            executions.incrementAndGet();
+            return backend;
+        });
+        CompletableFuture<String> second = singleFlight.execute(new InvocationKey("getversion", "[]"), () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture("unexpected");
+        });
+
+        backend.complete("1.0");
+
+        assertEquals("1.0", first.join());
+        assertEquals("1.0", second.join());
+        assertEquals(1, executions.get());
+        assertEquals(1, singleFlight.getCoalescedCount());
+        assertEquals(List.of("getversion"), coalescedKeys);
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void testDifferentArgumentsAreNotCoalesced() {
+        SingleFlight<InvocationKey, String> singleFlight = new SingleFlight<>();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        singleFlight.execute(new InvocationKey("Echo", "[\"a\"]"), () -> pending);
+        CompletableFuture<String> other = singleFlight.execute(new InvocationKey("Echo", "[\"b\"]"),
+                () -> CompletableFuture.completedFuture("b"));
+
+        assertEquals("b", other.join());
+        assertEquals(0, singleFlight.getCoalescedCount());
+        assertEquals(2, singleFlight.getExecutedCount());
+    }
+
+    @Test
+    void testCompletedCallIsNotReused() {
+        SingleFlight<InvocationKey, String> singleFlight = new SingleFlight<>();
+        InvocationKey key = new InvocationKey("GetVersion", "[]");
+
+        singleFlight.execute(key, () -> CompletableFuture.failedFuture(new IllegalStateException("失败"))).exceptionally(e -> null);
+        CompletableFuture<String> retry = singleFlight.execute(key, () -> CompletableFuture.completedFuture("1.0"));
+
+        assertEquals("1.0", retry.join());
+        assertEquals(2, singleFlight.getExecutedCount());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.wsdlconverter.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.cxf.service.model.SchemaInfo;
+import org.apache.cxf.service.model.ServiceInfo;
+import org.apache.ws.commons.schema.XmlSchemaCollection;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * StaxJsonTranscoder和XmlElementShapes的单元测试
+ */
+class StaxJsonTranscoderTest {
+
+    private static final String NS = "http://tempuri.org/";
+
+    private static String transcode(String xml, XmlElementShapes shapes) throws Exception {
+        XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml));
+        StaxJsonTranscoder.toNextTag(reader);
+        StringWriter out = new StringWriter();
+        try (JsonGenerator json = new JsonFactory().createGenerator(out)) {
+            StaxJsonTranscoder.writeElement(reader, json, shapes);
+        }
+        return out.toString();
+    }
+
+    @Test
+    void testRepeatedElementsBecomeArraysAndTypedValues() throws Exception {
+        XmlElementShapes shapes = new XmlElementShapes(
+                Set.of(new QName(NS, "Order")),
+                Map.of(new QName(NS, "Id"), XmlElementShapes.ValueKind.NUMBER,
+                        new QName(NS, "Paid"), XmlElementShapes.ValueKind.BOOLEAN));
+        String xml = "<r:Orders xmlns:r='" + NS + "'>\n"
+                + "  <r:Order><r:Id>1</r:Id><r:Paid>true</r:Paid></r:Order>\n"
+                + "  <r:Order><r:Id>2</r:Id><r:Paid>0</r:Paid></r:Order>\n"
+                + "  <r:Total>2</r:Total>\n"
+                + "</r:Orders>";
+
+        assertEquals("{\"Order\":[{\"Id\":1,\"Paid\":true},{\"Id\":2,\"Paid\":false}],\"Total\":\"2\"}",
+                transcode(xml, shapes));
+    }
+
+    @Test
+    void testNilAttributesAndEmptyElements() throws Exception {
+        String xml = "<Item xmlns:xsi='http://www.w3.org/2001/XMLSchema-instance' code='A1'>"
+                + "<Name xsi:nil='true'/><Note/><Price currency='CNY'>9.50</Price>"
+                + "<Remark><![CDATA[a<b]]></Remark></Item>";
+
+        assertEquals("{\"@code\":\"A1\",\"Name\":null,\"Note\":\"\","
+                        + "\"Price\":{\"@currency\":\"CNY\",\"value\":\"9.50\"},\"Remark\":\"a<b\"}",
+                transcode(xml, XmlElementShapes.EMPTY));
+    }
+
+    @Test
+    void testShapesFromSchema() {
+        String xsd = "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema' targetNamespace='" + NS + "'"
+                + " xmlns:tns='" + NS + "' elementFormDefault='qualified'>"
+                + "<xs:element name='GetOrdersResponse'><xs:complexType><xs:sequence>"
+                + "<xs:element name='Order' type='tns:Order' maxOccurs='unbounded'/>"
+                + "</xs:sequence></xs:complexType></xs:element>"
+                + "<xs:complexType name='Order'><xs:sequence>"
+                + "<xs:element name='Id' type='xs:long'/>"
+                + "<xs:element name='Paid' type='xs:boolean'/>"
+                + "<xs:element name='Name' type='xs:string'/>"
+                + "<xs:choice maxOccurs='unbounded'><xs:element name='Tag' type='xs:string'/></xs:choice>"
+                + "</xs:sequence></xs:complexType>"
+                + "</xs:schema>";
+        SchemaInfo schemaInfo = new SchemaInfo(NS);
+        schemaInfo.setSchema(new XmlSchemaCollection().read(new StringReader(xsd)));
+        ServiceInfo serviceInfo = new ServiceInfo();
+        serviceInfo.addSchema(schemaInfo);
+
+        XmlElementShapes shapes = XmlElementShapes.from(List.of(serviceInfo));
+
+        assertTrue(shapes.isRepeated(new QName(NS, "Order")));
+        assertTrue(shapes.isRepeated(new QName(NS, "Tag")));
+        assertFalse(shapes.isRepeated(new QName(NS, "Id")));
+        assertEquals(XmlElementShapes.ValueKind.NUMBER, shapes.valueKind(new QName(NS, "Id")));
+        assertEquals(XmlElementShapes.ValueKind.BOOLEAN, shapes.valueKind(new QName(NS, "Paid")));
+        assertEquals(XmlElementShapes.ValueKind.STRING, shapes.valueKind(new QName(NS, "Name")));
+    }
+}
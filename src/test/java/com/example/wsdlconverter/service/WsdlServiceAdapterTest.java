@@ -14,6 +14,8 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
 /**
@@ -34,10 +36,6 @@ class WsdlServiceAdapterTest {
 
     @BeforeEach
     void setUp() {
-        // 设置测试配置
-        when(wsdlClientConfig.getServiceUrl()).thenReturn("http://localhost:8080/test");
-        when(wsdlClientConfig.getServiceNamespace()).thenReturn("http://tempuri.org/");
-        
         // 设置WSDL文件路径
         ReflectionTestUtils.setField(wsdlServiceAdapter, "wsdlFilePath", "src/main/resources/wsdl/service.wsdl");
         ReflectionTestUtils.setField(wsdlServiceAdapter, "securityEnabled", false);
@@ -45,6 +43,10 @@ class WsdlServiceAdapterTest {
 
     @Test
     void testGetServiceInfo() {
+        // 设置测试配置（只有服务信息读取这两项）
+        when(wsdlClientConfig.getServiceUrl()).thenReturn("http://localhost:8080/test");
+        when(wsdlClientConfig.getServiceNamespace()).thenReturn("http://tempuri.org/");
+        
         // 测试获取服务信息
         Map<String, Object> serviceInfo = wsdlServiceAdapter.getServiceInfo();
         
@@ -81,6 +83,23 @@ class WsdlServiceAdapterTest {
         });
     }
 
+    @Test
+    void testFailedInitializationStepDiscardsClient() {
+        // 客户端池预先创建客户端时失败（其他步骤并行执行）
+        ReflectionTestUtils.setField(wsdlServiceAdapter, "poolMinSize", 1);
+        ReflectionTestUtils.setField(wsdlServiceAdapter, "poolMaxSize", 2);
+        doThrow(new IllegalStateException("conduit")).when(wsdlClientConfig).configureHttpConduit(any());
+
+        wsdlServiceAdapter.initializeWsdlClient();
+
+        assertEquals(List.of("GetVersion", "Echo"), wsdlServiceAdapter.getAvailableMethods());
+        assertEquals(false, wsdlServiceAdapter.getServiceInfo().get("clientInitialized"));
+        assertFalse(wsdlServiceAdapter.isServiceHealthy());
+        // 其他并行步骤已经完成，但结果没有替换上去
+        assertSame(InvocationPlan.Registry.EMPTY, ReflectionTestUtils.getField(wsdlServiceAdapter, "invocationPlans"));
+        assertSame(XmlElementShapes.EMPTY, ReflectionTestUtils.getField(wsdlServiceAdapter, "elementShapes"));
+    }
+
     @Test
     void testReinitializeClient() {
         // 测试重新初始化客户端